@@ -0,0 +1,302 @@
+// Copyright (c) 2025 WSO2 LLC (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/ai;
+import ballerina/http;
+import ballerina/lang.runtime;
+import ballerina/mime;
+import ballerina/time;
+import ballerinax/openai.chat;
+
+const FILES_PATH = "/files";
+const BATCHES_PATH = "/batches";
+const BATCH_FILE_PURPOSE = "batch";
+const BATCH_FILE_NAME = "batch.jsonl";
+const BATCH_FILE_CONTENT_TYPE = "application/jsonl";
+const BATCH_COMPLETION_WINDOW = "24h";
+const CHAT_COMPLETIONS_BATCH_ENDPOINT = "/v1/chat/completions";
+const EMBEDDINGS_BATCH_ENDPOINT = "/v1/embeddings";
+const byte LINE_FEED = 10;
+
+const BATCH_COMPLETED = "completed";
+const BATCH_EXPIRED = "expired";
+const BATCH_FAILED = "failed";
+const BATCH_CANCELLED = "cancelled";
+
+type BatchRequest record {|
+    string custom_id;
+    string method = http:POST;
+    string url;
+    anydata body;
+|};
+
+type BatchObject record {
+    string id;
+    string status;
+    string? output_file_id?;
+    string? error_file_id?;
+};
+
+type FileObject record {
+    string id;
+};
+
+type BatchOutput record {
+    string custom_id;
+    BatchOutputResponse? response?;
+    BatchOutputError? 'error?;
+};
+
+type BatchOutputResponse record {
+    int status_code;
+    json body;
+};
+
+type BatchOutputError record {
+    string? code?;
+    string message;
+};
+
+isolated function validateBatchJobConfig(BatchJobConfig config) returns ai:Error? {
+    if config.pollInterval <= 0d || config.maxPollInterval < config.pollInterval || config.backoffFactor < 1d
+            || config.timeout <= 0d {
+        return error ai:Error("Invalid batch job configuration: the poll interval and timeout must be positive, " +
+            "the maximum poll interval must not be less than the poll interval, and the backoff factor must be " +
+            "at least 1");
+    }
+}
+
+# Submits the requests as a job of the OpenAI Batch API and waits for the job to finish.
+# The requests are uploaded as a JSONL batch file, and the status of the job is polled with an exponential backoff.
+#
+# + httpClient - The HTTP client of the provider
+# + endpoint - The endpoint of the API to which the requests are sent
+# + requests - The requests of the job, each identified by a unique `custom_id`
+# + config - The batch job configuration
+# + return - The streams of the outputs of the requests that succeeded and failed, or an `ai:Error`
+isolated function runBatchJob(http:Client httpClient, string endpoint, BatchRequest[] requests,
+        BatchJobConfig config) returns stream<BatchOutput, ai:Error?>[]|ai:Error {
+    do {
+        string[] lines = from BatchRequest request in requests
+            select request.toJsonString();
+        FileObject inputFile = check uploadBatchFile(httpClient, string:'join("\n", ...lines));
+        BatchObject batch = check httpClient->post(BATCHES_PATH, {
+            input_file_id: inputFile.id,
+            endpoint,
+            completion_window: BATCH_COMPLETION_WINDOW
+        });
+        batch = check awaitBatch(httpClient, batch, config);
+
+        stream<BatchOutput, ai:Error?>[] outputs = [];
+        foreach string? fileId in [batch.output_file_id, batch.error_file_id] {
+            if fileId is string {
+                http:Response response = check httpClient->get(string `${FILES_PATH}/${fileId}/content`);
+                if response.statusCode >= http:STATUS_MULTIPLE_CHOICES {
+                    fail error(string `Failed to download the batch file '${fileId}' with status code ${
+                        response.statusCode}`);
+                }
+                stream<byte[], error?> content = check response.getByteStream();
+                outputs.push(new stream<BatchOutput, ai:Error?>(new BatchOutputStream(content)));
+            }
+        }
+        return outputs;
+    } on fail error e {
+        return e is ai:Error ? e : error BatchJobError("Failed to run the batch job", e);
+    }
+}
+
+isolated function uploadBatchFile(http:Client httpClient, string content) returns FileObject|error {
+    mime:Entity purpose = new;
+    purpose.setContentDisposition(mime:getContentDispositionObject(
+        string `form-data; name="purpose"`));
+    purpose.setText(BATCH_FILE_PURPOSE);
+
+    mime:Entity file = new;
+    file.setContentDisposition(mime:getContentDispositionObject(
+        string `form-data; name="file"; filename="${BATCH_FILE_NAME}"`));
+    file.setByteArray(content.toBytes(), BATCH_FILE_CONTENT_TYPE);
+
+    http:Request request = new;
+    request.setBodyParts([purpose, file], mime:MULTIPART_FORM_DATA);
+    FileObject uploadedFile = check httpClient->post(FILES_PATH, request);
+    return uploadedFile;
+}
+
+isolated function awaitBatch(http:Client httpClient, BatchObject batch, BatchJobConfig config)
+        returns BatchObject|error {
+    decimal deadline = time:monotonicNow() + config.timeout;
+    decimal pollInterval = config.pollInterval;
+    BatchObject currentBatch = batch;
+    while true {
+        match currentBatch.status {
+            BATCH_COMPLETED|BATCH_EXPIRED => {
+                // The requests that were not processed before an expired batch is closed are reported as missing.
+                return currentBatch;
+            }
+            BATCH_FAILED|BATCH_CANCELLED => {
+                return error BatchJobError(string `Batch '${currentBatch.id}' is ${currentBatch.status}`);
+            }
+        }
+        if time:monotonicNow() + pollInterval > deadline {
+            BatchObject|error cancelled = httpClient->post(string `${BATCHES_PATH}/${currentBatch.id}/cancel`, ());
+            return error BatchJobError(string `Batch '${currentBatch.id}' did not complete within ${
+                config.timeout} seconds`, cancelled is error ? cancelled : ());
+        }
+        runtime:sleep(pollInterval);
+        pollInterval = decimal:min(pollInterval * config.backoffFactor, config.maxPollInterval);
+        currentBatch = check httpClient->get(string `${BATCHES_PATH}/${currentBatch.id}`);
+    }
+}
+
+isolated function getBatchResponseBody(BatchOutput output) returns json|ai:Error {
+    BatchOutputResponse? response = output?.response;
+    if response is BatchOutputResponse && response.status_code < http:STATUS_MULTIPLE_CHOICES {
+        return response.body;
+    }
+    BatchOutputError? err = output?.'error;
+    if err is BatchOutputError {
+        return error ai:LlmConnectionError(string `Batch request '${output.custom_id}' failed: ${err.message}`);
+    }
+    return error ai:LlmConnectionError(string `Batch request '${output.custom_id}' failed with status code ${
+        response is BatchOutputResponse ? response.status_code : 0}: ${
+        response is BatchOutputResponse ? response.body.toJsonString() : ""}`);
+}
+
+isolated function getMissingBatchResultError(int index) returns BatchJobError =>
+    error BatchJobError(string `No result was returned by the batch job for the input at index ${index}`);
+
+isolated function bulkGenerateLlmResponses(http:Client httpClient, ImageUrlCache? imageUrlCache,
+        OPEN_AI_MODEL_NAMES modelType, decimal temperature, ContextBudget? contextBudget,
+        BatchJobConfig batchJobConfig, boolean strictStructuredOutput, string? promptCacheKey, ai:Prompt[] prompts,
+        typedesc<json> expectedResponseTypedesc)
+        returns (anydata|ai:Error)[]|ai:Error {
+    ToolParameterSchema responseSchema = check getToolParameterSchema(expectedResponseTypedesc);
+    chat:ResponseFormatJsonSchemaSchema? strictSchema = strictStructuredOutput
+        ? getStrictResponseSchema(expectedResponseTypedesc, responseSchema) : ();
+    (anydata|ai:Error)[] results = [];
+    BatchRequest[] requests = [];
+    foreach int i in 0 ..< prompts.length() {
+        [DocumentContentPart[], int]|ai:Error content =
+            prepareGenerateContent(prompts[i], responseSchema, contextBudget, modelType, imageUrlCache = imageUrlCache);
+        if content is ai:Error {
+            results.push(content);
+            continue;
+        }
+        results.push(getMissingBatchResultError(i));
+        requests.push({
+            custom_id: i.toString(),
+            url: CHAT_COMPLETIONS_BATCH_ENDPOINT,
+            body: buildGenerateRequest(modelType, temperature, content[0], responseSchema, strictSchema,
+                    promptCacheKey)
+        });
+    }
+    if requests.length() == 0 {
+        return results;
+    }
+
+    stream<BatchOutput, ai:Error?>[] outputs = check runBatchJob(httpClient, CHAT_COMPLETIONS_BATCH_ENDPOINT,
+            requests, batchJobConfig);
+    foreach stream<BatchOutput, ai:Error?> outputStream in outputs {
+        check from BatchOutput output in outputStream
+            do {
+                int|error index = int:fromString(output.custom_id);
+                if index is int && index >= 0 && index < results.length() {
+                    results[index] = extractBatchGeneratedValue(output, expectedResponseTypedesc, responseSchema,
+                            strictSchema !is ());
+                }
+            };
+    }
+    return results;
+}
+
+isolated function extractBatchGeneratedValue(BatchOutput output, typedesc<json> expectedResponseTypedesc,
+        ToolParameterSchema responseSchema, boolean structuredOutput) returns anydata|ai:Error {
+    json body = check getBatchResponseBody(output);
+    chat:CreateChatCompletionResponse|error response = body.cloneWithType();
+    if response is error {
+        return error ai:LlmInvalidResponseError(
+            string `Invalid response returned for batch request '${output.custom_id}'`, response);
+    }
+    return extractGeneratedValue(response, expectedResponseTypedesc, responseSchema, structuredOutput);
+}
+
+isolated function getErrorTypedesc() returns typedesc<ai:Error> => ai:Error;
+
+class BatchOutputStream {
+    private final stream<byte[], error?> content;
+    private byte[] buffer = [];
+    private int position = 0;
+    private boolean exhausted = false;
+
+    isolated function init(stream<byte[], error?> content) {
+        self.content = content;
+    }
+
+    public isolated function next() returns record {|BatchOutput value;|}|ai:Error? {
+        while true {
+            int? lineEnd = self.buffer.indexOf(LINE_FEED, self.position);
+            byte[] line;
+            if lineEnd is int {
+                line = self.buffer.slice(self.position, lineEnd);
+                self.position = lineEnd + 1;
+            } else if self.exhausted {
+                if self.position >= self.buffer.length() {
+                    return;
+                }
+                line = self.buffer.slice(self.position);
+                self.position = self.buffer.length();
+            } else {
+                check self.readBlock();
+                continue;
+            }
+
+            string|error text = string:fromBytes(line);
+            if text is error {
+                return error ai:LlmInvalidResponseError("Invalid output line in the batch results", text);
+            }
+            if text.trim().length() == 0 {
+                continue;
+            }
+            BatchOutput|error output = text.fromJsonStringWithType();
+            if output is error {
+                return error ai:LlmInvalidResponseError("Invalid output line in the batch results", output);
+            }
+            return {value: output};
+        }
+    }
+
+    public isolated function close() returns ai:Error? {
+        error? result = self.content.close();
+        if result is error {
+            return error ai:LlmConnectionError("Error while closing the batch results", result);
+        }
+    }
+
+    private isolated function readBlock() returns ai:Error? {
+        record {|byte[] value;|}|error? block = self.content.next();
+        if block is error {
+            return error ai:LlmConnectionError("Error while reading the batch results", block);
+        }
+        if block is () {
+            self.exhausted = true;
+            return;
+        }
+        // Only the bytes of the line that is being read are retained across blocks.
+        self.buffer = self.buffer.slice(self.position);
+        self.position = 0;
+        self.buffer.push(...block.value);
+    }
+}
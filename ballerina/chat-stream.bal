@@ -0,0 +1,282 @@
+// Copyright (c) 2025 WSO2 LLC (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/ai;
+import ballerina/http;
+import ballerina/log;
+
+const STREAM_DONE_EVENT = "[DONE]";
+
+# Represents an incremental update received while streaming a chat completion.
+public type ChatCompletionDelta record {|
+    # Fragment of the assistant message content
+    string content?;
+    # Tool call requested by the model, delivered once all of its argument fragments are received
+    ai:FunctionCall toolCall?;
+    # The reason the model stopped generating tokens, delivered with the final delta of the completion
+    string finishReason?;
+|};
+
+type ChatCompletionChunk record {
+    string id?;
+    ChatCompletionChunkChoice[] choices?;
+    ChatCompletionChunkUsage? usage?;
+};
+
+type ChatCompletionChunkChoice record {
+    ChatCompletionChunkDelta delta?;
+    string? finish_reason?;
+};
+
+type ChatCompletionChunkDelta record {
+    string? content?;
+    ChatCompletionChunkToolCall[]? tool_calls?;
+};
+
+type ChatCompletionChunkToolCall record {
+    int index?;
+    string id?;
+    ChatCompletionChunkFunctionCall 'function?;
+};
+
+type ChatCompletionChunkFunctionCall record {
+    string name?;
+    string arguments?;
+};
+
+type ChatCompletionChunkUsage record {
+    int prompt_tokens?;
+    int completion_tokens?;
+    ChatCompletionChunkPromptTokensDetails? prompt_tokens_details?;
+};
+
+type ChatCompletionChunkPromptTokensDetails record {
+    int cached_tokens?;
+};
+
+class ChatCompletionStream {
+    private final stream<http:SseEvent, error?> events;
+    private final ChatObservation span;
+    private final ReActResponseScanner? reActScanner;
+    private final string[] contentFragments = [];
+    private final string[] argumentFragments = [];
+    private string? toolCallId = ();
+    private string? functionName = ();
+    private boolean responseIdAdded = false;
+    private boolean closed = false;
+    private LlmChatResponse|ai:LlmToolResponse|ai:LlmInvalidGenerationError? reActResponse = ();
+
+    isolated function init(stream<http:SseEvent, error?> events, ChatObservation span,
+            ReActResponseScanner? reActScanner = ()) {
+        self.events = events;
+        self.span = span;
+        self.reActScanner = reActScanner;
+    }
+
+    public isolated function next() returns record {|ChatCompletionDelta value;|}|ai:Error? {
+        while !self.closed {
+            record {|http:SseEvent value;|}|error? event = self.events.next();
+            if event is error {
+                return self.closeWithError(
+                    error ai:LlmConnectionError("Error while reading the streamed response from the model", event));
+            }
+            if event is () {
+                return self.complete();
+            }
+
+            string? data = event.value.data;
+            if data is () || data.trim().length() == 0 {
+                continue;
+            }
+            if data.trim() == STREAM_DONE_EVENT {
+                return self.complete();
+            }
+
+            ChatCompletionChunk|error chunk = data.fromJsonStringWithType();
+            if chunk is error {
+                return self.closeWithError(
+                    error ai:LlmInvalidResponseError("Invalid chunk received in the streamed response", chunk));
+            }
+            ChatCompletionDelta? delta = self.processChunk(chunk);
+            if delta is ChatCompletionDelta {
+                return {value: delta};
+            }
+        }
+        return;
+    }
+
+    public isolated function close() returns ai:Error? {
+        if self.closed {
+            return;
+        }
+        self.closed = true;
+        error? result = self.events.close();
+        self.span.close();
+        if result is error {
+            return error ai:LlmConnectionError("Error while closing the streamed response", result);
+        }
+    }
+
+    private isolated function processChunk(ChatCompletionChunk chunk) returns ChatCompletionDelta? {
+        string? responseId = chunk.id;
+        if !self.responseIdAdded && responseId is string {
+            self.span.addResponseId(responseId);
+            self.responseIdAdded = true;
+        }
+
+        ChatCompletionChunkUsage? usage = chunk.usage;
+        if usage is ChatCompletionChunkUsage {
+            int? inputTokens = usage.prompt_tokens;
+            if inputTokens is int {
+                self.span.addInputTokenCount(inputTokens);
+            }
+            int? cachedTokens = usage.prompt_tokens_details?.cached_tokens;
+            if cachedTokens is int {
+                self.span.addCachedInputTokenCount(cachedTokens);
+            }
+            int? outputTokens = usage.completion_tokens;
+            if outputTokens is int {
+                self.span.addOutputTokenCount(outputTokens);
+            }
+        }
+
+        ChatCompletionChunkChoice[]? choices = chunk.choices;
+        if choices is () || choices.length() == 0 {
+            return;
+        }
+
+        ChatCompletionDelta delta = {};
+        ChatCompletionChunkDelta? chunkDelta = choices[0].delta;
+        string? content = chunkDelta?.content;
+        if content is string && content.length() > 0 {
+            self.contentFragments.push(content);
+            delta.content = content;
+            ReActResponseScanner? reActScanner = self.reActScanner;
+            if reActScanner is ReActResponseScanner {
+                reActScanner.feed(content);
+            }
+        }
+
+        ChatCompletionChunkToolCall[]? toolCalls = chunkDelta?.tool_calls;
+        if toolCalls is ChatCompletionChunkToolCall[] {
+            foreach ChatCompletionChunkToolCall toolCall in toolCalls {
+                self.processToolCallFragment(toolCall);
+            }
+        }
+
+        string? finishReason = choices[0].finish_reason;
+        if finishReason is string {
+            self.span.addFinishReason(finishReason);
+            delta.finishReason = finishReason;
+            ai:FunctionCall|ai:Error? toolCall = self.getToolCall();
+            if toolCall is ai:FunctionCall {
+                delta.toolCall = toolCall;
+            }
+        }
+        return delta.length() > 0 ? delta : ();
+    }
+
+    private isolated function getToolCall() returns ai:FunctionCall|ai:Error? {
+        ReActResponseScanner? reActScanner = self.reActScanner;
+        if reActScanner is ReActResponseScanner {
+            LlmChatResponse|ai:LlmToolResponse|ai:LlmInvalidGenerationError response =
+                self.getReActResponse(reActScanner);
+            return response is LlmChatResponse ? () : response;
+        }
+
+        string? functionName = self.functionName;
+        if functionName is () {
+            return;
+        }
+        ai:FunctionCall|error toolCall = toFunctionCall(getToolCallId(self.toolCallId, functionName), functionName,
+                string:'join("", ...self.argumentFragments));
+        if toolCall is error {
+            return error ai:LlmInvalidResponseError(
+                "Invalid or malformed arguments received in function call response.", toolCall);
+        }
+        return toolCall;
+    }
+
+    // The ID and the name of a tool call are received with its first fragment, and the arguments are received
+    // across the fragments.
+    private isolated function processToolCallFragment(ChatCompletionChunkToolCall toolCall) {
+        string? id = toolCall.id;
+        if id is string {
+            self.toolCallId = id;
+        }
+        ChatCompletionChunkFunctionCall? functionCall = toolCall.'function;
+        if functionCall is () {
+            return;
+        }
+        string? name = functionCall.name;
+        if name is string {
+            self.functionName = name;
+        }
+        string? arguments = functionCall.arguments;
+        if arguments is string {
+            self.argumentFragments.push(arguments);
+        }
+    }
+
+    // Models that do not support tool calls respond with a ReAct action, which is extracted from the
+    // streamed content once the stream completes.
+    private isolated function getReActResponse(ReActResponseScanner reActScanner)
+            returns LlmChatResponse|ai:LlmToolResponse|ai:LlmInvalidGenerationError {
+        LlmChatResponse|ai:LlmToolResponse|ai:LlmInvalidGenerationError? response = self.reActResponse;
+        if response !is () {
+            return response;
+        }
+        LlmChatResponse|ai:LlmToolResponse|error result = reActScanner.complete();
+        response = result is error ? toReActResponse(result, string:'join("", ...self.contentFragments)) : result;
+        self.reActResponse = response;
+        return response;
+    }
+
+    private isolated function complete() returns ai:Error? {
+        if self.closed {
+            return;
+        }
+        ai:ChatAssistantMessage message = {role: ai:ASSISTANT};
+        if self.reActScanner is () && self.contentFragments.length() > 0 {
+            message.content = string:'join("", ...self.contentFragments);
+        }
+        ai:FunctionCall|ai:Error? toolCall = self.getToolCall();
+        if toolCall is ai:Error {
+            return self.closeWithError(toolCall);
+        }
+        if toolCall is ai:FunctionCall {
+            message.toolCalls = [toolCall];
+        }
+        LlmChatResponse|ai:LlmToolResponse|ai:LlmInvalidGenerationError? reActResponse = self.reActResponse;
+        if reActResponse is LlmChatResponse {
+            // Set the "Final Answer" action's input to the chat assistant message content
+            message.content = reActResponse.content;
+        }
+        self.span.addOutput(message);
+        return self.close();
+    }
+
+    private isolated function closeWithError(ai:Error err) returns ai:Error {
+        self.closed = true;
+        // The original error is reported even if releasing the underlying event stream fails.
+        error? closeResult = self.events.close();
+        if closeResult is error {
+            log:printDebug("Failed to close the streamed response", closeResult);
+        }
+        self.span.close(err);
+        return err;
+    }
+}
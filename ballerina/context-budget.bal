@@ -0,0 +1,220 @@
+// Copyright (c) 2025 WSO2 LLC (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/ai;
+import ballerina/jballerina.java;
+
+const MESSAGE_TOKEN_OVERHEAD = 3;
+const REPLY_TOKEN_OVERHEAD = 3;
+const IMAGE_TOKEN_ESTIMATE = 85;
+const IMAGE_URL_CONTENT_TYPE = "image_url";
+
+final readonly & map<int> CONTEXT_WINDOWS = {
+    [GPT_4O]: 128000,
+    [GPT_4O_2024_11_20]: 128000,
+    [GPT_4O_2024_08_06]: 128000,
+    [GPT_4O_2024_05_13]: 128000,
+    [GPT_4O_MINI]: 128000,
+    [GPT_4O_MINI_2024_07_18]: 128000,
+    [GPT_4_TURBO]: 128000,
+    [GPT_4_TURBO_2024_04_09]: 128000,
+    [GPT_4_0125_PREVIEW]: 128000,
+    [GPT_4_TURBO_PREVIEW]: 128000,
+    [GPT_4_1106_PREVIEW]: 128000,
+    [GPT_4_0613]: 8192,
+    [O1]: 200000,
+    [O1_2024_12_17]: 200000,
+    [O1_PRO_2025_03_19]: 200000,
+    [O1_PRO]: 200000,
+    [GPT_3_5_TURBO]: 16385,
+    [GPT_3_5_TURBO_16K]: 16385,
+    [GPT_3_5_TURBO_1106]: 16385,
+    [GPT_3_5_TURBO_0125]: 16385,
+    [GPT_4_1_2025_04_14]: 1047576,
+    [GPT_4_1]: 1047576,
+    [GPT_4_1_MINI_2025_04_14]: 1047576,
+    [GPT_4_1_MINI]: 1047576,
+    [GPT_4_1_NANO]: 1047576,
+    [GPT_4_1_NANO_2025_04_14]: 1047576,
+    [CHATGPT_4O_LATEST]: 128000,
+    [GPT_4O_AUDIO_PREVIEW]: 128000
+};
+
+type ContextBudget readonly & record {|
+    int contextWindow;
+    CONTEXT_OVERFLOW_STRATEGY overflowStrategy;
+|};
+
+type DroppableChunks (ai:Document|ai:Chunk)[];
+
+class BudgetedPrompt {
+    *ai:Prompt;
+    public string[] & readonly strings;
+    public anydata[] insertions;
+
+    isolated function init(string[] & readonly strings, anydata[] insertions) {
+        self.strings = strings;
+        self.insertions = insertions;
+    }
+}
+
+# Returns the context window of the given model in tokens.
+#
+# + model - The OpenAI model name
+# + return - The number of tokens the model accepts for the prompt and the completion together
+public isolated function getContextWindow(OPEN_AI_MODEL_NAMES model) returns int => CONTEXT_WINDOWS.get(model);
+
+# Estimates the number of tokens the OpenAI models encode the given text into.
+# The estimate is computed locally with a heuristic, without the vocabularies of the tokenizers, and is intended
+# for budgeting requests. It can be lower or higher than the count of the tokenizer of the model.
+#
+# + text - The text to count the tokens of
+# + return - The estimated number of tokens
+public isolated function countTokens(string text) returns int = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.TokenEstimator"
+} external;
+
+isolated function countMessageTokens(json messages) returns int {
+    int tokens = REPLY_TOKEN_OVERHEAD;
+    if messages !is json[] {
+        return tokens;
+    }
+    foreach json message in messages {
+        tokens += MESSAGE_TOKEN_OVERHEAD;
+        if message is map<json> {
+            foreach [string, json] [key, value] in message.entries() {
+                if key != "role" {
+                    tokens += countJsonTokens(value);
+                }
+            }
+        }
+    }
+    return tokens;
+}
+
+isolated function countJsonTokens(json value) returns int {
+    if value is string {
+        return countTokens(value);
+    }
+    if value is () {
+        return 0;
+    }
+    if value is map<json> && value["type"] == IMAGE_URL_CONTENT_TYPE {
+        return IMAGE_TOKEN_ESTIMATE;
+    }
+    if value is json[]|map<json> {
+        int tokens = 0;
+        foreach json member in value {
+            tokens += countJsonTokens(member);
+        }
+        return tokens;
+    }
+    return countTokens(value.toString());
+}
+
+isolated function checkContextBudget(int promptTokens, int completionTokens, ContextBudget budget,
+        OPEN_AI_MODEL_NAMES model) returns ContextWindowExceededError? {
+    if promptTokens + completionTokens > budget.contextWindow {
+        return error ContextWindowExceededError(string `Request exceeds the context window of model '${model
+            }': estimated ${promptTokens} prompt tokens and ${completionTokens} completion tokens exceed the limit of ${
+            budget.contextWindow} tokens`);
+    }
+}
+
+isolated function dropChatMessageChunks(ai:ChatMessage[]|ai:ChatUserMessage messages, int excessTokens)
+        returns ai:ChatMessage[]|ai:ChatUserMessage {
+    if messages is ai:ChatUserMessage {
+        ai:Prompt|string content = messages.content;
+        return content is string ? messages : {...messages, content: dropPromptChunks([content], excessTokens)[0]};
+    }
+
+    int[] promptMessageIndices = [];
+    ai:Prompt[] prompts = [];
+    foreach int i in 0 ..< messages.length() {
+        ai:ChatMessage message = messages[i];
+        if message is ai:ChatUserMessage {
+            ai:Prompt|string content = message.content;
+            if content !is string {
+                promptMessageIndices.push(i);
+                prompts.push(content);
+            }
+        }
+    }
+    if prompts.length() == 0 {
+        return messages;
+    }
+
+    ai:Prompt[] budgetedPrompts = dropPromptChunks(prompts, excessTokens);
+    ai:ChatMessage[] budgetedMessages = messages.slice(0);
+    foreach int i in 0 ..< promptMessageIndices.length() {
+        ai:ChatMessage message = budgetedMessages[promptMessageIndices[i]];
+        if message is ai:ChatUserMessage {
+            budgetedMessages[promptMessageIndices[i]] = {...message, content: budgetedPrompts[i]};
+        }
+    }
+    return budgetedMessages;
+}
+
+# Drops chunks from the chunk and document arrays interpolated in the prompts until the estimated number of
+# dropped tokens reaches the given excess. Retrieved chunks are ordered by relevance, so the trailing chunk of
+# the longest array is dropped first. The given prompts are not modified.
+isolated function dropPromptChunks(ai:Prompt[] prompts, int excessTokens) returns ai:Prompt[] {
+    anydata[][] promptInsertions = [];
+    DroppableChunks[] droppableChunks = [];
+    foreach ai:Prompt prompt in prompts {
+        anydata[] insertions = prompt.insertions.slice(0);
+        foreach int i in 0 ..< insertions.length() {
+            anydata insertion = insertions[i];
+            if insertion is DroppableChunks && insertion.length() > 0 {
+                DroppableChunks chunks = insertion.slice(0);
+                insertions[i] = chunks;
+                droppableChunks.push(chunks);
+            }
+        }
+        promptInsertions.push(insertions);
+    }
+
+    int remainingTokens = excessTokens;
+    while remainingTokens > 0 {
+        DroppableChunks? longestChunks = ();
+        foreach DroppableChunks chunks in droppableChunks {
+            if chunks.length() > 0 && (longestChunks is () || chunks.length() > longestChunks.length()) {
+                longestChunks = chunks;
+            }
+        }
+        if longestChunks is () {
+            break;
+        }
+        remainingTokens -= estimateChunkTokens(longestChunks.pop());
+    }
+
+    ai:Prompt[] budgetedPrompts = [];
+    foreach int i in 0 ..< prompts.length() {
+        budgetedPrompts.push(new BudgetedPrompt(prompts[i].strings, promptInsertions[i]));
+    }
+    return budgetedPrompts;
+}
+
+isolated function estimateChunkTokens(ai:Document|ai:Chunk chunk) returns int {
+    if chunk is ai:TextDocument|ai:TextChunk {
+        // Chunks are separated by a space when rendered.
+        return countTokens(chunk.content) + 1;
+    }
+    if chunk is ai:ImageDocument {
+        return IMAGE_TOKEN_ESTIMATE;
+    }
+    return countTokens(chunk.toString());
+}
@@ -0,0 +1,219 @@
+// Copyright (c) 2025 WSO2 LLC (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/ai;
+import ballerina/crypto;
+import ballerina/jballerina.java;
+
+const DEFAULT_EMBEDDING_CACHE_CAPACITY = 10000;
+const DEFAULT_EMBEDDING_FILE_CACHE_SIZE = 1073741824;
+const DEFAULT_DIMENSIONS_KEY = "default";
+const ESTIMATED_FLOAT_RESPONSE_BYTES_PER_VALUE = 20;
+const BASE64_RESPONSE_BYTES_PER_VALUE = 6;
+
+# Represents a cache of embeddings consulted by the `EmbeddingProvider` before requesting embeddings
+# from the OpenAI API. The keys are derived from the model, the dimensions and the SHA-256 digest of the content.
+public type EmbeddingCache isolated object {
+    # Returns the embedding cached against the given key.
+    #
+    # + key - The cache key
+    # + return - The cached embedding, or `()` if there is no embedding for the key
+    public isolated function get(string key) returns ai:Embedding?;
+
+    # Caches the embedding against the given key.
+    #
+    # + key - The cache key
+    # + embedding - The embedding to cache
+    public isolated function put(string key, ai:Embedding embedding);
+};
+
+# An in-memory embedding cache that evicts the least recently used embeddings once the capacity is reached.
+# An optional secondary cache, such as a `FileEmbeddingCache`, is consulted on misses and populated on writes.
+# Only dense vector embeddings are cached.
+public isolated class InMemoryEmbeddingCache {
+    *EmbeddingCache;
+    private final EmbeddingCache? secondaryCache;
+
+    # Initializes the in-memory embedding cache.
+    #
+    # + capacity - The maximum number of embeddings held in memory
+    # + secondaryCache - The cache consulted when an embedding is not found in memory
+    public isolated function init(int capacity = DEFAULT_EMBEDDING_CACHE_CAPACITY, EmbeddingCache? secondaryCache = ()) {
+        self.secondaryCache = secondaryCache;
+        initInMemoryEmbeddingStore(self, capacity);
+    }
+
+    # Returns the embedding cached against the given key.
+    #
+    # + key - The cache key
+    # + return - The cached embedding, or `()` if there is no embedding for the key
+    public isolated function get(string key) returns ai:Embedding? {
+        ai:Vector? embedding = getFromInMemoryEmbeddingStore(self, key);
+        if embedding is ai:Vector {
+            return embedding;
+        }
+        EmbeddingCache? secondaryCache = self.secondaryCache;
+        if secondaryCache is () {
+            return;
+        }
+        ai:Embedding? secondaryEmbedding = secondaryCache.get(key);
+        if secondaryEmbedding is ai:Vector {
+            putToInMemoryEmbeddingStore(self, key, secondaryEmbedding);
+        }
+        return secondaryEmbedding;
+    }
+
+    # Caches the embedding against the given key.
+    #
+    # + key - The cache key
+    # + embedding - The embedding to cache
+    public isolated function put(string key, ai:Embedding embedding) {
+        if embedding is ai:Vector {
+            putToInMemoryEmbeddingStore(self, key, embedding);
+        }
+        EmbeddingCache? secondaryCache = self.secondaryCache;
+        if secondaryCache !is () {
+            secondaryCache.put(key, embedding);
+        }
+    }
+}
+
+# An embedding cache persisted in an append-only vector file on the local disk. The index of the file is
+# rebuilt when the cache is opened, and the least recently used embeddings are dropped by compacting the file
+# once it grows beyond the configured size. Only dense vector embeddings are cached.
+public isolated class FileEmbeddingCache {
+    *EmbeddingCache;
+
+    # Opens the file-backed embedding cache, creating the file if it does not exist.
+    #
+    # + path - The path of the vector file
+    # + maxSizeInBytes - The size of the vector file beyond which it is compacted
+    # + return - `()` on successful initialization; otherwise, returns an `ai:Error`
+    public isolated function init(string path, int maxSizeInBytes = DEFAULT_EMBEDDING_FILE_CACHE_SIZE) returns ai:Error? {
+        return initFileEmbeddingStore(self, path, maxSizeInBytes);
+    }
+
+    # Returns the embedding cached against the given key.
+    #
+    # + key - The cache key
+    # + return - The cached embedding, or `()` if there is no embedding for the key or it cannot be read
+    public isolated function get(string key) returns ai:Embedding? = @java:Method {
+        'class: "io.ballerina.lib.ai.openai.FileEmbeddingStore"
+    } external;
+
+    # Caches the embedding against the given key.
+    #
+    # + key - The cache key
+    # + embedding - The embedding to cache
+    public isolated function put(string key, ai:Embedding embedding) {
+        if embedding is ai:Vector {
+            putToFileEmbeddingStore(self, key, embedding);
+        }
+    }
+
+    # Closes the underlying vector file.
+    #
+    # + return - `()` on success; otherwise, returns an `ai:Error`
+    public isolated function close() returns ai:Error? = @java:Method {
+        'class: "io.ballerina.lib.ai.openai.FileEmbeddingStore"
+    } external;
+}
+
+# Represents the usage statistics of the embedding cache of an `EmbeddingProvider`.
+public type EmbeddingCacheStats record {|
+    # Number of inputs served from the cache
+    int hits;
+    # Number of inputs requested from the API
+    int misses;
+    # Ratio of inputs served from the cache
+    float hitRatio;
+    # Approximate number of response bytes that were not transferred due to cache hits
+    int bytesSaved;
+    # Approximate upstream latency, in seconds, avoided due to cache hits
+    decimal upstreamLatencyAvoided;
+|};
+
+isolated class EmbeddingCacheMetrics {
+    private int hits = 0;
+    private int misses = 0;
+    private int bytesSaved = 0;
+    private decimal upstreamLatency = 0;
+    private decimal upstreamLatencyAvoided = 0;
+
+    isolated function recordHit(ai:Embedding embedding, EMBEDDING_ENCODING_FORMAT encodingFormat) {
+        int bytesPerValue = encodingFormat == BASE64 ? BASE64_RESPONSE_BYTES_PER_VALUE :
+            ESTIMATED_FLOAT_RESPONSE_BYTES_PER_VALUE;
+        int valueCount = embedding is ai:Vector ? embedding.length() : 0;
+        lock {
+            self.hits += 1;
+            self.bytesSaved += valueCount * bytesPerValue;
+            if self.misses > 0 {
+                self.upstreamLatencyAvoided += self.upstreamLatency / <decimal>self.misses;
+            }
+        }
+    }
+
+    isolated function recordMisses(int count, decimal latency) {
+        lock {
+            self.misses += count;
+            self.upstreamLatency += latency;
+        }
+    }
+
+    isolated function getStats() returns EmbeddingCacheStats {
+        lock {
+            int lookups = self.hits + self.misses;
+            return {
+                hits: self.hits,
+                misses: self.misses,
+                hitRatio: lookups == 0 ? 0.0 : <float>self.hits / <float>lookups,
+                bytesSaved: self.bytesSaved,
+                upstreamLatencyAvoided: self.upstreamLatencyAvoided
+            };
+        }
+    }
+}
+
+isolated function getEmbeddingCacheKey(string modelType, string dimensions, string content) returns string =>
+    string `${modelType}:${dimensions}:${crypto:hashSha256(content.toBytes()).toBase16()}`;
+
+isolated function initInMemoryEmbeddingStore(InMemoryEmbeddingCache cache, int capacity) = @java:Method {
+    name: "init",
+    'class: "io.ballerina.lib.ai.openai.InMemoryEmbeddingStore"
+} external;
+
+isolated function getFromInMemoryEmbeddingStore(InMemoryEmbeddingCache cache, string key)
+        returns ai:Vector? = @java:Method {
+    name: "get",
+    'class: "io.ballerina.lib.ai.openai.InMemoryEmbeddingStore"
+} external;
+
+isolated function putToInMemoryEmbeddingStore(InMemoryEmbeddingCache cache, string key,
+        ai:Vector embedding) = @java:Method {
+    name: "put",
+    'class: "io.ballerina.lib.ai.openai.InMemoryEmbeddingStore"
+} external;
+
+isolated function initFileEmbeddingStore(FileEmbeddingCache cache, string path,
+        int maxSizeInBytes) returns ai:Error? = @java:Method {
+    name: "init",
+    'class: "io.ballerina.lib.ai.openai.FileEmbeddingStore"
+} external;
+
+isolated function putToFileEmbeddingStore(FileEmbeddingCache cache, string key, ai:Vector embedding) = @java:Method {
+    name: "put",
+    'class: "io.ballerina.lib.ai.openai.FileEmbeddingStore"
+} external;
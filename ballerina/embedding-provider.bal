@@ -15,26 +15,105 @@
 // under the License.
 
 import ballerina/ai;
-import ballerina/ai.observe;
+import ballerina/http;
+import ballerina/jballerina.java;
+import ballerina/lang.runtime;
+import ballerina/time;
 import ballerinax/openai.embeddings;
 
+const decimal SHARD_RETRY_INTERVAL = 1;
+const EMBEDDINGS_PATH = "/embeddings";
+
+type EmbeddingShard readonly & record {|
+    int offset;
+    string[] input;
+|};
+
+type EmbeddingShardResult record {|
+    int offset;
+    EmbeddingsResult result;
+|};
+
+type EmbeddingsResult record {|
+    string model;
+    int promptTokens;
+    IndexedEmbedding[] data;
+|};
+
+type IndexedEmbedding record {|
+    int index;
+    ai:Embedding embedding;
+|};
+
+type Base64EmbeddingsResponse record {
+    Base64Embedding[] data;
+    string model;
+    record {int prompt_tokens;} usage;
+};
+
+type Base64Embedding record {
+    int index;
+    string embedding;
+};
+
 # EmbeddingProvider provides an interface for interacting with OpenAI Embedding Models.
 public distinct isolated client class EmbeddingProvider {
     *ai:EmbeddingProvider;
     private final embeddings:Client embeddingsClient;
+    private final http:Client httpClient;
     private final string modelType;
+    private final EMBEDDING_ENCODING_FORMAT encodingFormat;
+    private final BatchEmbedConfig & readonly batchConfig;
+    private final EmbeddingCache? cache;
+    private final int? dimensions;
+    private final EMBEDDING_QUANTIZATION? quantization;
+    private final RateLimiter? rateLimiter;
+    private final BatchJobConfig & readonly batchJobConfig;
+    private final ObservabilityConfig & readonly observability;
+    private final EmbeddingCacheMetrics cacheMetrics = new;
 
     # Initializes the OpenAI embedding model with the given connection configuration.
     #
     # + apiKey - The OpenAI API key
     # + modelType - The OpenAI embedding model name
     # + serviceUrl - The base URL of OpenAI API endpoint
+    # + encodingFormat - The format in which the embeddings are returned by the API. The `BASE64` format
+    # transfers each vector as packed float32 values, which are decoded natively
+    # + batchConfig - Configurations for splitting `batchEmbed` requests into concurrently sent shards
+    # + cache - The cache consulted before requesting embeddings from the API. Only the inputs that are not
+    # found in the cache are sent to the API
+    # + dimensions - The number of dimensions of the returned embeddings. Only supported by the
+    # `text-embedding-3` and later models
+    # + quantization - The quantization applied to the embeddings returned by `embedQuantized` and
+    # `batchEmbedQuantized`
+    # + rateLimit - Configurations for the client-side rate limiter shared by the providers that use the same
+    # API key. Requests are not rate limited on the client side if not set
+    # + batchJobConfig - Configurations for the OpenAI Batch API jobs submitted by `bulkEmbed`
+    # + observability - Configurations for the observability spans recorded for the requests
     # + connectionConfig - Additional HTTP connection configuration
     # + return - `nil` on successful initialization; otherwise, returns an `ai:Error`
     public isolated function init(@display {label: "API Key"} string apiKey,
             @display {label: "Embedding Model Type"} OPEN_AI_EMBEDDING_MODEL_NAMES modelType,
             @display {label: "Service URL"} string serviceUrl = DEFAULT_OPENAI_SERVICE_URL,
+            @display {label: "Encoding Format"} EMBEDDING_ENCODING_FORMAT encodingFormat = FLOAT,
+            @display {label: "Batch Embedding Configuration"} BatchEmbedConfig batchConfig = {},
+            @display {label: "Embedding Cache"} EmbeddingCache? cache = (),
+            @display {label: "Embedding Dimensions"} int? dimensions = (),
+            @display {label: "Embedding Quantization"} EMBEDDING_QUANTIZATION? quantization = (),
+            @display {label: "Rate Limit Configuration"} RateLimitConfig? rateLimit = (),
+            @display {label: "Batch Job Configuration"} BatchJobConfig batchJobConfig = {},
+            @display {label: "Observability Configuration"} ObservabilityConfig observability = {},
             @display {label: "Connection Configuration"} *ConnectionConfig connectionConfig) returns ai:Error? {
+        if batchConfig.maxBatchSize < 1 || batchConfig.maxTokensPerBatch < 1 || batchConfig.maxConcurrency < 1
+                || batchConfig.maxRetries < 0 {
+            return error ai:Error("Invalid batch embedding configuration: batch size, token budget and " +
+                "concurrency must be positive, and retries must not be negative");
+        }
+        if dimensions is int && dimensions < 1 {
+            return error ai:Error("Invalid embedding dimensions: dimensions must be positive");
+        }
+        check validateBatchJobConfig(batchJobConfig);
+        check validateObservabilityConfig(observability);
         embeddings:ClientHttp1Settings?|error http1Settings = connectionConfig?.http1Settings.cloneWithType();
         if http1Settings is error {
             return error ai:Error("Failed to clone http1Settings", http1Settings);
@@ -62,17 +141,34 @@ public distinct isolated client class EmbeddingProvider {
         if embeddingsClient is error {
             return error ai:Error("Failed to initialize OpenAI embedding provider", embeddingsClient);
         }
+        http:Client|error httpClient = new (serviceUrl, getHttpClientConfig(apiKey, connectionConfig));
+        if httpClient is error {
+            return error ai:Error("Failed to initialize OpenAI embedding provider", httpClient);
+        }
         self.embeddingsClient = embeddingsClient;
+        self.httpClient = httpClient;
         self.modelType = modelType;
+        self.encodingFormat = encodingFormat;
+        self.batchConfig = batchConfig.cloneReadOnly();
+        self.cache = cache;
+        self.dimensions = dimensions;
+        self.quantization = quantization;
+        self.rateLimiter = rateLimit is RateLimitConfig ? new (apiKey, rateLimit) : ();
+        self.batchJobConfig = batchJobConfig.cloneReadOnly();
+        self.observability = observability.cloneReadOnly();
     }
 
+    # Returns the usage statistics of the embedding cache configured for this provider.
+    #
+    # + return - The embedding cache statistics
+    public isolated function getCacheStats() returns EmbeddingCacheStats => self.cacheMetrics.getStats();
+
     # Generates an embedding vector for the provided chunk.
     #
     # + chunk - The `ai:Chunk` containing the content to embed
     # + return - The resulting `ai:Embedding` on success; otherwise, returns an `ai:Error`
     isolated remote function embed(ai:Chunk chunk) returns ai:Embedding|ai:Error {
-        observe:EmbeddingSpan span = observe:createEmbeddingSpan(self.modelType);
-        span.addProvider("openai");
+        EmbeddingObservation span = new (self.modelType, self.observability);
 
         if chunk !is ai:TextDocument|ai:TextChunk {
             ai:Error err = error("Unsupported document type. only 'ai:TextDocument|ai:TextChunk' is supported");
@@ -80,32 +176,56 @@ public distinct isolated client class EmbeddingProvider {
             return err;
         }
         do {
-            embeddings:CreateEmbeddingRequest request = {
-                model: self.modelType,
-                input: chunk.content
-            };
             span.addInputContent(chunk.content);
-            embeddings:CreateEmbeddingResponse response = check self.embeddingsClient->/embeddings.post(request);
-            span.addInputTokenCount(response.usage.prompt_tokens);
-            span.addResponseModel(response.model);
+            string cacheKey = self.getCacheKey(chunk.content);
+            ai:Embedding? cachedEmbedding = self.getCachedEmbedding(cacheKey);
+            if cachedEmbedding !is () {
+                span.close();
+                return cachedEmbedding;
+            }
+
+            decimal startTime = time:monotonicNow();
+            EmbeddingsResult result = check self.requestEmbeddings(chunk.content);
+            self.cacheMetrics.recordMisses(1, time:monotonicNow() - startTime);
+            span.addInputTokenCount(result.promptTokens);
+            span.addResponseModel(result.model);
 
-            ai:Embedding embedding = check trap response.data[0].embedding;
+            ai:Embedding embedding = check trap result.data[0].embedding;
+            self.cacheEmbedding(cacheKey, embedding);
             span.close();
             return embedding;
         } on fail error e {
-            ai:Error err = error("Unable to obtain embedding for the provided document", e);
+            ai:Error err = e is RateLimitExceededError ? e
+                : error("Unable to obtain embedding for the provided document", e);
             span.close(err);
             return err;
         }
     }
 
     # Converts a batch of chunks into embeddings.
+    # Chunks whose embeddings are found in the configured cache are not sent to the API. The remaining chunks
+    # are split into shards bounded by the configured batch size and token budget, and the shards are sent
+    # concurrently. A failed shard is retried on its own.
     #
     # + chunks - The array of chunks to be converted into embeddings
     # + return - An array of embeddings on success, or an `ai:Error`
     isolated remote function batchEmbed(ai:Chunk[] chunks) returns ai:Embedding[]|ai:Error {
-        observe:EmbeddingSpan span = observe:createEmbeddingSpan(self.modelType);
-        span.addProvider("openai");
+        return self.embedBatch(chunks, false);
+    }
+
+    # Converts a batch of chunks into embeddings through the OpenAI Batch API. Chunks whose embeddings are found
+    # in the configured cache are not sent. The remaining chunks are split into shards as in `batchEmbed`, and
+    # the shards are submitted together as a single batch job, which is cheaper than sending them individually
+    # but completes asynchronously, within 24 hours. This call waits until the job finishes.
+    #
+    # + chunks - The array of chunks to be converted into embeddings
+    # + return - An array of embeddings on success, or an `ai:Error`
+    isolated remote function bulkEmbed(ai:Chunk[] chunks) returns ai:Embedding[]|ai:Error {
+        return self.embedBatch(chunks, true);
+    }
+
+    private isolated function embedBatch(ai:Chunk[] chunks, boolean bulk) returns ai:Embedding[]|ai:Error {
+        EmbeddingObservation span = new (self.modelType, self.observability);
 
         if !isAllTextChunks(chunks) {
             ai:Error err = error("Unsupported chunk type. only 'ai:TextChunk[]|ai:TextDocument[]' is supported");
@@ -114,27 +234,367 @@ public distinct isolated client class EmbeddingProvider {
         }
         do {
             string[] input = chunks.map(chunk => chunk.content.toString());
-            embeddings:CreateEmbeddingRequest request = {
-                model: self.modelType,
-                input
-            };
-            span.addInputContent(input);
-            embeddings:CreateEmbeddingResponse response = check self.embeddingsClient->/embeddings.post(request);
-            span.addInputTokenCount(response.usage.prompt_tokens);
-            span.addResponseModel(response.model);
+            if span.capturesPayloads() {
+                span.addInputContent(input);
+            }
+
+            ai:Embedding?[] embeddings = [];
+            string[] cacheKeys = [];
+            int[] missedIndices = [];
+            string[] missedInput = [];
+            foreach int i in 0 ..< input.length() {
+                string cacheKey = self.getCacheKey(input[i]);
+                ai:Embedding? cachedEmbedding = self.getCachedEmbedding(cacheKey);
+                embeddings.push(cachedEmbedding);
+                cacheKeys.push(cacheKey);
+                if cachedEmbedding is () {
+                    missedIndices.push(i);
+                    missedInput.push(input[i]);
+                }
+            }
+
+            if missedInput.length() > 0 {
+                decimal startTime = time:monotonicNow();
+                EmbeddingsResult result = bulk ? check self.requestBulkEmbeddings(missedInput)
+                    : check self.requestBatchEmbeddings(missedInput);
+                self.cacheMetrics.recordMisses(missedInput.length(), time:monotonicNow() - startTime);
+                span.addInputTokenCount(result.promptTokens);
+                span.addResponseModel(result.model);
+                foreach IndexedEmbedding {index, embedding} in result.data {
+                    int inputIndex = check trap missedIndices[index];
+                    embeddings[inputIndex] = embedding;
+                    self.cacheEmbedding(cacheKeys[inputIndex], embedding);
+                }
+            }
 
-            ai:Embedding[] embeddings = from embeddings:CreateEmbeddingResponse_data e in response.data
-                select e.embedding;
+            ai:Embedding[] orderedEmbeddings = [];
+            foreach ai:Embedding? embedding in embeddings {
+                if embedding is () {
+                    fail error("Embedding response does not contain an embedding for every input");
+                }
+                orderedEmbeddings.push(embedding);
+            }
             span.close();
-            return embeddings;
+            return orderedEmbeddings;
         } on fail error e {
-            ai:Error err = error ("Unable to obtain embedding for the provided document", e);
+            ai:Error err = e is RateLimitExceededError ? e
+                : error("Unable to obtain embedding for the provided document", e);
             span.close(err);
             return err;
         }
     }
+
+    # Generates an embedding vector for the provided chunk and quantizes it with the configured quantization.
+    #
+    # + chunk - The `ai:Chunk` containing the content to embed
+    # + return - The quantized embedding on success; otherwise, returns an `ai:Error`
+    isolated remote function embedQuantized(ai:Chunk chunk) returns QuantizedEmbedding|ai:Error {
+        EMBEDDING_QUANTIZATION quantization = check self.getQuantization();
+        ai:Embedding embedding = check self->embed(chunk);
+        return quantizeDenseEmbedding(embedding, quantization);
+    }
+
+    # Converts a batch of chunks into embeddings quantized with the configured quantization.
+    #
+    # + chunks - The array of chunks to be converted into embeddings
+    # + return - An array of quantized embeddings on success, or an `ai:Error`
+    isolated remote function batchEmbedQuantized(ai:Chunk[] chunks) returns QuantizedEmbedding[]|ai:Error {
+        EMBEDDING_QUANTIZATION quantization = check self.getQuantization();
+        ai:Embedding[] embeddings = check self->batchEmbed(chunks);
+        QuantizedEmbedding[] quantizedEmbeddings = [];
+        foreach ai:Embedding embedding in embeddings {
+            quantizedEmbeddings.push(check quantizeDenseEmbedding(embedding, quantization));
+        }
+        return quantizedEmbeddings;
+    }
+
+    private isolated function getQuantization() returns EMBEDDING_QUANTIZATION|ai:Error {
+        EMBEDDING_QUANTIZATION? quantization = self.quantization;
+        if quantization is () {
+            return error ai:Error("Embedding quantization is not configured for the provider");
+        }
+        return quantization;
+    }
+
+    private isolated function getCacheKey(string content) returns string {
+        int? dimensions = self.dimensions;
+        return getEmbeddingCacheKey(self.modelType, dimensions is int ? dimensions.toString() : DEFAULT_DIMENSIONS_KEY,
+            content);
+    }
+
+    private isolated function getCachedEmbedding(string cacheKey) returns ai:Embedding? {
+        EmbeddingCache? cache = self.cache;
+        if cache is () {
+            return;
+        }
+        ai:Embedding? embedding = cache.get(cacheKey);
+        if embedding !is () {
+            self.cacheMetrics.recordHit(embedding, self.encodingFormat);
+        }
+        return embedding;
+    }
+
+    private isolated function cacheEmbedding(string cacheKey, ai:Embedding embedding) {
+        EmbeddingCache? cache = self.cache;
+        if cache !is () {
+            cache.put(cacheKey, embedding);
+        }
+    }
+
+    private isolated function requestBatchEmbeddings(string[] input) returns EmbeddingsResult|error {
+        ShardDispatcher dispatcher = new (createEmbeddingShards(input, self.batchConfig));
+        int workerCount = int:min(self.batchConfig.maxConcurrency, dispatcher.shardCount());
+        future<EmbeddingShardResult[]|error>[] workers = [];
+        foreach int i in 0 ..< workerCount {
+            future<EmbeddingShardResult[]|error> worker = start self.embedShards(dispatcher);
+            workers.push(worker);
+        }
+
+        int promptTokens = 0;
+        string model = self.modelType;
+        IndexedEmbedding[] data = [];
+        error? shardError = ();
+        // All the workers are waited for before an error is returned, so that no request is sent after
+        // `batchEmbed` returns. The workers stop taking shards once a shard fails.
+        foreach future<EmbeddingShardResult[]|error> worker in workers {
+            EmbeddingShardResult[]|error results = wait worker;
+            if results is error {
+                shardError = shardError ?: results;
+                continue;
+            }
+            foreach EmbeddingShardResult {offset, result} in results {
+                promptTokens += result.promptTokens;
+                model = result.model;
+                foreach IndexedEmbedding {index, embedding} in result.data {
+                    data.push({index: offset + index, embedding});
+                }
+            }
+        }
+        if shardError is error {
+            return shardError;
+        }
+        return {model, promptTokens, data};
+    }
+
+    private isolated function embedShards(ShardDispatcher dispatcher) returns EmbeddingShardResult[]|error {
+        EmbeddingShardResult[] results = [];
+        EmbeddingShard? shard = dispatcher.next();
+        while shard is EmbeddingShard {
+            EmbeddingsResult|error result = self.embedShard(shard);
+            if result is error {
+                dispatcher.cancel();
+                return result;
+            }
+            results.push({offset: shard.offset, result});
+            shard = dispatcher.next();
+        }
+        return results;
+    }
+
+    private isolated function embedShard(EmbeddingShard shard) returns EmbeddingsResult|error {
+        int attempt = 0;
+        while true {
+            EmbeddingsResult|error result = self.requestEmbeddings(shard.input);
+            if result is EmbeddingsResult || !isRetryableShardError(result) || attempt >= self.batchConfig.maxRetries {
+                return result;
+            }
+            attempt += 1;
+            runtime:sleep(SHARD_RETRY_INTERVAL * <decimal>attempt);
+        }
+    }
+
+    private isolated function requestBulkEmbeddings(string[] input) returns EmbeddingsResult|error {
+        BatchRequest[] requests = from EmbeddingShard shard in createEmbeddingShards(input, self.batchConfig)
+            select {
+                custom_id: shard.offset.toString(),
+                url: EMBEDDINGS_BATCH_ENDPOINT,
+                body: self.buildEmbeddingsRequest(shard.input)
+            };
+        stream<BatchOutput, ai:Error?>[] outputs = check runBatchJob(self.httpClient, EMBEDDINGS_BATCH_ENDPOINT,
+                requests, self.batchJobConfig);
+
+        int promptTokens = 0;
+        string model = self.modelType;
+        IndexedEmbedding[] data = [];
+        foreach stream<BatchOutput, ai:Error?> outputStream in outputs {
+            check from BatchOutput output in outputStream
+                do {
+                    int offset = check int:fromString(output.custom_id);
+                    json payload = check getBatchResponseBody(output);
+                    EmbeddingsResult result = check self.decodeEmbeddingsPayload(payload);
+                    promptTokens += result.promptTokens;
+                    model = result.model;
+                    foreach IndexedEmbedding {index, embedding} in result.data {
+                        data.push({index: offset + index, embedding});
+                    }
+                };
+        }
+        return {model, promptTokens, data};
+    }
+
+    private isolated function buildEmbeddingsRequest(string|string[] input) returns embeddings:CreateEmbeddingRequest {
+        embeddings:CreateEmbeddingRequest request = {
+            model: self.modelType,
+            input
+        };
+        if self.encodingFormat == BASE64 {
+            request.encoding_format = BASE64;
+        }
+        int? dimensions = self.dimensions;
+        if dimensions is int {
+            request.dimensions = dimensions;
+        }
+        return request;
+    }
+
+    private isolated function requestEmbeddings(string|string[] input) returns EmbeddingsResult|error {
+        embeddings:CreateEmbeddingRequest request = self.buildEmbeddingsRequest(input);
+
+        RateLimiter? rateLimiter = self.rateLimiter;
+        if rateLimiter is () && self.encodingFormat == FLOAT {
+            embeddings:CreateEmbeddingResponse response = check self.embeddingsClient->/embeddings.post(request);
+            return toEmbeddingsResult(response);
+        }
+
+        json payload = rateLimiter is RateLimiter
+            ? check postWithRateLimit(self.httpClient, rateLimiter, EMBEDDINGS_PATH, request,
+                    countInputTokens(input))
+            : check self.httpClient->post(EMBEDDINGS_PATH, request);
+        return self.decodeEmbeddingsPayload(payload);
+    }
+
+    private isolated function decodeEmbeddingsPayload(json payload) returns EmbeddingsResult|error {
+        if self.encodingFormat == FLOAT {
+            embeddings:CreateEmbeddingResponse response = check payload.cloneWithType();
+            return toEmbeddingsResult(response);
+        }
+
+        Base64EmbeddingsResponse response = check payload.cloneWithType();
+        IndexedEmbedding[] data = [];
+        foreach Base64Embedding {index, embedding} in response.data {
+            data.push({index, embedding: check decodeBase64Embedding(embedding)});
+        }
+        return {model: response.model, promptTokens: response.usage.prompt_tokens, data};
+    }
+}
+
+// Only rate limited requests, server errors and transport errors are retried. Other failures, such as an input
+// that is too long or an invalid API key, fail the same way on every attempt. Requests rejected by the client-side
+// rate limiter have already waited for as long as allowed.
+isolated function isRetryableShardError(error err) returns boolean {
+    if err is RateLimitExceededError {
+        return false;
+    }
+    if err is http:ApplicationResponseError {
+        return isRetryableStatusCode(err.detail().statusCode);
+    }
+    if err is ResponseStatusError {
+        return isRetryableStatusCode(err.detail().statusCode);
+    }
+    return err is http:ClientError;
+}
+
+isolated function isRetryableStatusCode(int statusCode) returns boolean =>
+    statusCode == http:STATUS_TOO_MANY_REQUESTS || statusCode >= http:STATUS_INTERNAL_SERVER_ERROR;
+
+isolated class ShardDispatcher {
+    private final EmbeddingShard[] & readonly shards;
+    private int nextShard = 0;
+    private boolean cancelled = false;
+
+    isolated function init(EmbeddingShard[] & readonly shards) {
+        self.shards = shards;
+    }
+
+    isolated function shardCount() returns int => self.shards.length();
+
+    isolated function next() returns EmbeddingShard? {
+        lock {
+            if self.cancelled || self.nextShard >= self.shards.length() {
+                return;
+            }
+            EmbeddingShard shard = self.shards[self.nextShard];
+            self.nextShard += 1;
+            return shard;
+        }
+    }
+
+    // Stops handing out the remaining shards, e.g., once a shard fails.
+    isolated function cancel() {
+        lock {
+            self.cancelled = true;
+        }
+    }
+}
+
+isolated function createEmbeddingShards(string[] input, BatchEmbedConfig batchConfig)
+        returns EmbeddingShard[] & readonly {
+    EmbeddingShard[] shards = [];
+    int shardStart = 0;
+    int shardTokens = 0;
+    foreach int i in 0 ..< input.length() {
+        int tokens = countTokens(input[i]);
+        boolean exceedsBatchSize = i - shardStart >= batchConfig.maxBatchSize;
+        boolean exceedsTokenBudget = shardTokens + tokens > batchConfig.maxTokensPerBatch;
+        if i > shardStart && (exceedsBatchSize || exceedsTokenBudget) {
+            shards.push({offset: shardStart, input: input.slice(shardStart, i).cloneReadOnly()});
+            shardStart = i;
+            shardTokens = 0;
+        }
+        shardTokens += tokens;
+    }
+    shards.push({offset: shardStart, input: input.slice(shardStart).cloneReadOnly()});
+    return shards.cloneReadOnly();
+}
+
+isolated function toEmbeddingsResult(embeddings:CreateEmbeddingResponse response) returns EmbeddingsResult => {
+    model: response.model,
+    promptTokens: response.usage.prompt_tokens,
+    data: from embeddings:CreateEmbeddingResponse_data {index, embedding} in response.data
+        select {index, embedding}
+};
+
+isolated function countInputTokens(string|string[] input) returns int {
+    if input is string {
+        return countTokens(input);
+    }
+    int tokens = 0;
+    foreach string item in input {
+        tokens += countTokens(item);
+    }
+    return tokens;
 }
 
 isolated function isAllTextChunks(ai:Chunk[] chunks) returns boolean {
     return chunks.every(chunk => chunk is ai:TextChunk|ai:TextDocument);
 }
+
+# Quantizes a dense embedding into a compact representation.
+#
+# + embedding - The embedding to quantize
+# + quantization - The quantization to apply
+# + return - The quantized embedding
+public isolated function quantizeEmbedding(ai:Vector embedding, EMBEDDING_QUANTIZATION quantization)
+        returns QuantizedEmbedding {
+    return quantization == INT8 ? quantizeToInt8(embedding) : quantizeToBinary(embedding);
+}
+
+isolated function quantizeDenseEmbedding(ai:Embedding embedding, EMBEDDING_QUANTIZATION quantization)
+        returns QuantizedEmbedding|ai:Error {
+    if embedding !is ai:Vector {
+        return error ai:Error("Only dense vector embeddings can be quantized");
+    }
+    return quantizeEmbedding(embedding, quantization);
+}
+
+isolated function quantizeToInt8(ai:Vector embedding) returns Int8QuantizedEmbedding = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.EmbeddingCodec"
+} external;
+
+isolated function quantizeToBinary(ai:Vector embedding) returns BinaryQuantizedEmbedding = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.EmbeddingCodec"
+} external;
+
+isolated function decodeBase64Embedding(string encoded) returns ai:Vector|ai:Error = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.EmbeddingCodec"
+} external;
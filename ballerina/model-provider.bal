@@ -15,7 +15,7 @@
 // under the License.
 
 import ballerina/ai;
-import ballerina/ai.observe;
+import ballerina/http;
 import ballerina/jballerina.java;
 import ballerinax/openai.chat;
 
@@ -27,9 +27,22 @@ const DEFAULT_TEMPERATURE = 0.7d;
 public isolated distinct client class ModelProvider {
     *ai:ModelProvider;
     private final chat:Client llmClient;
+    private final http:Client httpClient;
     private final OPEN_AI_MODEL_NAMES modelType;
+    private final boolean supportsToolCalls;
+    private final ReActPromptCache reActPromptCache = new;
     private final decimal temperature;
     private final int maxTokens;
+    private final ContextBudget? contextBudget;
+    private final RateLimiter? rateLimiter;
+    private final boolean singleFlight;
+    private final ResponseCache? responseCache;
+    private final ImageUrlCache? imageUrlCache;
+    private final BatchJobConfig & readonly batchJobConfig;
+    private final ObservabilityConfig & readonly observability;
+    private final boolean strictStructuredOutput;
+    private final boolean stableToolOrder;
+    private final string? promptCacheKey;
 
     # Initializes the OpenAI model with the given connection configuration and model configuration.
     #
@@ -38,6 +51,25 @@ public isolated distinct client class ModelProvider {
     # + serviceUrl - The base URL of OpenAI API endpoint
     # + maxTokens - The upper limit for the number of tokens in the response generated by the model
     # + temperature - The temperature for controlling randomness in the model's output  
+    # + contextBudget - Configurations for checking the estimated size of requests against the context window
+    # of the model before they are sent. Requests are not checked if not set
+    # + rateLimit - Configurations for the client-side rate limiter shared by the providers that use the same
+    # API key. Requests are not rate limited on the client side if not set
+    # + singleFlight - Whether concurrent `generate` calls on this provider with the same prompt and expected type
+    # share a single request to the model. Each caller receives its own copy of the generated value
+    # + responseCache - Configurations for caching the values generated by `generate`. Values are not cached if
+    # not set, or if the temperature is higher than the configured maximum temperature
+    # + batchJobConfig - Configurations for the OpenAI Batch API jobs submitted by `bulkGenerate`
+    # + observability - Configurations for the observability spans recorded for the requests
+    # + strictStructuredOutput - Whether `generate` requests the value as a response constrained to the JSON schema
+    # of the expected type with strict structured outputs, instead of as a tool call, for the models that support
+    # them. Types whose schemas cannot be expressed in strict mode, such as maps and tuples, are still requested
+    # as a tool call
+    # + promptCache - Configurations for laying out the requests to maximize the hits of the prompt prefix cache.
+    # If not set, the tools are sent in the order in which they are given and no prompt cache key is sent
+    # + imageUrlCacheSize - The maximum size in bytes of the cache of the `data:` URLs of the image documents
+    # encoded by `generate` and `bulkGenerate`. Each lookup hashes and compares the whole image, hence caching pays
+    # off only for images sent repeatedly. Images are not cached if zero
     # + connectionConfig - Additional HTTP connection configuration
     # + return - `()` on successful initialization; otherwise, returns an `ai:Error`
     public isolated function init(@display {label: "API Key"} string apiKey,
@@ -45,7 +77,18 @@ public isolated distinct client class ModelProvider {
             @display {label: "Service URL"} string serviceUrl = DEFAULT_OPENAI_SERVICE_URL,
             @display {label: "Maximum Tokens"} int maxTokens = DEFAULT_MAX_TOKEN_COUNT,
             @display {label: "Temperature"} decimal temperature = DEFAULT_TEMPERATURE,
+            @display {label: "Context Budget Configuration"} ContextBudgetConfig? contextBudget = (),
+            @display {label: "Rate Limit Configuration"} RateLimitConfig? rateLimit = (),
+            @display {label: "Coalesce Identical Generate Requests"} boolean singleFlight = false,
+            @display {label: "Response Cache Configuration"} ResponseCacheConfig? responseCache = (),
+            @display {label: "Batch Job Configuration"} BatchJobConfig batchJobConfig = {},
+            @display {label: "Observability Configuration"} ObservabilityConfig observability = {},
+            @display {label: "Strict Structured Output"} boolean strictStructuredOutput = false,
+            @display {label: "Prompt Cache Configuration"} PromptCacheConfig? promptCache = (),
+            @display {label: "Image URL Cache Size"} int imageUrlCacheSize = 0,
             @display {label: "Connection Configuration"} *ConnectionConfig connectionConfig) returns ai:Error? {
+        check validateBatchJobConfig(batchJobConfig);
+        check validateObservabilityConfig(observability);
         chat:ClientHttp1Settings?|error http1Settings = connectionConfig?.http1Settings.cloneWithType();
         if http1Settings is error {
             return error ai:Error("Failed to clone http1Settings", http1Settings);
@@ -73,10 +116,30 @@ public isolated distinct client class ModelProvider {
         if llmClient is error {
             return error ai:Error("Failed to initialize OpenAiProvider", llmClient);
         }
+        http:Client|error httpClient = new (serviceUrl, getHttpClientConfig(apiKey, connectionConfig));
+        if httpClient is error {
+            return error ai:Error("Failed to initialize OpenAiProvider", httpClient);
+        }
         self.llmClient = llmClient;
+        self.httpClient = httpClient;
         self.modelType = modelType;
+        self.supportsToolCalls = isToolCallSupported(modelType);
         self.temperature = temperature;
         self.maxTokens = maxTokens;
+        self.contextBudget = contextBudget is ContextBudgetConfig ? {
+                contextWindow: contextBudget.contextWindow ?: getContextWindow(modelType),
+                overflowStrategy: contextBudget.overflowStrategy
+            } : ();
+        self.rateLimiter = rateLimit is RateLimitConfig ? new (apiKey, rateLimit) : ();
+        self.singleFlight = singleFlight;
+        self.responseCache = responseCache is ResponseCacheConfig && temperature <= responseCache.maxTemperature
+            ? responseCache.cache : ();
+        self.imageUrlCache = imageUrlCacheSize > 0 ? new (imageUrlCacheSize) : ();
+        self.batchJobConfig = batchJobConfig.cloneReadOnly();
+        self.observability = observability.cloneReadOnly();
+        self.strictStructuredOutput = strictStructuredOutput && isStructuredOutputSupported(modelType);
+        self.stableToolOrder = promptCache is PromptCacheConfig;
+        self.promptCacheKey = promptCache?.key;
     }
 
     # Sends a chat request to the OpenAI model with the given messages and tools.
@@ -87,31 +150,42 @@ public isolated distinct client class ModelProvider {
     # + return - Function to be called, chat response or an error in-case of failures
     isolated remote function chat(ai:ChatMessage[]|ai:ChatUserMessage messages, ai:ChatCompletionFunctions[] tools,
             string? stop = ()) returns ai:ChatAssistantMessage|ai:Error {
-        observe:ChatSpan span = observe:createChatSpan(self.modelType);
-        span.addProvider("openai");
+        ChatObservation span = new (self.modelType, self.observability);
         if stop is string {
             span.addStopSequence(stop);
         }
         span.addTemperature(self.temperature);
-        json|ai:Error inputMessage = convertMessageToJson(messages);
-        if inputMessage is json {
-            span.addInputMessages(inputMessage);
+        if span.capturesPayloads() {
+            json|ai:Error inputMessage = convertMessageToJson(messages);
+            if inputMessage is json {
+                span.addInputMessages(inputMessage);
+            }
         }
 
+        ai:ChatCompletionFunctions[] requestTools = self.orderTools(tools);
+        [chat:ChatCompletionRequestMessage[], int] [requestMessages, promptTokens] =
+            check self.prepareBudgetedRequestMessages(messages, requestTools);
         chat:CreateChatCompletionRequest request = {
             max_completion_tokens: self.maxTokens,
             temperature: self.temperature,
             stop,
             model: self.modelType,
-            messages: check self.prepareCompletionRequestMessages(messages, tools)
+            messages: requestMessages
         };
-        boolean supportsToolCalls = isToolCallSupported(self.modelType);
-        if supportsToolCalls && tools.length() > 0 {
-            request.functions = tools;
-            span.addTools(tools);
+        if self.supportsToolCalls && requestTools.length() > 0 {
+            // Independent tool calls are requested in a single response, saving a round trip per tool call.
+            request.tools = getChatCompletionTools(requestTools);
+            request.parallel_tool_calls = true;
+            span.addTools(requestTools);
         }
+        setPromptCacheKey(request, self.promptCacheKey);
 
-        chat:CreateChatCompletionResponse|error response = self.llmClient->/chat/completions.post(request);
+        chat:CreateChatCompletionResponse|error response = sendChatCompletionRequest(self.llmClient,
+                self.httpClient, self.rateLimiter, request, promptTokens + self.maxTokens);
+        if response is RateLimitExceededError {
+            span.close(response);
+            return response;
+        }
         if response is error {
             ai:Error err = error ai:LlmConnectionError("Error while connecting to the model", response);
             span.close(err);
@@ -129,6 +203,10 @@ public isolated distinct client class ModelProvider {
         if inputTokens is int {
             span.addInputTokenCount(inputTokens);
         }
+        int? cachedTokens = response.usage?.prompt_tokens_details?.cached_tokens;
+        if cachedTokens is int {
+            span.addCachedInputTokenCount(cachedTokens);
+        }
         int? outputTokens = response.usage?.completion_tokens;
         if outputTokens is int {
             span.addOutputTokenCount(outputTokens);
@@ -143,12 +221,74 @@ public isolated distinct client class ModelProvider {
             span.close(message);
             return message;
         }
-        span.addOutputMessages(message);
-        span.addOutputType(observe:TEXT);
+        span.addOutput(message);
         span.close();
         return message;
     }
 
+    # Sends a streaming chat request to the OpenAI model with the given messages and tools.
+    # Content is delivered incrementally as it is generated. A tool call is delivered as a single delta
+    # once all of its argument fragments are received. For models that do not support tool calls,
+    # the streamed content is the raw ReAct formatted response of the model.
+    #
+    # + messages - List of chat messages or a single user message
+    # + tools - Tool definitions to be used for the tool call
+    # + stop - Stop sequence to stop the completion
+    # + return - Stream of chat completion deltas or an error in-case of failures
+    isolated remote function chatStream(ai:ChatMessage[]|ai:ChatUserMessage messages,
+            ai:ChatCompletionFunctions[] tools, string? stop = ()) returns stream<ChatCompletionDelta, ai:Error?>|ai:Error {
+        ChatObservation span = new (self.modelType, self.observability);
+        if stop is string {
+            span.addStopSequence(stop);
+        }
+        span.addTemperature(self.temperature);
+        if span.capturesPayloads() {
+            json|ai:Error inputMessage = convertMessageToJson(messages);
+            if inputMessage is json {
+                span.addInputMessages(inputMessage);
+            }
+        }
+
+        ai:ChatCompletionFunctions[] requestTools = self.orderTools(tools);
+        [chat:ChatCompletionRequestMessage[], int] [requestMessages, promptTokens] =
+            check self.prepareBudgetedRequestMessages(messages, requestTools);
+        chat:CreateChatCompletionRequest request = {
+            max_completion_tokens: self.maxTokens,
+            temperature: self.temperature,
+            stop,
+            model: self.modelType,
+            messages: requestMessages,
+            'stream: true,
+            stream_options: {
+                include_usage: true
+            }
+        };
+        if self.supportsToolCalls && requestTools.length() > 0 {
+            // Parallel tool calls are disabled, as a tool call is delivered as a single delta.
+            request.tools = getChatCompletionTools(requestTools);
+            request.parallel_tool_calls = false;
+            span.addTools(requestTools);
+        }
+        setPromptCacheKey(request, self.promptCacheKey);
+
+        RateLimiter? rateLimiter = self.rateLimiter;
+        if rateLimiter is RateLimiter {
+            RateLimitExceededError? rateLimitError = rateLimiter.acquire(promptTokens + self.maxTokens);
+            if rateLimitError is RateLimitExceededError {
+                span.close(rateLimitError);
+                return rateLimitError;
+            }
+        }
+        stream<http:SseEvent, error?>|error events = self.sendStreamingRequest(request);
+        if events is error {
+            ai:Error err = error ai:LlmConnectionError("Error while connecting to the model", events);
+            span.close(err);
+            return err;
+        }
+        return new stream<ChatCompletionDelta, ai:Error?>(new ChatCompletionStream(events, span,
+                self.supportsToolCalls ? () : new ReActResponseScanner()));
+    }
+
     # Sends a chat request to the model and generates a value that belongs to the type
     # corresponding to the type descriptor argument.
     #
@@ -159,6 +299,71 @@ public isolated distinct client class ModelProvider {
         'class: "io.ballerina.lib.ai.openai.Generator"
     } external;
 
+    # Generates values for many prompts through the OpenAI Batch API. The requests that `generate` would send
+    # are submitted together as a single batch job, which is cheaper than sending them individually but
+    # completes asynchronously, within 24 hours. This call waits until the job finishes.
+    #
+    # + prompts - The prompts to generate values for
+    # + td - Type descriptor specifying the expected type of each generated value
+    # + return - The generated value or the error of each prompt, in the order of the prompts, or an error
+    # if the batch job fails
+    isolated remote function bulkGenerate(ai:Prompt[] prompts, @display {label: "Expected type"} typedesc<anydata> td = <>)
+            returns (td|ai:Error)[]|ai:Error = @java:Method {
+        'class: "io.ballerina.lib.ai.openai.Generator"
+    } external;
+
+    // The response is received as a whole before its events are read, so that the rate limiter is recalibrated
+    // from its headers.
+    private isolated function sendStreamingRequest(chat:CreateChatCompletionRequest request)
+            returns stream<http:SseEvent, error?>|error {
+        RateLimiter? rateLimiter = self.rateLimiter;
+        if rateLimiter is () {
+            return self.httpClient->post(CHAT_COMPLETIONS_PATH, request);
+        }
+        http:Response response = check self.httpClient->post(CHAT_COMPLETIONS_PATH, request);
+        rateLimiter.recalibrate(response);
+        if response.statusCode >= http:STATUS_MULTIPLE_CHOICES {
+            string|error payload = response.getTextPayload();
+            return error(string `Request failed with status code ${response.statusCode}: ${
+                payload is string ? payload : payload.message()}`);
+        }
+        return response.getSseEventStream();
+    }
+
+    // The tool definitions lead the prompt, hence they are ordered by name so that the prefix of the requests
+    // does not depend on the order in which the tools are given.
+    private isolated function orderTools(ai:ChatCompletionFunctions[] tools) returns ai:ChatCompletionFunctions[] {
+        if !self.stableToolOrder {
+            return tools;
+        }
+        return from ai:ChatCompletionFunctions tool in tools
+            order by tool.name ascending
+            select tool;
+    }
+
+    private isolated function prepareBudgetedRequestMessages(ai:ChatMessage[]|ai:ChatUserMessage messages,
+            ai:ChatCompletionFunctions[] tools) returns [chat:ChatCompletionRequestMessage[], int]|ai:Error {
+        chat:ChatCompletionRequestMessage[] requestMessages = check self.prepareCompletionRequestMessages(messages, tools);
+        ContextBudget? contextBudget = self.contextBudget;
+        if contextBudget is () && self.rateLimiter is () {
+            // The size of the request is estimated only if the budget or the rate limiter uses it.
+            return [requestMessages, 0];
+        }
+        int toolTokens = self.supportsToolCalls && tools.length() > 0 ? countTokens(tools.toJsonString()) : 0;
+        int promptTokens = countMessageTokens(requestMessages.toJson()) + toolTokens;
+        if contextBudget is () {
+            return [requestMessages, promptTokens];
+        }
+        int excessTokens = promptTokens + self.maxTokens - contextBudget.contextWindow;
+        if excessTokens > 0 && contextBudget.overflowStrategy == DROP_CHUNKS {
+            requestMessages = check self.prepareCompletionRequestMessages(
+                    dropChatMessageChunks(messages, excessTokens), tools);
+            promptTokens = countMessageTokens(requestMessages.toJson()) + toolTokens;
+        }
+        check checkContextBudget(promptTokens, self.maxTokens, contextBudget, self.modelType);
+        return [requestMessages, promptTokens];
+    }
+
     private isolated function prepareCompletionRequestMessages(ai:ChatMessage[]|ai:ChatUserMessage messages,
             ai:ChatCompletionFunctions[] tools) returns chat:ChatCompletionRequestMessage[]|ai:Error {
         chat:ChatCompletionRequestMessage[] chatCompletionRequestMessages = [];
@@ -170,10 +375,9 @@ public isolated distinct client class ModelProvider {
             });
             return chatCompletionRequestMessages;
         }
-        boolean supportsToolCalls = isToolCallSupported(self.modelType);
         foreach ai:ChatMessage message in messages {
-            if message is ai:ChatSystemMessage && !supportsToolCalls {
-                string reactPrompt = constructReActPrompt(extractToolInfo(tools),
+            if message is ai:ChatSystemMessage && !self.supportsToolCalls {
+                string reactPrompt = self.reActPromptCache.get(tools,
                         check getChatMessageStringContent(message.content));
                 chatCompletionRequestMessages.push({role: ai:SYSTEM, content: reactPrompt});
             } else if message is ai:ChatAssistantMessage {
@@ -191,6 +395,12 @@ public isolated distinct client class ModelProvider {
                     content: check getChatMessageStringContent(message.content),
                     name: message.name
                 });
+            } else if message is ai:ChatFunctionMessage && self.supportsToolCalls {
+                chatCompletionRequestMessages.push({
+                    role: TOOL,
+                    content: message.content ?: "",
+                    tool_call_id: getToolCallId(message.id, message.name)
+                });
             } else if message is ai:ChatFunctionMessage|ai:ChatAssistantMessage {
                 chatCompletionRequestMessages.push(message);
             }
@@ -201,21 +411,24 @@ public isolated distinct client class ModelProvider {
     private isolated function buildRequestAssistantMessage(ai:ChatAssistantMessage message)
     returns chat:ChatCompletionRequestAssistantMessage {
         chat:ChatCompletionRequestAssistantMessage assistantMessage = {role: ai:ASSISTANT};
-        boolean supportsToolCalls = isToolCallSupported(self.modelType);
         ai:FunctionCall[]? toolCalls = message.toolCalls;
-        if supportsToolCalls && toolCalls is ai:FunctionCall[] {
-            ai:FunctionCall functionCall = toolCalls[0];
-            assistantMessage.function_call = {
-                name: functionCall.name,
-                arguments: functionCall.arguments.toJsonString()
-            };
-        } else if !supportsToolCalls && toolCalls is ai:FunctionCall[] {
+        if self.supportsToolCalls && toolCalls is ai:FunctionCall[] && toolCalls.length() > 0 {
+            assistantMessage.tool_calls = from ai:FunctionCall toolCall in toolCalls
+                select {
+                    id: getToolCallId(toolCall.id, toolCall.name),
+                    'type: FUNCTION,
+                    'function: {
+                        name: toolCall.name,
+                        arguments: (toolCall.arguments ?: {}).toJsonString()
+                    }
+                };
+        } else if !self.supportsToolCalls && toolCalls is ai:FunctionCall[] {
             assistantMessage.content = formatFunctionCallToJsonWithFences(toolCalls[0]);
         }
         string? content = message?.content;
-        if supportsToolCalls && content is string {
+        if self.supportsToolCalls && content is string {
             assistantMessage.content = content;
-        } else if !supportsToolCalls && content is string {
+        } else if !self.supportsToolCalls && content is string {
             assistantMessage.content = formatFinalAnswerToJsonWithFences(content);
         }
         return assistantMessage;
@@ -224,19 +437,17 @@ public isolated distinct client class ModelProvider {
     private isolated function convertResponseToAssistantMessage(chat:ChatCompletionResponseMessage? message)
     returns ai:ChatAssistantMessage|ai:LlmError {
         do {
-            boolean hasToolCallResponse = isToolCallSupported(self.modelType);
             ai:ChatAssistantMessage chatAssistantMessage = {role: ai:ASSISTANT};
-            if hasToolCallResponse {
+            if self.supportsToolCalls {
                 chatAssistantMessage.content = message?.content;
-                chat:ChatCompletionRequestAssistantMessage_function_call? functionCall = message?.function_call;
-                if functionCall is chat:ChatCompletionRequestAssistantMessage_function_call {
-                    json arguments = check functionCall.arguments.fromJsonString();
-                    chatAssistantMessage.toolCalls = [
-                        {
-                            name: functionCall.name,
-                            arguments: check arguments.cloneWithType()
-                        }
-                    ];
+                chat:ChatCompletionMessageToolCall[]? toolCalls = message?.tool_calls;
+                if toolCalls is chat:ChatCompletionMessageToolCall[] && toolCalls.length() > 0 {
+                    ai:FunctionCall[] functionCalls = [];
+                    foreach chat:ChatCompletionMessageToolCall toolCall in toolCalls {
+                        functionCalls.push(check toFunctionCall(toolCall.id, toolCall.'function.name,
+                                toolCall.'function.arguments));
+                    }
+                    chatAssistantMessage.toolCalls = functionCalls;
                 }
                 return chatAssistantMessage;
             }
@@ -254,35 +465,60 @@ public isolated distinct client class ModelProvider {
     }
 }
 
+isolated function getChatCompletionTools(ai:ChatCompletionFunctions[] tools) returns chat:ChatCompletionTool[] {
+    chat:ChatCompletionTool[] chatCompletionTools = [];
+    foreach ai:ChatCompletionFunctions tool in tools {
+        chat:FunctionObject 'function = {name: tool.name, description: tool.description};
+        map<json>? parameters = tool?.parameters;
+        if parameters !is () {
+            'function.parameters = parameters;
+        }
+        chatCompletionTools.push({'type: FUNCTION, 'function});
+    }
+    return chatCompletionTools;
+}
+
+isolated function toFunctionCall(string id, string name, string arguments) returns ai:FunctionCall|error {
+    ai:FunctionCall functionCall = {name, id};
+    if arguments.trim().length() > 0 {
+        functionCall.arguments = check arguments.fromJsonStringWithType();
+    }
+    return functionCall;
+}
+
+// Tool results are correlated with the tool calls by the tool call ID. Tool calls without an ID, such as those of
+// conversations recorded with the function calling API, are correlated by the name of the tool.
+isolated function getToolCallId(string? id, string name) returns string => id ?: name;
+
 isolated function getChatMessageStringContent(ai:Prompt|string prompt) returns string|ai:Error {
     if prompt is string {
         return prompt;
     }
     string[] & readonly strings = prompt.strings;
     anydata[] insertions = prompt.insertions;
-    string promptStr = strings[0];
+    string[] segments = [strings[0]];
     foreach int i in 0 ..< insertions.length() {
         string str = strings[i + 1];
         anydata insertion = insertions[i];
 
         if insertion is ai:TextDocument|ai:TextChunk {
-            promptStr += insertion.content + " " + str;
+            segments.push(insertion.content, " ", str);
             continue;
         }
 
         if insertion is ai:TextDocument[] {
             foreach ai:TextDocument doc in insertion {
-                promptStr += doc.content + " ";
+                segments.push(doc.content, " ");
             }
-            promptStr += str;
+            segments.push(str);
             continue;
         }
 
         if insertion is ai:TextChunk[] {
             foreach ai:TextChunk doc in insertion {
-                promptStr += doc.content + " ";
+                segments.push(doc.content, " ");
             }
-            promptStr += str;
+            segments.push(str);
             continue;
         }
 
@@ -290,9 +526,9 @@ isolated function getChatMessageStringContent(ai:Prompt|string prompt) returns s
             return error ai:Error("Only Text Documents are currently supported.");
         }
 
-        promptStr += insertion.toString() + str;
+        segments.push(insertion is string ? insertion : insertion.toString(), str);
     }
-    return promptStr.trim();
+    return renderPrompt(segments, true);
 }
 
 isolated function convertMessageToJson(ai:ChatMessage[]|ai:ChatMessage messages) returns json|ai:Error {
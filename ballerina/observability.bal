@@ -0,0 +1,290 @@
+// Copyright (c) 2025 WSO2 LLC (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/ai;
+import ballerina/ai.observe;
+import ballerina/jballerina.java;
+import ballerina/log;
+import ballerina/observe as tracing;
+
+const OPENAI_PROVIDER = "openai";
+const CHAT_OPERATION = "chat";
+const GENERATE_CONTENT_OPERATION = "generate_content";
+const CACHE_READ_INPUT_TOKENS_TAG = "gen_ai.usage.cache_read.input_tokens";
+const INPUT_TOKENS_METRIC = "gen_ai_client_input_tokens";
+const CACHE_READ_INPUT_TOKENS_METRIC = "gen_ai_client_cache_read_input_tokens";
+
+// The observations wrap the spans of the `ai.observe` module according to the observability configuration of
+// a provider. No span is created in the `OFF` mode, and the payloads are recorded only if the request is sampled
+// when the observation starts. Callers check `capturesPayloads` before serializing a payload, so that the
+// serialization cost is not incurred for requests whose payloads are not recorded.
+//
+// The input token counts, including the tokens read from the prompt prefix cache, are also recorded as metrics
+// when metrics are enabled, so that the cache hit rate can be monitored.
+
+class ChatObservation {
+    private final observe:ChatSpan? span;
+    private final string modelType;
+    private final boolean capturePayloads;
+
+    isolated function init(string modelType, ObservabilityConfig & readonly config) {
+        self.span = config.mode == OFF ? () : observe:createChatSpan(modelType);
+        self.modelType = modelType;
+        self.capturePayloads = shouldCapturePayloads(config);
+        observe:ChatSpan? span = self.span;
+        if span is observe:ChatSpan {
+            span.addProvider(OPENAI_PROVIDER);
+        }
+    }
+
+    isolated function capturesPayloads() returns boolean => self.capturePayloads;
+
+    isolated function addStopSequence(string stop) {
+        observe:ChatSpan? span = self.span;
+        if span is observe:ChatSpan {
+            span.addStopSequence(stop);
+        }
+    }
+
+    isolated function addTemperature(decimal temperature) {
+        observe:ChatSpan? span = self.span;
+        if span is observe:ChatSpan {
+            span.addTemperature(temperature);
+        }
+    }
+
+    isolated function addInputMessages(json messages) {
+        observe:ChatSpan? span = self.span;
+        if span is observe:ChatSpan && self.capturePayloads {
+            span.addInputMessages(messages);
+        }
+    }
+
+    isolated function addTools(ai:ChatCompletionFunctions[] tools) {
+        observe:ChatSpan? span = self.span;
+        if span is observe:ChatSpan && self.capturePayloads {
+            span.addTools(tools);
+        }
+    }
+
+    isolated function addResponseId(string responseId) {
+        observe:ChatSpan? span = self.span;
+        if span is observe:ChatSpan {
+            span.addResponseId(responseId);
+        }
+    }
+
+    isolated function addInputTokenCount(int count) {
+        observe:ChatSpan? span = self.span;
+        if span is observe:ChatSpan {
+            span.addInputTokenCount(count);
+        }
+        recordTokenMetric(INPUT_TOKENS_METRIC, CHAT_OPERATION, self.modelType, count);
+    }
+
+    isolated function addCachedInputTokenCount(int count) {
+        if self.span is observe:ChatSpan {
+            addCachedInputTokenTag(count);
+        }
+        recordTokenMetric(CACHE_READ_INPUT_TOKENS_METRIC, CHAT_OPERATION, self.modelType, count);
+    }
+
+    isolated function addOutputTokenCount(int count) {
+        observe:ChatSpan? span = self.span;
+        if span is observe:ChatSpan {
+            span.addOutputTokenCount(count);
+        }
+    }
+
+    isolated function addFinishReason(string finishReason) {
+        observe:ChatSpan? span = self.span;
+        if span is observe:ChatSpan {
+            span.addFinishReason(finishReason);
+        }
+    }
+
+    isolated function addOutput(ai:ChatAssistantMessage message) {
+        observe:ChatSpan? span = self.span;
+        if span is () {
+            return;
+        }
+        if self.capturePayloads {
+            span.addOutputMessages(message);
+        }
+        span.addOutputType(observe:TEXT);
+    }
+
+    isolated function close(ai:Error? err = ()) {
+        observe:ChatSpan? span = self.span;
+        if span is observe:ChatSpan {
+            span.close(err);
+        }
+    }
+}
+
+class GenerateContentObservation {
+    private final observe:GenerateContentSpan? span;
+    private final string modelType;
+    private final boolean capturePayloads;
+
+    isolated function init(string modelType, ObservabilityConfig & readonly config) {
+        self.span = config.mode == OFF ? () : observe:createGenerateContentSpan(modelType);
+        self.modelType = modelType;
+        self.capturePayloads = shouldCapturePayloads(config);
+        observe:GenerateContentSpan? span = self.span;
+        if span is observe:GenerateContentSpan {
+            span.addProvider(OPENAI_PROVIDER);
+        }
+    }
+
+    isolated function capturesPayloads() returns boolean => self.capturePayloads;
+
+    isolated function addInputMessages(json messages) {
+        observe:GenerateContentSpan? span = self.span;
+        if span is observe:GenerateContentSpan && self.capturePayloads {
+            span.addInputMessages(messages);
+        }
+    }
+
+    isolated function addResponseId(string responseId) {
+        observe:GenerateContentSpan? span = self.span;
+        if span is observe:GenerateContentSpan {
+            span.addResponseId(responseId);
+        }
+    }
+
+    isolated function addInputTokenCount(int count) {
+        observe:GenerateContentSpan? span = self.span;
+        if span is observe:GenerateContentSpan {
+            span.addInputTokenCount(count);
+        }
+        recordTokenMetric(INPUT_TOKENS_METRIC, GENERATE_CONTENT_OPERATION, self.modelType, count);
+    }
+
+    isolated function addCachedInputTokenCount(int count) {
+        if self.span is observe:GenerateContentSpan {
+            addCachedInputTokenTag(count);
+        }
+        recordTokenMetric(CACHE_READ_INPUT_TOKENS_METRIC, GENERATE_CONTENT_OPERATION, self.modelType, count);
+    }
+
+    isolated function addOutputTokenCount(int count) {
+        observe:GenerateContentSpan? span = self.span;
+        if span is observe:GenerateContentSpan {
+            span.addOutputTokenCount(count);
+        }
+    }
+
+    isolated function addOutput(anydata result) {
+        observe:GenerateContentSpan? span = self.span;
+        if span is () {
+            return;
+        }
+        if self.capturePayloads {
+            span.addOutputMessages(result.toJson());
+        }
+        span.addOutputType(observe:JSON);
+    }
+
+    isolated function close(ai:Error? err = ()) {
+        observe:GenerateContentSpan? span = self.span;
+        if span is observe:GenerateContentSpan {
+            span.close(err);
+        }
+    }
+}
+
+class EmbeddingObservation {
+    private final observe:EmbeddingSpan? span;
+    private final boolean capturePayloads;
+
+    isolated function init(string modelType, ObservabilityConfig & readonly config) {
+        self.span = config.mode == OFF ? () : observe:createEmbeddingSpan(modelType);
+        self.capturePayloads = shouldCapturePayloads(config);
+        observe:EmbeddingSpan? span = self.span;
+        if span is observe:EmbeddingSpan {
+            span.addProvider(OPENAI_PROVIDER);
+        }
+    }
+
+    isolated function capturesPayloads() returns boolean => self.capturePayloads;
+
+    isolated function addInputContent(string|string[] content) {
+        observe:EmbeddingSpan? span = self.span;
+        if span is observe:EmbeddingSpan && self.capturePayloads {
+            span.addInputContent(content);
+        }
+    }
+
+    isolated function addInputTokenCount(int count) {
+        observe:EmbeddingSpan? span = self.span;
+        if span is observe:EmbeddingSpan {
+            span.addInputTokenCount(count);
+        }
+    }
+
+    isolated function addResponseModel(string model) {
+        observe:EmbeddingSpan? span = self.span;
+        if span is observe:EmbeddingSpan {
+            span.addResponseModel(model);
+        }
+    }
+
+    isolated function close(ai:Error? err = ()) {
+        observe:EmbeddingSpan? span = self.span;
+        if span is observe:EmbeddingSpan {
+            span.close(err);
+        }
+    }
+}
+
+// The spans of the `ai.observe` module have no attribute for the tokens read from the prompt prefix cache, hence
+// the count is added as a tag of the active span.
+isolated function addCachedInputTokenTag(int count) {
+    error? result = tracing:addTagToSpan(CACHE_READ_INPUT_TOKENS_TAG, count.toString());
+    if result is error {
+        log:printDebug("Failed to record the cached input token count", result);
+    }
+}
+
+isolated function recordTokenMetric(string name, string operation, string modelType, int count) {
+    if !tracing:isMetricsEnabled() {
+        return;
+    }
+    // Registering a counter that is already registered binds it to the registered counter.
+    string description = name == INPUT_TOKENS_METRIC ? "Number of input tokens sent to the model"
+        : "Number of input tokens read from the prompt prefix cache of the model";
+    tracing:Counter counter = new (name, description, {provider: OPENAI_PROVIDER, operation, model: modelType});
+    error? result = counter.register();
+    if result is error {
+        log:printDebug("Failed to register the token count metric", result);
+        return;
+    }
+    counter.increment(count);
+}
+
+isolated function validateObservabilityConfig(ObservabilityConfig config) returns ai:Error? {
+    if config.payloadSampleRate < 0.0 || config.payloadSampleRate > 1.0 {
+        return error ai:Error("Invalid observability configuration: payload sample rate must be between 0.0 and 1.0");
+    }
+}
+
+isolated function shouldCapturePayloads(ObservabilityConfig config) returns boolean =>
+    config.mode == FULL && tracing:isTracingEnabled() && isSampled(config.payloadSampleRate);
+
+isolated function isSampled(float sampleRate) returns boolean = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.Native"
+} external;
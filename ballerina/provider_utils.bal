@@ -15,9 +15,10 @@
 // under the License.
 
 import ballerina/ai;
-import ballerina/ai.observe;
 import ballerina/constraint;
-import ballerina/lang.array;
+import ballerina/crypto;
+import ballerina/http;
+import ballerina/jballerina.java;
 import ballerinax/openai.chat;
 
 type ResponseSchema record {|
@@ -25,23 +26,80 @@ type ResponseSchema record {|
     boolean isOriginallyJsonObject = true;
 |};
 
+type ToolParameterSchema readonly & ToolSchema;
+
+# Represents the usage statistics of the cache that holds the tool parameter schemas
+# generated for the expected types of `generate` calls.
+public type SchemaCacheStats record {|
+    # Number of lookups served from the cache
+    int hits;
+    # Number of lookups that required generating the schema
+    int misses;
+    # Number of schemas currently held in the cache
+    int size;
+|};
+
 type DocumentContentPart TextContentPart|ImageContentPart;
 
+# Represents the usage statistics of the cache of the `data:` URLs of encoded images.
+type ImageUrlCacheStats record {|
+    # Number of images whose URLs were served from the cache
+    int hits;
+    # Number of images that were encoded
+    int misses;
+    # Number of URLs currently held in the cache
+    int size;
+|};
+
+# A cache of the `data:` URLs of recently encoded image documents, bounded by the total size of the cached
+# images and URLs. The least recently used URLs are evicted once the size is exceeded.
+isolated class ImageUrlCache {
+    # Initializes the image URL cache.
+    #
+    # + maxSizeInBytes - The maximum total size of the cached images and URLs
+    isolated function init(int maxSizeInBytes) {
+        initImageUrlCache(self, maxSizeInBytes);
+    }
+
+    # Returns the usage statistics of the cache.
+    #
+    # + return - The hit, miss, and size counters of the cache
+    isolated function getStats() returns ImageUrlCacheStats => getImageUrlCacheStats(self);
+}
+
 type TextContentPart chat:ChatCompletionRequestMessageContentPartText;
 
 type ImageContentPart chat:ChatCompletionRequestMessageContentPartImage;
 
-const JSON_CONVERSION_ERROR = "FromJsonStringError";
-const CONVERSION_ERROR = "ConversionError";
 const ERROR_MESSAGE = "Error occurred while attempting to parse the response from the " +
     "LLM as the expected type. Retrying and/or validating the prompt could fix the response.";
 const RESULT = "result";
 const GET_RESULTS_TOOL = "getResults";
 const FUNCTION = "function";
+const TOOL = "tool";
 const NO_RELEVANT_RESPONSE_FROM_THE_LLM = "No relevant response from the LLM";
+const CHAT_COMPLETIONS_PATH = "/chat/completions";
+const PROMPT_CACHE_KEY = "prompt_cache_key";
+
+isolated function sendChatCompletionRequest(chat:Client llmClient, http:Client httpClient, RateLimiter? rateLimiter,
+        chat:CreateChatCompletionRequest request, int estimatedTokens) returns chat:CreateChatCompletionResponse|error {
+    if rateLimiter is () {
+        return llmClient->/chat/completions.post(request);
+    }
+    json response = check postWithRateLimit(httpClient, rateLimiter, CHAT_COMPLETIONS_PATH, request, estimatedTokens);
+    return response.cloneWithType();
+}
+
+isolated function getHttpClientConfig(string apiKey, ConnectionConfig connectionConfig)
+        returns http:ClientConfiguration => {
+    auth: {
+        token: apiKey
+    },
+    ...connectionConfig
+};
 
 isolated function generateJsonObjectSchema(map<json> schema) returns ResponseSchema {
-    string[] supportedMetaDataFields = ["$schema", "$id", "$anchor", "$comment", "title", "description"];
+    string[] supportedMetaDataFields = ["$schema", "$id", "$anchor", "$comment", "title", "description", "$defs"];
 
     if schema["type"] == "object" {
         return {schema};
@@ -61,28 +119,55 @@ isolated function generateJsonObjectSchema(map<json> schema) returns ResponseSch
     return {schema: updatedSchema, isOriginallyJsonObject: false};
 }
 
-isolated function parseResponseAsType(string resp,
-        typedesc<anydata> expectedResponseTypedesc, boolean isOriginallyJsonObject) returns anydata|error {
-    if !isOriginallyJsonObject {
-        map<json> respContent = check resp.fromJsonStringWithType();
-        anydata|error result = trap respContent[RESULT].fromJsonWithType(expectedResponseTypedesc);
-        if result is error {
-            return handleParseResponseError(result);
-        }
-        return result;
+isolated function getExpectedResponseSchema(typedesc<anydata> expectedResponseTypedesc) returns ResponseSchema|ai:Error {
+    // Restricted at compile-time for now.
+    typedesc<json> td = checkpanic expectedResponseTypedesc.ensureType();
+    return generateJsonObjectSchema(check generateJsonSchemaForTypedescAsJson(td));
+}
+
+isolated function getToolParameterSchema(typedesc<json> expectedResponseTypedesc)
+        returns ToolParameterSchema|ai:Error {
+    ToolParameterSchema? cachedSchema = getCachedToolParameterSchema(expectedResponseTypedesc);
+    if cachedSchema is ToolParameterSchema {
+        return cachedSchema;
     }
 
-    anydata|error result = resp.fromJsonStringWithType(expectedResponseTypedesc);
-    if result is error {
-        return handleParseResponseError(result);
+    ToolSchema? generatedSchema = expectedResponseTypedesc.@GeneratedToolSchema;
+    if generatedSchema is ToolParameterSchema {
+        cacheToolParameterSchema(expectedResponseTypedesc, generatedSchema);
+        return generatedSchema;
     }
-    return result;
+
+    ResponseSchema responseSchema = check getExpectedResponseSchema(expectedResponseTypedesc);
+    (chat:FunctionParameters & readonly)|error parameters = responseSchema.schema.cloneWithType();
+    if parameters is error {
+        return error("Error in generated schema: " + parameters.message());
+    }
+    ToolParameterSchema schema = {parameters, isOriginallyJsonObject: responseSchema.isOriginallyJsonObject};
+    cacheToolParameterSchema(expectedResponseTypedesc, schema);
+    return schema;
 }
 
-isolated function getExpectedResponseSchema(typedesc<anydata> expectedResponseTypedesc) returns ResponseSchema|ai:Error {
-    // Restricted at compile-time for now.
-    typedesc<json> td = checkpanic expectedResponseTypedesc.ensureType();
-    return generateJsonObjectSchema(check generateJsonSchemaForTypedescAsJson(td));
+# Returns the usage statistics of the tool parameter schema cache.
+#
+# + return - The hit, miss, and size counters of the cache
+public isolated function getSchemaCacheStats() returns SchemaCacheStats = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.ResponseSchemaCache"
+} external;
+
+isolated function getCachedToolParameterSchema(typedesc<anydata> td) returns ToolParameterSchema? = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.ResponseSchemaCache"
+} external;
+
+isolated function cacheToolParameterSchema(typedesc<anydata> td, ToolParameterSchema schema) = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.ResponseSchemaCache"
+} external;
+
+isolated function setPromptCacheKey(chat:CreateChatCompletionRequest request, string? promptCacheKey) {
+    if promptCacheKey is string {
+        // Set as a rest field, as the field is not defined in the request record of the connector.
+        request[PROMPT_CACHE_KEY] = promptCacheKey;
+    }
 }
 
 isolated function getGetResultsToolChoice() returns chat:ChatCompletionNamedToolChoice => {
@@ -92,32 +177,28 @@ isolated function getGetResultsToolChoice() returns chat:ChatCompletionNamedTool
     }
 };
 
-isolated function getGetResultsTool(map<json> parameters) returns chat:ChatCompletionTool[]|ai:Error {
-    chat:FunctionParameters|error toolParams = parameters.cloneWithType();
-    if toolParams is error {
-        return error("Error in generated schema: " + toolParams.message());
-    }
+isolated function getGetResultsTool(chat:FunctionParameters parameters) returns chat:ChatCompletionTool[] {
     return [
         {
             'type: FUNCTION,
             'function: {
                 name: GET_RESULTS_TOOL,
-                parameters: toolParams,
+                parameters,
                 description: "Tool to call with the response from a large language model (LLM) for a user prompt."
             }
         }
     ];
 }
 
-isolated function generateChatCreationContent(ai:Prompt prompt)
+isolated function generateChatCreationContent(ai:Prompt prompt, ImageUrlCache? imageUrlCache = ())
                         returns DocumentContentPart[]|ai:Error {
     string[] & readonly strings = prompt.strings;
     anydata[] insertions = prompt.insertions;
     DocumentContentPart[] contentParts = [];
-    string accumulatedTextContent = "";
+    string[] textSegments = [];
 
     if strings.length() > 0 {
-        accumulatedTextContent += strings[0];
+        textSegments.push(strings[0]);
     }
 
     foreach int i in 0 ..< insertions.length() {
@@ -125,30 +206,31 @@ isolated function generateChatCreationContent(ai:Prompt prompt)
         string str = strings[i + 1];
 
         if insertion is ai:Document|ai:Chunk {
-            addTextContentPart(buildTextContentPart(accumulatedTextContent), contentParts);
-            accumulatedTextContent = "";
-            check addDocumentContentPart(insertion, contentParts);
+            addTextContentPart(buildTextContentPart(renderPrompt(textSegments, false)), contentParts);
+            textSegments.removeAll();
+            check addDocumentContentPart(insertion, contentParts, imageUrlCache);
         } else if insertion is (ai:Document|ai:Chunk)[] {
-            addTextContentPart(buildTextContentPart(accumulatedTextContent), contentParts);
-            accumulatedTextContent = "";
+            addTextContentPart(buildTextContentPart(renderPrompt(textSegments, false)), contentParts);
+            textSegments.removeAll();
             foreach ai:Document|ai:Chunk doc in insertion {
-                check addDocumentContentPart(doc, contentParts);
+                check addDocumentContentPart(doc, contentParts, imageUrlCache);
             }
         } else {
-            accumulatedTextContent += insertion.toString();
+            textSegments.push(insertion is string ? insertion : insertion.toString());
         }
-        accumulatedTextContent += str;
+        textSegments.push(str);
     }
 
-    addTextContentPart(buildTextContentPart(accumulatedTextContent), contentParts);
+    addTextContentPart(buildTextContentPart(renderPrompt(textSegments, false)), contentParts);
     return contentParts;
 }
 
-isolated function addDocumentContentPart(ai:Document|ai:Chunk doc, DocumentContentPart[] contentParts) returns ai:Error? {
+isolated function addDocumentContentPart(ai:Document|ai:Chunk doc, DocumentContentPart[] contentParts,
+        ImageUrlCache? imageUrlCache = ()) returns ai:Error? {
     if doc is ai:TextDocument|ai:TextChunk {
         return addTextContentPart(buildTextContentPart(doc.content), contentParts);
     } else if doc is ai:ImageDocument {
-        return contentParts.push(check buildImageContentPart(doc));
+        return contentParts.push(check buildImageContentPart(doc, imageUrlCache));
     }
 
     return error ai:Error("Only text and image documents are supported.");
@@ -171,15 +253,17 @@ isolated function buildTextContentPart(string content) returns TextContentPart?
     };
 }
 
-isolated function buildImageContentPart(ai:ImageDocument doc) returns ImageContentPart|ai:Error =>
+isolated function buildImageContentPart(ai:ImageDocument doc, ImageUrlCache? imageUrlCache = ())
+        returns ImageContentPart|ai:Error =>
     {
     'type: "image_url",
     image_url: {
-        url: check buildImageUrl(doc.content, doc.metadata?.mimeType)
+        url: check buildImageUrl(doc.content, doc.metadata?.mimeType, imageUrlCache)
     }
 };
 
-isolated function buildImageUrl(ai:Url|byte[] content, string? mimeType) returns string|ai:Error {
+isolated function buildImageUrl(ai:Url|byte[] content, string? mimeType, ImageUrlCache? imageUrlCache = ())
+        returns string|ai:Error {
     if content is ai:Url {
         ai:Url|constraint:Error validationRes = constraint:validate(content);
         if validationRes is error {
@@ -188,56 +272,86 @@ isolated function buildImageUrl(ai:Url|byte[] content, string? mimeType) returns
         return content;
     }
 
-    return string `data:${mimeType ?: "image/*"};base64,${check getBase64EncodedString(content)}`;
+    return encodeImageDataUrl(content, mimeType ?: "image/*", imageUrlCache);
 }
 
-isolated function getBase64EncodedString(byte[] content) returns string|ai:Error {
-    string|error binaryContent = array:toBase64(content);
-    if binaryContent is error {
-        return error("Failed to convert byte array to string: " + binaryContent.message() + ", " +
-                        binaryContent.detail().toBalString());
-    }
-    return binaryContent;
+// Encodes the image as a base64 `data:` URL natively. The URL is served from and added to the cache, if given.
+isolated function encodeImageDataUrl(byte[] content, string mimeType, ImageUrlCache? imageUrlCache)
+        returns string = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.ImageEncoder"
+} external;
+
+isolated function initImageUrlCache(ImageUrlCache cache, int maxSizeInBytes) = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.ImageEncoder"
+} external;
+
+isolated function getImageUrlCacheStats(ImageUrlCache cache) returns ImageUrlCacheStats = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.ImageEncoder"
+} external;
+
+isolated function getGenerateRequestKey(OPEN_AI_MODEL_NAMES modelType, decimal temperature, ai:Prompt prompt,
+        typedesc<json> expectedResponseTypedesc, ImageUrlCache? imageUrlCache = ()) returns string|ai:Error {
+    DocumentContentPart[] content = check generateChatCreationContent(prompt, imageUrlCache);
+    ToolParameterSchema responseSchema = check getToolParameterSchema(expectedResponseTypedesc);
+    return computeGenerateRequestKey(modelType, temperature, responseSchema.parameters, content);
 }
 
-isolated function handleParseResponseError(error chatResponseError) returns error {
-    string msg = chatResponseError.message();
-    if msg.includes(JSON_CONVERSION_ERROR) || msg.includes(CONVERSION_ERROR) {
-        return error(string `${ERROR_MESSAGE}`, chatResponseError);
-    }
-    return chatResponseError;
+isolated function computeGenerateRequestKey(OPEN_AI_MODEL_NAMES modelType, decimal temperature,
+        chat:FunctionParameters parameters, DocumentContentPart[] content) returns string {
+    string requestKey = string:'join("\n", modelType, temperature.toString(), parameters.toJsonString(),
+            content.toJsonString());
+    return crypto:hashSha256(requestKey.toBytes()).toBase16();
 }
 
-isolated function generateLlmResponse(chat:Client llmClient, OPEN_AI_MODEL_NAMES modelType,
-        ai:Prompt prompt, typedesc<json> expectedResponseTypedesc) returns anydata|ai:Error {
-    observe:GenerateContentSpan span = observe:createGenerateContentSpan(modelType);
-    span.addProvider("openai");
+isolated function generateLlmResponse(chat:Client llmClient, http:Client httpClient, RateLimiter? rateLimiter,
+        ResponseCache? responseCache, ImageUrlCache? imageUrlCache, OPEN_AI_MODEL_NAMES modelType,
+        decimal temperature, int maxTokens, ContextBudget? contextBudget, ObservabilityConfig & readonly observability,
+        boolean strictStructuredOutput, string? promptCacheKey, ai:Prompt prompt,
+        typedesc<json> expectedResponseTypedesc) returns anydata|ai:Error {
+    GenerateContentObservation span = new (modelType, observability);
 
     DocumentContentPart[] content;
-    ResponseSchema responseSchema;
-    chat:ChatCompletionTool[] tools;
+    ToolParameterSchema responseSchema;
+    int promptTokens;
     do {
-        content = check generateChatCreationContent(prompt);
-        responseSchema = check getExpectedResponseSchema(expectedResponseTypedesc);
-        tools = check getGetResultsTool(responseSchema.schema);
+        responseSchema = check getToolParameterSchema(expectedResponseTypedesc);
+        [content, promptTokens] = check prepareGenerateContent(prompt, responseSchema, contextBudget, modelType,
+                rateLimiter !is (), imageUrlCache);
     } on fail ai:Error err {
         span.close(err);
         return err;
     }
-
-    chat:CreateChatCompletionRequest request = {
-        messages: [
-            {
-                role: ai:USER,
-                content
+    chat:ResponseFormatJsonSchemaSchema? strictSchema = strictStructuredOutput
+        ? getStrictResponseSchema(expectedResponseTypedesc, responseSchema) : ();
+
+    string? responseCacheKey = ();
+    if responseCache is ResponseCache {
+        string cacheKey = computeGenerateRequestKey(modelType, temperature, responseSchema.parameters, content);
+        string? cachedResponse = responseCache.get(cacheKey);
+        if cachedResponse is string {
+            // A cached response that no longer conforms to the expected type is regenerated.
+            anydata|error cachedResult = bindGeneratedValue(cachedResponse, expectedResponseTypedesc, true);
+            if cachedResult !is error {
+                span.addOutput(cachedResult);
+                span.close();
+                return cachedResult;
             }
-        ],
-        model: modelType,
-        tools,
-        tool_choice: getGetResultsToolChoice()
-    };
-    span.addInputMessages(request.messages.toJson());
-    chat:CreateChatCompletionResponse|error response = llmClient->/chat/completions.post(request);
+        }
+        responseCacheKey = cacheKey;
+    }
+
+    chat:CreateChatCompletionRequest request = buildGenerateRequest(modelType, temperature, content, responseSchema,
+            strictSchema, promptCacheKey);
+    if span.capturesPayloads() {
+        span.addInputMessages(request.messages.toJson());
+    }
+    // As in `chat`, the capacity for the completion is reserved along with the prompt.
+    chat:CreateChatCompletionResponse|error response = sendChatCompletionRequest(llmClient, httpClient, rateLimiter,
+            request, promptTokens + maxTokens);
+    if response is RateLimitExceededError {
+        span.close(response);
+        return response;
+    }
     if response is error {
         ai:Error err = error("LLM call failed: " + response.message(), detail = response.detail(), cause = response.cause());
         span.close(err);
@@ -252,53 +366,129 @@ isolated function generateLlmResponse(chat:Client llmClient, OPEN_AI_MODEL_NAMES
     if inputTokens is int {
         span.addInputTokenCount(inputTokens);
     }
+    int? cachedTokens = response.usage?.prompt_tokens_details?.cached_tokens;
+    if cachedTokens is int {
+        span.addCachedInputTokenCount(cachedTokens);
+    }
     int? outputTokens = response.usage?.completion_tokens;
     if outputTokens is int {
         span.addOutputTokenCount(outputTokens);
     }
 
-    chat:CreateChatCompletionResponse_choices[] choices = response.choices;
-    if choices.length() == 0 {
-        ai:Error err = error("No completion choices");
-        span.close(err);
-        return err;
+    anydata|ai:Error result = extractGeneratedValue(response, expectedResponseTypedesc, responseSchema,
+            strictSchema !is ());
+    if result is ai:Error {
+        span.close(result);
+        return result;
     }
 
-    chat:ChatCompletionResponseMessage? message = choices[0].message;
-    chat:ChatCompletionMessageToolCall[]? toolCalls = message?.tool_calls;
-    if toolCalls is () || toolCalls.length() == 0 {
-        ai:Error err = error(NO_RELEVANT_RESPONSE_FROM_THE_LLM);
-        span.close(err);
-        return err;
+    if responseCache is ResponseCache && responseCacheKey is string {
+        responseCache.put(responseCacheKey, result.toJsonString());
     }
+    span.addOutput(result);
+    span.close();
+    return result;
+}
 
-    chat:ChatCompletionMessageToolCall tool = toolCalls[0];
-    map<json>|error arguments = tool.'function.arguments.fromJsonStringWithType();
-    if arguments is error {
-        ai:Error err = error(NO_RELEVANT_RESPONSE_FROM_THE_LLM);
-        span.close(err);
-        return err;
+// The size of the request is estimated only if the context budget is set or the estimate is requested, e.g.,
+// for the rate limiter. Otherwise, zero is returned as the number of prompt tokens.
+isolated function prepareGenerateContent(ai:Prompt prompt, ToolParameterSchema responseSchema,
+        ContextBudget? contextBudget, OPEN_AI_MODEL_NAMES modelType, boolean estimateTokens = false,
+        ImageUrlCache? imageUrlCache = ()) returns [DocumentContentPart[], int]|ai:Error {
+    DocumentContentPart[] content = check generateChatCreationContent(prompt, imageUrlCache);
+    if contextBudget is () && !estimateTokens {
+        return [content, 0];
+    }
+    int toolTokens = countTokens(responseSchema.parameters.toJsonString());
+    int promptTokens = countMessageTokens([{content: content.toJson()}]) + toolTokens;
+    if contextBudget is () {
+        return [content, promptTokens];
     }
+    int excessTokens = promptTokens - contextBudget.contextWindow;
+    if excessTokens > 0 && contextBudget.overflowStrategy == DROP_CHUNKS {
+        content = check generateChatCreationContent(dropPromptChunks([prompt], excessTokens)[0], imageUrlCache);
+        promptTokens = countMessageTokens([{content: content.toJson()}]) + toolTokens;
+    }
+    check checkContextBudget(promptTokens, 0, contextBudget, modelType);
+    return [content, promptTokens];
+}
 
-    anydata|error res = parseResponseAsType(arguments.toJsonString(), expectedResponseTypedesc,
-            responseSchema.isOriginallyJsonObject);
-    if res is error {
-        ai:Error err = error ai:LlmInvalidGenerationError(string `Invalid value returned from the LLM Client, expected: '${
-            expectedResponseTypedesc.toBalString()}', found '${res.toBalString()}'`);
-        span.close(err);
-        return err;
+// With a strict schema, the value is requested as the content of the response, which is constrained to the
+// schema, instead of as the arguments of a forced tool call. Either way, the schema precedes the prompt, so that
+// the requests for the same expected type share a prefix. The temperature is sent, so that the responses cached
+// for a temperature are sampled at that temperature.
+isolated function buildGenerateRequest(OPEN_AI_MODEL_NAMES modelType, decimal temperature,
+        DocumentContentPart[] content, ToolParameterSchema responseSchema,
+        chat:ResponseFormatJsonSchemaSchema? strictSchema = (), string? promptCacheKey = ())
+        returns chat:CreateChatCompletionRequest {
+    chat:CreateChatCompletionRequest request = {
+        messages: [
+            {
+                role: ai:USER,
+                content
+            }
+        ],
+        model: modelType,
+        temperature
+    };
+    setPromptCacheKey(request, promptCacheKey);
+    if strictSchema !is () {
+        request.response_format = getStrictResponseFormat(strictSchema);
+        return request;
     }
+    request.tools = getGetResultsTool(responseSchema.parameters);
+    request.tool_choice = getGetResultsToolChoice();
+    return request;
+}
 
-    anydata|error result = res.ensureType(expectedResponseTypedesc);
-    if result is error {
-        ai:Error err = error ai:LlmInvalidGenerationError(string `Invalid value returned from the LLM Client, expected: '${
-            expectedResponseTypedesc.toBalString()}', found '${(typeof response).toBalString()}'`);
-        span.close(err);
-        return err;
+isolated function extractGeneratedValue(chat:CreateChatCompletionResponse response,
+        typedesc<json> expectedResponseTypedesc, ToolParameterSchema responseSchema, boolean structuredOutput = false)
+        returns anydata|ai:Error {
+    chat:CreateChatCompletionResponse_choices[] choices = response.choices;
+    if choices.length() == 0 {
+        return error("No completion choices");
     }
 
-    span.addOutputMessages(result.toJson());
-    span.addOutputType(observe:JSON);
-    span.close();
+    chat:ChatCompletionResponseMessage? message = choices[0].message;
+    string generatedValue;
+    if structuredOutput {
+        string? refusal = message?.refusal;
+        if refusal is string {
+            return error ai:LlmInvalidGenerationError("The model refused to generate the value: " + refusal);
+        }
+        string? responseContent = message?.content;
+        if responseContent is () {
+            return error(NO_RELEVANT_RESPONSE_FROM_THE_LLM);
+        }
+        generatedValue = responseContent;
+    } else {
+        chat:ChatCompletionMessageToolCall[]? toolCalls = message?.tool_calls;
+        if toolCalls is () || toolCalls.length() == 0 {
+            return error(NO_RELEVANT_RESPONSE_FROM_THE_LLM);
+        }
+        generatedValue = toolCalls[0].'function.arguments;
+    }
+
+    // The generated value is parsed once, directly into a value of the expected type.
+    anydata|JsonSyntaxError|JsonBindingError result = bindGeneratedValue(generatedValue,
+            expectedResponseTypedesc, responseSchema.isOriginallyJsonObject);
+    if result is JsonSyntaxError {
+        return error(NO_RELEVANT_RESPONSE_FROM_THE_LLM);
+    }
+    if result is JsonBindingError {
+        error res = error(ERROR_MESSAGE, result);
+        return error ai:LlmInvalidGenerationError(string `Invalid value returned from the LLM Client, expected: '${
+            expectedResponseTypedesc.toBalString()}', found '${res.toBalString()}'`);
+    }
     return result;
 }
+
+isolated function bindGeneratedValue(string arguments, typedesc<json> expectedResponseTypedesc,
+        boolean isOriginallyJsonObject) returns anydata|JsonSyntaxError|JsonBindingError = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.ResponseBinder",
+    name: "bind"
+} external;
+
+isolated function renderPrompt(string[] segments, boolean trim) returns string = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.PromptRenderer"
+} external;
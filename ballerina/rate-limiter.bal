@@ -0,0 +1,101 @@
+// Copyright (c) 2025 WSO2 LLC (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/ai;
+import ballerina/crypto;
+import ballerina/http;
+import ballerina/jballerina.java;
+import ballerina/lang.runtime;
+
+const RATE_LIMIT_LIMIT_REQUESTS_HEADER = "x-ratelimit-limit-requests";
+const RATE_LIMIT_LIMIT_TOKENS_HEADER = "x-ratelimit-limit-tokens";
+const RATE_LIMIT_REMAINING_REQUESTS_HEADER = "x-ratelimit-remaining-requests";
+const RATE_LIMIT_REMAINING_TOKENS_HEADER = "x-ratelimit-remaining-tokens";
+const RATE_LIMIT_RESET_REQUESTS_HEADER = "x-ratelimit-reset-requests";
+const RATE_LIMIT_RESET_TOKENS_HEADER = "x-ratelimit-reset-tokens";
+
+isolated class RateLimiter {
+    private final string key;
+    private final RATE_LIMIT_POLICY policy;
+    private final decimal maxWaitTime;
+
+    isolated function init(string apiKey, RateLimitConfig config) {
+        // Limiters are shared by the API key, which is identified by its digest to avoid retaining it.
+        self.key = crypto:hashSha256(apiKey.toBytes()).toBase16();
+        self.policy = config.policy;
+        self.maxWaitTime = config.maxWaitTime;
+        configureRateLimiter(self.key, config.requestsPerMinute, config.tokensPerMinute);
+    }
+
+    isolated function acquire(int estimatedTokens) returns RateLimitExceededError? {
+        decimal waitedTime = 0;
+        while true {
+            decimal waitTime = tryAcquireRateLimit(self.key, estimatedTokens);
+            if waitTime == 0d {
+                return;
+            }
+            if self.policy == REJECT || waitedTime + waitTime > self.maxWaitTime {
+                return error RateLimitExceededError(string `Rate limit exhausted: capacity for the request is available in ${
+                    waitTime} seconds`);
+            }
+            runtime:sleep(waitTime);
+            waitedTime += waitTime;
+        }
+    }
+
+    isolated function recalibrate(http:Response response) {
+        recalibrateRateLimiter(self.key, getHeader(response, RATE_LIMIT_LIMIT_REQUESTS_HEADER),
+                getHeader(response, RATE_LIMIT_LIMIT_TOKENS_HEADER),
+                getHeader(response, RATE_LIMIT_REMAINING_REQUESTS_HEADER),
+                getHeader(response, RATE_LIMIT_REMAINING_TOKENS_HEADER),
+                getHeader(response, RATE_LIMIT_RESET_REQUESTS_HEADER),
+                getHeader(response, RATE_LIMIT_RESET_TOKENS_HEADER));
+    }
+}
+
+# Represents an error response of the OpenAI API to a request sent through the rate limiter.
+type ResponseStatusError distinct error<record {|int statusCode;|}>;
+
+isolated function postWithRateLimit(http:Client httpClient, RateLimiter rateLimiter, string path,
+        anydata request, int estimatedTokens) returns json|error {
+    check rateLimiter.acquire(estimatedTokens);
+    http:Response response = check httpClient->post(path, request);
+    rateLimiter.recalibrate(response);
+    json|error payload = response.getJsonPayload();
+    if response.statusCode >= http:STATUS_MULTIPLE_CHOICES {
+        return error ResponseStatusError(string `Request failed with status code ${response.statusCode}: ${
+            payload is json ? payload.toJsonString() : payload.message()}`, statusCode = response.statusCode);
+    }
+    return payload;
+}
+
+isolated function getHeader(http:Response response, string name) returns string? {
+    string|http:HeaderNotFoundError header = response.getHeader(name);
+    return header is string ? header : ();
+}
+
+isolated function configureRateLimiter(string key, int? requestsPerMinute, int? tokensPerMinute) = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.RateLimiter"
+} external;
+
+isolated function tryAcquireRateLimit(string key, int estimatedTokens) returns decimal = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.RateLimiter"
+} external;
+
+isolated function recalibrateRateLimiter(string key, string? limitRequests, string? limitTokens,
+        string? remainingRequests, string? remainingTokens, string? resetRequests, string? resetTokens) = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.RateLimiter"
+} external;
@@ -15,7 +15,7 @@
 // under the License.
 
 import ballerina/ai;
-import ballerina/lang.regexp;
+import ballerina/jballerina.java;
 import ballerina/log;
 
 const THOUGHT_KEY = "Thought:";
@@ -23,13 +23,8 @@ const BACKTICKS = "```";
 const OBSERVATION_KEY = "Observation";
 const ACTION_KEY = "action";
 const ACTION_INPUT_KEY = "action_input";
-const ACTION_NAME_KEY = "name";
-const ACTION_ARGUEMENTS_KEY = "arguments";
 const FINAL_ANSWER_KEY = "Final Answer";
 
-final string:RegExp ACTION_INPUT_REGEX = re `^action.?input`;
-final string:RegExp FINAL_ANSWER_REGEX = re `^final.?answer`;
-
 isolated function isToolCallSupported(OPEN_AI_MODEL_NAMES model) returns boolean => model != CHATGPT_4O_LATEST;
 
 isolated function constructReActPrompt(ToolInfo toolInfo, string instructions) returns string =>
@@ -72,6 +67,47 @@ Format is Action:${BACKTICKS}$JSON_BLOB${BACKTICKS}then Observation:.
 Beyond the strict instructions listed above, the following rules must be adhered to as well:
 ${instructions}`;
 
+type ReActPrompt readonly & record {|
+    ai:ChatCompletionFunctions[] tools;
+    ToolInfo toolInfo;
+    string instructions;
+    string prompt;
+|};
+
+# Caches the ReAct system prompt rendered for the most recent tool set and instructions, as agents use the
+# same tools for every iteration of the loop.
+isolated class ReActPromptCache {
+    private ReActPrompt? cachedPrompt = ();
+
+    isolated function get(ai:ChatCompletionFunctions[] tools, string instructions) returns string {
+        ReActPrompt? cachedPrompt;
+        lock {
+            cachedPrompt = self.cachedPrompt;
+        }
+        // The tool sets are compared by value, which is cheaper than rendering the tool information again.
+        ToolInfo toolInfo;
+        if cachedPrompt is ReActPrompt && cachedPrompt.tools == tools {
+            if cachedPrompt.instructions == instructions {
+                return cachedPrompt.prompt;
+            }
+            toolInfo = cachedPrompt.toolInfo;
+        } else {
+            toolInfo = extractToolInfo(tools);
+        }
+
+        ReActPrompt reActPrompt = {
+            tools: tools.cloneReadOnly(),
+            toolInfo,
+            instructions,
+            prompt: constructReActPrompt(toolInfo, instructions)
+        };
+        lock {
+            self.cachedPrompt = reActPrompt;
+        }
+        return reActPrompt.prompt;
+    }
+}
+
 isolated function extractToolInfo(ai:ChatCompletionFunctions[] tools) returns ToolInfo {
     string[] toolNameList = [];
     string[] toolIntroList = [];
@@ -93,62 +129,43 @@ isolated function parseReActLlmResponse(string? llmResponse) returns LlmChatResp
     if llmResponse is () {
         return error ai:LlmInvalidGenerationError("Unable to extract the tool due to invalid generation", llmResponse = llmResponse);
     }
-    string normalizedLlmResponse = normalizeLlmResponse(llmResponse);
-    string[] content = regexp:split(re `${BACKTICKS}`, normalizedLlmResponse + "<endtoken>");
-    if content.length() < 3 {
-        log:printWarn("Unexpected LLM response is given", llmResponse = llmResponse);
-        return error ai:LlmInvalidGenerationError("Unable to extract the tool due to invalid generation", llmResponse = llmResponse);
-    }
+    return toReActResponse(parseReActResponse(llmResponse), llmResponse);
+}
 
-    map<json>|error jsonResponse = content[1].fromJsonStringWithType();
-    if jsonResponse is error {
-        log:printWarn("Invalid JSON is given as the action.", jsonResponse);
-        return error ai:LlmInvalidGenerationError("Invalid JSON is given as the action.", jsonResponse, llmResponse = llmResponse);
+isolated function toReActResponse(LlmChatResponse|ai:LlmToolResponse|error response, string llmResponse)
+        returns LlmChatResponse|ai:LlmToolResponse|ai:LlmInvalidGenerationError {
+    if response is error {
+        log:printWarn(response.message(), response.cause(), llmResponse = llmResponse);
+        return error ai:LlmInvalidGenerationError(response.message(), response.cause(), llmResponse = llmResponse);
     }
+    return response;
+}
 
-    map<json> jsonAction = {};
-    foreach [string, json] [key, value] in jsonResponse.entries() {
-        if key.toLowerAscii() == ACTION_KEY {
-            jsonAction[ACTION_NAME_KEY] = value;
-        } else if key.toLowerAscii().matches(ACTION_INPUT_REGEX) {
-            jsonAction[ACTION_ARGUEMENTS_KEY] = value;
-        }
-    }
-    json input = jsonAction[ACTION_ARGUEMENTS_KEY];
-    if jsonAction[ACTION_NAME_KEY].toString().toLowerAscii().matches(FINAL_ANSWER_REGEX) && input is string {
-        return {content: input};
-    }
-    ai:LlmToolResponse|error tool = jsonAction.fromJsonWithType();
-    if tool is error {
-        log:printError("Error while extracting action name and inputs from LLM response.", tool, llmResponse = llmResponse);
-        return error ai:LlmInvalidGenerationError("Generated 'Action' JSON_BLOB contains invalid action name or inputs.",
-        tool, llmResponse = llmResponse);
+isolated function parseReActResponse(string llmResponse) returns LlmChatResponse|ai:LlmToolResponse|error =
+@java:Method {
+    'class: "io.ballerina.lib.ai.openai.ReActResponseParser"
+} external;
+
+# Extracts the ReAct action from the chunks of a streamed response as they are received.
+class ReActResponseScanner {
+    isolated function init() {
+        initReActResponseScanner(self);
     }
 
-    return {
-        name: tool.name,
-        arguments: tool.arguments
-    };
-}
+    isolated function feed(string chunk) = @java:Method {
+        'class: "io.ballerina.lib.ai.openai.ReActResponseParser"
+    } external;
 
-isolated function normalizeLlmResponse(string llmResponse) returns string {
-    string normalizedResponse = llmResponse.trim();
-    if !normalizedResponse.includes(BACKTICKS) {
-        if normalizedResponse.startsWith("{") && normalizedResponse.endsWith("}") {
-            normalizedResponse = string `${BACKTICKS}${normalizedResponse}${BACKTICKS}`;
-        } else {
-            int? jsonStart = normalizedResponse.indexOf("{");
-            int? jsonEnd = normalizedResponse.lastIndexOf("}");
-            if jsonStart is int && jsonEnd is int {
-                normalizedResponse = string `${BACKTICKS}${normalizedResponse.substring(jsonStart, jsonEnd + 1)}${BACKTICKS}`;
-            }
-        }
-    }
-    normalizedResponse = regexp:replace(re `${BACKTICKS}json`, normalizedResponse, BACKTICKS);
-    normalizedResponse = regexp:replaceAll(re `"\{\}"`, normalizedResponse, "{}");
-    return normalizedResponse;
+    isolated function complete() returns LlmChatResponse|ai:LlmToolResponse|error = @java:Method {
+        'class: "io.ballerina.lib.ai.openai.ReActResponseParser"
+    } external;
 }
 
+isolated function initReActResponseScanner(ReActResponseScanner scanner) = @java:Method {
+    name: "init",
+    'class: "io.ballerina.lib.ai.openai.ReActResponseParser"
+} external;
+
 isolated function formatFunctionCallToJsonWithFences(ai:FunctionCall toolCall) returns string =>
 string `${BACKTICKS}json
 {
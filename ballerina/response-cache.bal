@@ -0,0 +1,132 @@
+// Copyright (c) 2025 WSO2 LLC (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/ai;
+import ballerina/jballerina.java;
+
+const DEFAULT_RESPONSE_CACHE_CAPACITY = 1000;
+const DEFAULT_RESPONSE_FILE_CACHE_SIZE = 268435456;
+const decimal DEFAULT_RESPONSE_CACHE_TTL = 604800;
+const decimal MILLISECONDS_PER_SECOND = 1000;
+
+# Represents a cache of the values generated by the `generate` method of the `ModelProvider`.
+# The keys are derived from the model, the temperature, the rendered prompt and the response schema, and the
+# values are the generated values serialized as JSON.
+public type ResponseCache isolated object {
+    # Returns the response cached against the given key.
+    #
+    # + key - The cache key
+    # + return - The cached response, or `()` if there is no live response for the key
+    public isolated function get(string key) returns string?;
+
+    # Caches the response against the given key.
+    #
+    # + key - The cache key
+    # + response - The generated value serialized as JSON
+    public isolated function put(string key, string response);
+};
+
+# Configurations for caching the values generated by the `generate` method of the `ModelProvider`.
+public type ResponseCacheConfig record {|
+    # The cache in which the generated values are stored
+    ResponseCache cache;
+    # The highest model temperature for which responses are cached. Responses of models sampled at a higher
+    # temperature are not expected to be reproducible, hence they are not cached
+    decimal maxTemperature = 0;
+|};
+
+# An in-memory response cache that evicts the least recently used responses once the capacity is reached.
+public isolated class InMemoryResponseCache {
+    *ResponseCache;
+
+    # Initializes the in-memory response cache.
+    #
+    # + capacity - The maximum number of responses held in memory
+    # + ttl - The time (in seconds) for which a response is served from the cache
+    public isolated function init(int capacity = DEFAULT_RESPONSE_CACHE_CAPACITY,
+            decimal ttl = DEFAULT_RESPONSE_CACHE_TTL) {
+        initInMemoryResponseStore(self, capacity, toMilliseconds(ttl));
+    }
+
+    # Returns the response cached against the given key.
+    #
+    # + key - The cache key
+    # + return - The cached response, or `()` if there is no live response for the key
+    public isolated function get(string key) returns string? = @java:Method {
+        'class: "io.ballerina.lib.ai.openai.InMemoryResponseStore"
+    } external;
+
+    # Caches the response against the given key.
+    #
+    # + key - The cache key
+    # + response - The generated value serialized as JSON
+    public isolated function put(string key, string response) = @java:Method {
+        'class: "io.ballerina.lib.ai.openai.InMemoryResponseStore"
+    } external;
+}
+
+# A response cache persisted in an append-only file on the local disk. Expired and least recently used
+# responses are dropped by compacting the file once it grows beyond the configured size.
+public isolated class FileResponseCache {
+    *ResponseCache;
+
+    # Opens the file-backed response cache, creating the file if it does not exist.
+    #
+    # + path - The path of the cache file
+    # + ttl - The time (in seconds) for which a response is served from the cache
+    # + maxSizeInBytes - The size of the cache file beyond which it is compacted
+    # + return - `()` on successful initialization; otherwise, returns an `ai:Error`
+    public isolated function init(string path, decimal ttl = DEFAULT_RESPONSE_CACHE_TTL,
+            int maxSizeInBytes = DEFAULT_RESPONSE_FILE_CACHE_SIZE) returns ai:Error? {
+        return initFileResponseStore(self, path, toMilliseconds(ttl), maxSizeInBytes);
+    }
+
+    # Returns the response cached against the given key.
+    #
+    # + key - The cache key
+    # + return - The cached response, or `()` if there is no live response for the key or it cannot be read
+    public isolated function get(string key) returns string? = @java:Method {
+        'class: "io.ballerina.lib.ai.openai.FileResponseStore"
+    } external;
+
+    # Caches the response against the given key.
+    #
+    # + key - The cache key
+    # + response - The generated value serialized as JSON
+    public isolated function put(string key, string response) = @java:Method {
+        'class: "io.ballerina.lib.ai.openai.FileResponseStore"
+    } external;
+
+    # Closes the underlying cache file.
+    #
+    # + return - `()` on success; otherwise, returns an `ai:Error`
+    public isolated function close() returns ai:Error? = @java:Method {
+        'class: "io.ballerina.lib.ai.openai.FileResponseStore"
+    } external;
+}
+
+isolated function toMilliseconds(decimal seconds) returns int => <int>(seconds * MILLISECONDS_PER_SECOND);
+
+isolated function initInMemoryResponseStore(InMemoryResponseCache cache, int capacity, int ttlMillis) = @java:Method {
+    name: "init",
+    'class: "io.ballerina.lib.ai.openai.InMemoryResponseStore"
+} external;
+
+isolated function initFileResponseStore(FileResponseCache cache, string path, int ttlMillis,
+        int maxSizeInBytes) returns ai:Error? = @java:Method {
+    name: "init",
+    'class: "io.ballerina.lib.ai.openai.FileResponseStore"
+} external;
@@ -0,0 +1,203 @@
+// Copyright (c) 2025 WSO2 LLC (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerinax/openai.chat;
+
+const JSON_SCHEMA = "json_schema";
+const NULL = "null";
+const TYPE = "type";
+const OBJECT = "object";
+const PROPERTIES = "properties";
+const REQUIRED = "required";
+const ADDITIONAL_PROPERTIES = "additionalProperties";
+const ITEMS = "items";
+const ANY_OF = "anyOf";
+const ONE_OF = "oneOf";
+const DEFS = "$defs";
+const ENUM = "enum";
+const PREFIX_ITEMS = "prefixItems";
+
+final readonly & OPEN_AI_MODEL_NAMES[] STRUCTURED_OUTPUT_MODELS = [
+    GPT_4O, GPT_4O_2024_11_20, GPT_4O_2024_08_06, GPT_4O_MINI, GPT_4O_MINI_2024_07_18, O1, O1_2024_12_17,
+    GPT_4_1, GPT_4_1_2025_04_14, GPT_4_1_MINI, GPT_4_1_MINI_2025_04_14, GPT_4_1_NANO, GPT_4_1_NANO_2025_04_14
+];
+
+// Validation keywords that are not supported in strict mode. They are dropped, as the generated value is
+// bound to the expected type regardless.
+final readonly & string[] STRICT_UNSUPPORTED_KEYWORDS = [
+    "minLength", "maxLength", "pattern", "format", "minimum", "maximum", "exclusiveMinimum", "exclusiveMaximum",
+    "multipleOf", "minItems", "maxItems", "uniqueItems", "contains", "minProperties", "maxProperties",
+    "patternProperties", "propertyNames", "default"
+];
+
+type StrictResponseSchema readonly & record {|
+    # The schema normalized for strict structured outputs, or `()` if the schema cannot be expressed in
+    # strict mode
+    chat:ResponseFormatJsonSchemaSchema? schema;
+|};
+
+isolated function isStructuredOutputSupported(OPEN_AI_MODEL_NAMES model) returns boolean =>
+    STRUCTURED_OUTPUT_MODELS.indexOf(model) is int;
+
+isolated function getStrictResponseSchema(typedesc<json> expectedResponseTypedesc,
+        ToolParameterSchema responseSchema) returns chat:ResponseFormatJsonSchemaSchema? {
+    StrictResponseSchema? cachedSchema = getCachedStrictResponseSchema(expectedResponseTypedesc);
+    if cachedSchema is StrictResponseSchema {
+        return cachedSchema.schema;
+    }
+
+    (chat:ResponseFormatJsonSchemaSchema & readonly)? strictSchema = ();
+    map<json>|error parameters = responseSchema.parameters.cloneWithType();
+    if parameters is map<json> {
+        map<json> schema = map from var [key, value] in parameters.entries()
+            select [key, value];
+        if !responseSchema.isOriginallyJsonObject {
+            // The value of a type that is not an object is always returned in the `result` property.
+            schema[REQUIRED] = [RESULT];
+        }
+        map<json>? normalizedSchema = normalizeStrictSchema(schema);
+        if normalizedSchema is map<json> && normalizedSchema[TYPE] == OBJECT {
+            (chat:ResponseFormatJsonSchemaSchema & readonly)|error convertedSchema = normalizedSchema.cloneWithType();
+            strictSchema = convertedSchema is error ? () : convertedSchema;
+        }
+    }
+    cacheStrictResponseSchema(expectedResponseTypedesc, {schema: strictSchema});
+    return strictSchema;
+}
+
+isolated function getStrictResponseFormat(chat:ResponseFormatJsonSchemaSchema schema)
+        returns chat:ResponseFormatJsonSchema => {
+    'type: JSON_SCHEMA,
+    json_schema: {
+        name: GET_RESULTS_TOOL,
+        schema,
+        strict: true
+    }
+};
+
+// Strict structured outputs require all the properties of an object to be required, and additional properties
+// to be disallowed. Optional properties are made nullable instead. `()` is returned for schemas that cannot be
+// expressed in strict mode, such as those of maps, tuples and `json` values.
+isolated function normalizeStrictSchema(map<json> schema) returns map<json>? {
+    json schemaType = schema[TYPE];
+    if schemaType is json[] && schemaType.indexOf(OBJECT) is int {
+        // Objects that are one of several types, such as `json` values, are not described by their properties.
+        return;
+    }
+    map<json> normalized = {};
+    foreach [string, json] [keyword, value] in schema.entries() {
+        match keyword {
+            PROPERTIES|REQUIRED|ADDITIONAL_PROPERTIES => {
+                // Normalized along with the object, below.
+            }
+            ITEMS => {
+                map<json>? items = value is map<json> ? normalizeStrictSchema(value) : ();
+                if items is () {
+                    return;
+                }
+                normalized[ITEMS] = items;
+            }
+            ANY_OF|ONE_OF => {
+                if value !is json[] {
+                    return;
+                }
+                json[] members = [];
+                foreach json member in value {
+                    map<json>? normalizedMember = member is map<json> ? normalizeStrictSchema(member) : ();
+                    if normalizedMember is () {
+                        return;
+                    }
+                    members.push(normalizedMember);
+                }
+                // `oneOf` is not supported in strict mode, and the members generated for Ballerina unions
+                // are alternatives that `anyOf` describes as well.
+                normalized[ANY_OF] = members;
+            }
+            DEFS => {
+                if value !is map<json> {
+                    return;
+                }
+                map<json> definitions = {};
+                foreach [string, json] [name, definition] in value.entries() {
+                    map<json>? normalizedDefinition = definition is map<json> ? normalizeStrictSchema(definition) : ();
+                    if normalizedDefinition is () {
+                        return;
+                    }
+                    definitions[name] = normalizedDefinition;
+                }
+                normalized[DEFS] = definitions;
+            }
+            PREFIX_ITEMS => {
+                return;
+            }
+            _ => {
+                if STRICT_UNSUPPORTED_KEYWORDS.indexOf(keyword) is () {
+                    normalized[keyword] = value;
+                }
+            }
+        }
+    }
+    return schema[TYPE] == OBJECT || schema.hasKey(PROPERTIES) ? normalizeStrictObjectSchema(schema, normalized)
+        : normalized;
+}
+
+isolated function normalizeStrictObjectSchema(map<json> schema, map<json> normalized) returns map<json>? {
+    json properties = schema[PROPERTIES];
+    if properties !is map<json> {
+        // The values of maps are not declared as properties, and strict mode disallows undeclared properties.
+        return;
+    }
+    json requiredProperties = schema[REQUIRED];
+    map<json> normalizedProperties = {};
+    foreach [string, json] [name, property] in properties.entries() {
+        map<json>? normalizedProperty = property is map<json> ? normalizeStrictSchema(property) : ();
+        if normalizedProperty is () {
+            return;
+        }
+        boolean isRequired = requiredProperties is json[] && requiredProperties.indexOf(name) is int;
+        normalizedProperties[name] = isRequired ? normalizedProperty : makeNullable(normalizedProperty);
+    }
+    normalized[PROPERTIES] = normalizedProperties;
+    normalized[REQUIRED] = properties.keys();
+    normalized[ADDITIONAL_PROPERTIES] = false;
+    return normalized;
+}
+
+isolated function makeNullable(map<json> schema) returns map<json> {
+    json schemaType = schema[TYPE];
+    if schemaType == NULL || (schemaType is json[] && schemaType.indexOf(NULL) is int) {
+        return schema;
+    }
+    if schemaType is string {
+        map<json> nullableSchema = schema.clone();
+        nullableSchema[TYPE] = [schemaType, NULL];
+        json enumValues = schema[ENUM];
+        if enumValues is json[] {
+            nullableSchema[ENUM] = [...enumValues, ()];
+        }
+        return nullableSchema;
+    }
+    return {[ANY_OF]: [schema, {[TYPE]: NULL}]};
+}
+
+isolated function getCachedStrictResponseSchema(typedesc<anydata> td) returns StrictResponseSchema? = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.ResponseSchemaCache"
+} external;
+
+isolated function cacheStrictResponseSchema(typedesc<anydata> td, StrictResponseSchema schema) = @java:Method {
+    'class: "io.ballerina.lib.ai.openai.ResponseSchemaCache"
+} external;
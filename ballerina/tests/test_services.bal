@@ -15,9 +15,16 @@
 // under the License.
 
 import ballerina/http;
+import ballerina/lang.runtime;
+import ballerina/mime;
 import ballerina/test;
 import ballerinax/openai.chat;
 
+isolated map<string> testBatchFiles = {};
+isolated map<json> testBatches = {};
+isolated int singleFlightRequestCount = 0;
+isolated map<int> failingEmbeddingRequestCounts = {};
+
 service /llm on new http:Listener(8080) {
     // Change the payload type to JSON due to https://github.com/ballerina-platform/ballerina-library/issues/8048.
     resource function post openai/chat/completions(@http:Payload json payload)
@@ -51,4 +58,227 @@ service /llm on new http:Listener(8080) {
                 string `Test failed for prompt with initial content, ${initialText}`);
         return getTestServiceResponse(initialText);
     }
+
+    resource function post streaming/chat/completions(@http:Payload json payload)
+                returns stream<http:SseEvent, error?>|error {
+        test:assertEquals(payload.model, GPT_4O);
+        test:assertEquals(payload.'stream, true);
+        chat:ChatCompletionRequestMessage[] messages = check (check payload.messages).fromJsonWithType();
+        string content = check messages[messages.length() - 1]["content"].ensureType();
+        return getTestStreamingResponse(content).toStream();
+    }
+
+    resource function post tools/chat/completions(@http:Payload json payload)
+                returns chat:CreateChatCompletionResponse|error {
+        test:assertEquals(payload.model, GPT_4O);
+        json[] messages = check (check payload.messages).ensureType();
+        json lastMessageRole = check messages[messages.length() - 1].role;
+        if lastMessageRole == "user" {
+            test:assertEquals(payload.parallel_tool_calls, true);
+            json[] tools = check (check payload.tools).ensureType();
+            test:assertEquals(tools.length(), 2);
+            return getTestParallelToolCallsResponse();
+        }
+
+        json assistantMessage = messages[messages.length() - 4];
+        test:assertEquals(check assistantMessage.tool_calls, getTestParallelToolCalls().toJson());
+        foreach int i in 1 ... 3 {
+            json toolMessage = messages[messages.length() - 4 + i];
+            test:assertEquals(check toolMessage.role, "tool");
+            test:assertEquals(check toolMessage.tool_call_id, string `call-${i}`);
+        }
+        return getTestFinalAnswerResponse("Colombo is sunny, Kandy is rainy and Galle is cloudy.");
+    }
+
+    resource function post singleflight/chat/completions(@http:Payload json payload)
+                returns chat:CreateChatCompletionResponse|error {
+        lock {
+            singleFlightRequestCount += 1;
+        }
+        // The response is delayed, so that the concurrent calls are made while the request is in flight.
+        runtime:sleep(0.5);
+        json[] messages = check (check payload.messages).ensureType();
+        json[] content = check (check messages[0].content).ensureType();
+        string initialText = check (check content[0].text).ensureType();
+        return getTestServiceResponse(initialText);
+    }
+
+    resource function post promptcache/chat/completions(@http:Payload json payload)
+                returns chat:CreateChatCompletionResponse|error {
+        test:assertEquals(payload.prompt_cache_key, "weather-agent");
+        json[] tools = check (check payload.tools).ensureType();
+        json[] toolNames = from json tool in tools select check tool.'function.name;
+        test:assertEquals(toolNames, ["getTime", "getWeather"]);
+        chat:CreateChatCompletionResponse response = getTestFinalAnswerResponse("It is sunny in Colombo.");
+        response.usage = {
+            prompt_tokens: 2048,
+            completion_tokens: 8,
+            total_tokens: 2056,
+            prompt_tokens_details: {cached_tokens: 1920}
+        };
+        return response;
+    }
+
+    // Models strict structured outputs, which conform to the schema, and forced tool calls, whose arguments
+    // may not conform to the schema.
+    resource function post strict/chat/completions(@http:Payload json payload)
+                returns chat:CreateChatCompletionResponse|error {
+        json|error responseFormat = payload.response_format;
+        if responseFormat is error || responseFormat is () {
+            test:assertTrue(payload.tools is json[]);
+            return getTestServiceResponse("Describe the stocked product");
+        }
+        test:assertTrue(payload.tools is error);
+        test:assertEquals(check responseFormat.'type, "json_schema");
+        test:assertEquals(check responseFormat.json_schema.strict, true);
+        test:assertEquals(check responseFormat.json_schema.schema, expectedStrictStockedProductSchema);
+        return getTestFinalAnswerResponse(string `{"name": "Lamp", "count": null}`);
+    }
+
+    resource function post openai/embeddings(@http:Payload json payload) returns json|error {
+        json inputPayload = check payload.input;
+        string[] input = inputPayload is string ? [inputPayload] : check inputPayload.cloneWithType();
+        test:assertTrue(input.length() <= EMBEDDING_TEST_BATCH_SIZE,
+                string `expected at most ${EMBEDDING_TEST_BATCH_SIZE} inputs per request, found ${input.length()}`);
+        json|error dimensions = payload.dimensions;
+        return getTestEmbeddingResponse(input, payload.encoding_format is BASE64, dimensions is int ? dimensions : ());
+    }
+
+    // Rejects the inputs starting with `invalid`, and fails the first request for the inputs starting with
+    // `unavailable`.
+    resource function post failing/embeddings(@http:Payload json payload)
+                returns json|http:BadRequest|http:ServiceUnavailable|error {
+        json inputPayload = check payload.input;
+        string[] input = inputPayload is string ? [inputPayload] : check inputPayload.cloneWithType();
+        int requestCount;
+        lock {
+            requestCount = (failingEmbeddingRequestCounts[input[0]] ?: 0) + 1;
+            failingEmbeddingRequestCounts[input[0]] = requestCount;
+        }
+        if input[0].startsWith("invalid") {
+            return <http:BadRequest>{body: {'error: {message: "Invalid input"}}};
+        }
+        if input[0].startsWith("unavailable") && requestCount == 1 {
+            return <http:ServiceUnavailable>{body: {'error: {message: "Service unavailable"}}};
+        }
+        return getTestEmbeddingResponse(input);
+    }
+
+    resource function post ratelimited/[string reset]/embeddings(@http:Payload json payload)
+                returns http:Response|error {
+        json inputPayload = check payload.input;
+        string[] input = inputPayload is string ? [inputPayload] : check inputPayload.cloneWithType();
+        http:Response response = new;
+        response.setJsonPayload(getTestEmbeddingResponse(input));
+        response.setHeader("x-ratelimit-limit-requests", "60");
+        response.setHeader("x-ratelimit-remaining-requests", "0");
+        response.setHeader("x-ratelimit-reset-requests", reset);
+        return response;
+    }
+
+    // Reports a limit higher than the limits configured in the tests, with capacity remaining.
+    resource function post orglimited/embeddings(@http:Payload json payload) returns http:Response|error {
+        json inputPayload = check payload.input;
+        string[] input = inputPayload is string ? [inputPayload] : check inputPayload.cloneWithType();
+        http:Response response = new;
+        response.setJsonPayload(getTestEmbeddingResponse(input));
+        response.setHeader("x-ratelimit-limit-requests", "10000");
+        response.setHeader("x-ratelimit-remaining-requests", "9999");
+        response.setHeader("x-ratelimit-reset-requests", "6ms");
+        return response;
+    }
+
+    resource function post batch/files(http:Request request) returns json|error {
+        string? purpose = ();
+        string? content = ();
+        foreach mime:Entity part in check request.getBodyParts() {
+            string name = part.getContentDisposition().name;
+            if name == "purpose" {
+                purpose = check part.getText();
+            } else if name == "file" {
+                content = check string:fromBytes(check part.getByteArray());
+            }
+        }
+        test:assertEquals(purpose, "batch");
+        if content is () {
+            test:assertFail("No batch file in the payload");
+        }
+        return {id: storeTestBatchFile(content), 'object: "file", purpose: "batch"};
+    }
+
+    resource function post batch/batches(@http:Payload json payload) returns json|error {
+        string inputFileId = check payload.input_file_id;
+        string endpoint = check payload.endpoint;
+        test:assertEquals(payload.completion_window, "24h");
+        string input;
+        lock {
+            input = testBatchFiles.get(inputFileId);
+        }
+        [string, string] [output, errors] = check processTestBatch(endpoint, input);
+        string batchId = string `batch-${inputFileId}`;
+        json batch = {
+            id: batchId,
+            'object: "batch",
+            endpoint,
+            status: "completed",
+            output_file_id: storeTestBatchFile(output),
+            error_file_id: storeTestBatchFile(errors)
+        };
+        lock {
+            testBatches[batchId] = batch.cloneReadOnly();
+        }
+        return {id: batchId, 'object: "batch", endpoint, status: "validating"};
+    }
+
+    resource function get batch/batches/[string batchId]() returns json {
+        lock {
+            return testBatches.get(batchId).clone();
+        }
+    }
+
+    resource function get batch/files/[string fileId]/content() returns string {
+        lock {
+            return testBatchFiles.get(fileId);
+        }
+    }
+}
+
+isolated function storeTestBatchFile(string content) returns string {
+    lock {
+        string fileId = string `file-${testBatchFiles.length()}`;
+        testBatchFiles[fileId] = content;
+        return fileId;
+    }
+}
+
+isolated function processTestBatch(string endpoint, string input) returns [string, string]|error {
+    string[] outputLines = [];
+    string[] errorLines = [];
+    foreach string line in re `\n`.split(input) {
+        json request = check line.fromJsonString();
+        string customId = check request.custom_id;
+        test:assertEquals(request.url, endpoint);
+        json body = check request.body;
+        json response;
+        if endpoint == "/v1/embeddings" {
+            json inputPayload = check body.input;
+            string[] embeddingInput = inputPayload is string ? [inputPayload] : check inputPayload.cloneWithType();
+            response = {status_code: 200, body: getTestEmbeddingResponse(embeddingInput)};
+        } else {
+            chat:ChatCompletionRequestMessage[] messages = check (check body.messages).fromJsonWithType();
+            TextContentPart[] content = check messages[0]["content"].cloneWithType();
+            string text = content[0].text;
+            if getTheMockLLMResult(text) == "INVALID" {
+                errorLines.push({
+                    custom_id: customId,
+                    response: {status_code: 400, body: {'error: {message: "Unsupported prompt"}}}
+                }.toJsonString());
+                continue;
+            }
+            response = {status_code: 200, body: getTestServiceResponse(text).toJson()};
+        }
+        // Insert the results in the reverse order to verify that they are correlated by the custom ID.
+        outputLines.unshift({custom_id: customId, response, 'error: ()}.toJsonString());
+    }
+    return [string:'join("\n", ...outputLines), string:'join("\n", ...errorLines)];
 }
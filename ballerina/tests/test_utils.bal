@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/http;
 import ballerinax/openai.chat;
 
 isolated function getExpectedParameterSchema(string message) returns map<json> {
@@ -61,6 +62,10 @@ isolated function getExpectedParameterSchema(string message) returns map<json> {
         return expectedParameterSchemaStringForRateBlog;
     }
 
+    if message.startsWith("Describe the stocked product") {
+        return string `{"name": "Lamp", "count": "two"}`;
+    }
+
     if message.startsWith("Which country") {
         return expectedParamterSchemaStringForCountry;
     }
@@ -295,6 +300,44 @@ isolated function getTestServiceResponse(string content) returns chat:CreateChat
     ]
 };
 
+isolated function getTestParallelToolCalls() returns chat:ChatCompletionMessageToolCall[] => [
+    {id: "call-1", 'type: "function", 'function: {name: "getWeather", arguments: "{\"city\": \"Colombo\"}"}},
+    {id: "call-2", 'type: "function", 'function: {name: "getWeather", arguments: "{\"city\": \"Kandy\"}"}},
+    {id: "call-3", 'type: "function", 'function: {name: "getWeather", arguments: "{\"city\": \"Galle\"}"}}
+];
+
+isolated function getTestParallelToolCallsResponse() returns chat:CreateChatCompletionResponse =>
+    {
+    id: "test-id",
+    'object: "chat.completion",
+    created: 1234567890,
+    model: "gpt-4o",
+    choices: [
+        {
+            finish_reason: "tool_calls",
+            index: 0,
+            logprobs: (),
+            message: {content: (), refusal: (), role: "assistant", tool_calls: getTestParallelToolCalls()}
+        }
+    ]
+};
+
+isolated function getTestFinalAnswerResponse(string content) returns chat:CreateChatCompletionResponse =>
+    {
+    id: "test-id",
+    'object: "chat.completion",
+    created: 1234567890,
+    model: "gpt-4o",
+    choices: [
+        {
+            finish_reason: "stop",
+            index: 0,
+            logprobs: (),
+            message: {content, refusal: (), role: "assistant"}
+        }
+    ]
+};
+
 isolated function getExpectedContentParts(string message) returns map<anydata>[] {
     if message.startsWith("Rate this blog") {
         return expectedContentPartsForRateBlog;
@@ -527,3 +570,45 @@ isolated function getExpectedContentParts(string message) returns map<anydata>[]
         }
     ];
 }
+
+isolated function getTestStreamingResponse(string content) returns http:SseEvent[] {
+    if content.startsWith("What is the weather") {
+        return [
+            {data: string `{"id": "test-id", "choices": [{"index": 0, "delta": {"role": "assistant", "tool_calls": [{"index": 0, "id": "call-weather", "type": "function", "function": {"name": "getWeather", "arguments": ""}}]}}]}`},
+            {data: string `{"id": "test-id", "choices": [{"index": 0, "delta": {"tool_calls": [{"index": 0, "function": {"arguments": "{\"city\": "}}]}}]}`},
+            {data: string `{"id": "test-id", "choices": [{"index": 0, "delta": {"tool_calls": [{"index": 0, "function": {"arguments": "\"Colombo\"}"}}]}}]}`},
+            {data: string `{"id": "test-id", "choices": [{"index": 0, "delta": {}, "finish_reason": "tool_calls"}]}`},
+            {data: string `{"id": "test-id", "choices": [], "usage": {"prompt_tokens": 20, "completion_tokens": 8}}`},
+            {data: "[DONE]"}
+        ];
+    }
+
+    return [
+        {data: string `{"id": "test-id", "choices": [{"index": 0, "delta": {"role": "assistant", "content": ""}}]}`},
+        {data: string `{"id": "test-id", "choices": [{"index": 0, "delta": {"content": "Hello"}}]}`},
+        {data: string `{"id": "test-id", "choices": [{"index": 0, "delta": {"content": " there!"}}]}`},
+        {data: string `{"id": "test-id", "choices": [{"index": 0, "delta": {}, "finish_reason": "stop"}]}`},
+        {data: string `{"id": "test-id", "choices": [], "usage": {"prompt_tokens": 10, "completion_tokens": 3}}`},
+        {data: "[DONE]"}
+    ];
+}
+
+isolated function getTestEmbeddingResponse(string[] input, boolean base64Encoded = false, int? dimensions = ())
+        returns json {
+    json[] data = [];
+    // Return the embeddings in the reverse order to verify that they are correlated by index.
+    foreach int i in int:range(input.length() - 1, -1, -1) {
+        float[] testEmbedding = getTestEmbedding(input[i]);
+        json embedding = base64Encoded ? base64EncodedEmbedding
+            : dimensions is int ? testEmbedding.slice(0, dimensions) : testEmbedding;
+        data.push({'object: "embedding", index: i, embedding});
+    }
+    return {
+        'object: "list",
+        data,
+        model: TEXT_EMBEDDING_3_SMALL,
+        usage: {prompt_tokens: input.length(), total_tokens: input.length()}
+    };
+}
+
+isolated function getTestEmbedding(string content) returns float[] => [<float>content.length(), 0.5, -0.5];
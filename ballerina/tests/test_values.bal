@@ -45,6 +45,8 @@ const blog2 = {
 
 final byte[] sampleBinaryData = [137, 80, 78, 71, 13, 10, 26, 10];
 final string sampleBase64Str = array:toBase64(sampleBinaryData);
+// Little-endian float32 values of [1.0, 0.5, -0.5]
+const base64EncodedEmbedding = "AACAPwAAAD8AAAC/";
 const sampleImageUrl = "https://example.com/image.jpg";
 
 const review = "{\"rating\": 8, \"comment\": \"Talks about essential aspects of sports performance " +
@@ -410,3 +412,13 @@ final readonly & map<anydata>[] expectedContentPartsForTextChunkArray = [
     },
     {"type": "text", "text": ". Thank you!"}
 ];
+
+const expectedStrictStockedProductSchema = {
+    "type": "object",
+    "properties": {
+        "name": {"type": "string"},
+        "count": {"type": ["integer", "null"]}
+    },
+    "required": ["name", "count"],
+    "additionalProperties": false
+};
@@ -15,14 +15,15 @@
 // under the License.
 
 import ballerina/ai;
+import ballerina/lang.runtime;
 import ballerina/test;
+import ballerina/time;
 
 const SERVICE_URL = "http://localhost:8080/llm/openai";
 const DEPLOYMENT_ID = "gpt4onew";
 const API_VERSION = "2023-08-01-preview";
 const API_KEY = "not-a-real-api-key";
 const ERROR_MESSAGE = "Error occurred while attempting to parse the response from the LLM as the expected type. Retrying and/or validating the prompt could fix the response.";
-const RUNTIME_SCHEMA_NOT_SUPPORTED_ERROR_MESSAGE = "Runtime schema generation is not yet supported";
 
 final ModelProvider provider = check new (API_KEY, GPT_4O, SERVICE_URL);
 
@@ -216,16 +217,85 @@ type ProductName record {|
 
 @test:Config
 function testGenerateMethodWithInvalidRecordType() returns ai:Error? {
-    ProductName[]|map<string>|error rating = trap provider->generate(
+    ProductName[]|map<string>|error rating = provider->generate(
                 `Tell me name and the age of the top 10 world class cricketers`);
-    string msg = (<error>rating).message();
     test:assertTrue(rating is error);
-    test:assertTrue(msg.includes(RUNTIME_SCHEMA_NOT_SUPPORTED_ERROR_MESSAGE),
-            string `expected error message to contain: ${RUNTIME_SCHEMA_NOT_SUPPORTED_ERROR_MESSAGE}, but found ${msg}`);
+    test:assertTrue((<error>rating).message().includes(ERROR_MESSAGE));
 }
 
 type ProductNameArray ProductName[];
 
+enum Colour {
+    RED,
+    GREEN
+}
+
+type ProductCatalog record {|
+    string name;
+    int count?;
+    map<decimal> prices;
+    [string, int] dimensions;
+    Colour colour;
+|};
+
+type CategoryTree record {|
+    string name;
+    CategoryTree[] children;
+|};
+
+@test:Config
+function testRuntimeSchemaGenerationForStructuredTypes() returns error? {
+    map<json> schema = check generateJsonSchemaForTypedescAsJson(ProductCatalog);
+    map<json> properties = check schema["properties"].ensureType();
+    map<json> colourSchema = check properties["colour"].ensureType();
+    test:assertEquals(colourSchema["type"], "string");
+    json[] colours = check colourSchema["enum"].ensureType();
+    test:assertEquals(colours.length(), 2);
+    test:assertTrue(colours.indexOf(RED) is int && colours.indexOf(GREEN) is int);
+
+    test:assertEquals(schema, {
+        "type": "object",
+        "properties": {
+            "name": {"type": "string"},
+            "count": {"type": "integer"},
+            "prices": {"type": "object", "additionalProperties": {"type": "number"}},
+            "dimensions": {
+                "type": "array",
+                "prefixItems": [{"type": "string"}, {"type": "integer"}],
+                "items": false,
+                "minItems": 2
+            },
+            "colour": colourSchema
+        },
+        "required": ["name", "prices", "dimensions", "colour"],
+        "additionalProperties": false
+    });
+    test:assertTrue(schema === check generateJsonSchemaForTypedescAsJson(ProductCatalog));
+}
+
+@test:Config
+function testRuntimeSchemaGenerationForRecursiveTypes() returns error? {
+    map<json> categoryTreeSchema = {
+        "type": "object",
+        "properties": {
+            "name": {"type": "string"},
+            "children": {"type": "array", "items": {"$ref": "#/$defs/CategoryTree"}}
+        },
+        "required": ["name", "children"],
+        "additionalProperties": false
+    };
+    map<json> expectedSchema = {...categoryTreeSchema, "$defs": {"CategoryTree": categoryTreeSchema}};
+    test:assertEquals(check generateJsonSchemaForTypedescAsJson(CategoryTree), expectedSchema);
+
+    ResponseSchema responseSchema = check getExpectedResponseSchema(CategoryTree[]);
+    test:assertFalse(responseSchema.isOriginallyJsonObject);
+    test:assertEquals(responseSchema.schema, {
+        "type": "object",
+        "$defs": {"CategoryTree": categoryTreeSchema},
+        "properties": {"result": {"type": "array", "items": {"$ref": "#/$defs/CategoryTree"}}}
+    });
+}
+
 @test:Config
 function testGenerateMethodWithInvalidRecordArrayType2() returns ai:Error? {
     ProductNameArray|error rating = provider->generate(
@@ -333,3 +403,827 @@ function testGenerateMethodWithTextChunk() returns error? {
     Review r = check review.fromJsonStringWithType();
     test:assertEquals(result, [r, r]);
 }
+
+@test:Config
+function testGenerateMethodReusesCachedSchema() returns error? {
+    SchemaCacheStats initialStats = getSchemaCacheStats();
+    int rating = check provider->generate(`Rate this blog out of 10.
+        Title: ${blog1.title}
+        Content: ${blog1.content}`);
+    test:assertEquals(rating, 4);
+    rating = check provider->generate(`Rate this blog out of 10.
+        Title: ${blog1.title}
+        Content: ${blog1.content}`);
+    test:assertEquals(rating, 4);
+
+    SchemaCacheStats stats = getSchemaCacheStats();
+    test:assertTrue(stats.hits > initialStats.hits);
+    test:assertTrue(stats.size > 0);
+}
+
+@GeneratedToolSchema {
+    parameters: {
+        "type": "object",
+        "description": "Precomputed rating schema",
+        "required": ["rating"],
+        "properties": {"rating": {"type": "integer"}}
+    },
+    isOriginallyJsonObject: true
+}
+type PrecomputedRating record {|
+    int rating;
+|};
+
+@test:Config
+function testGetToolParameterSchemaUsesPrecomputedSchema() returns error? {
+    ToolParameterSchema schema = check getToolParameterSchema(PrecomputedRating);
+    test:assertEquals(schema.parameters["description"], "Precomputed rating schema");
+    test:assertTrue(schema.isOriginallyJsonObject);
+    test:assertEquals(check getToolParameterSchema(PrecomputedRating), schema);
+}
+
+type NilableProductCatalog ProductCatalog?;
+
+@test:Config
+function testBindGeneratedValue() returns error? {
+    anydata catalog = check bindGeneratedValue(string `{"name": "Lamp", "prices": {"USD": 12.50},
+        "dimensions": ["cm", 30], "colour": "RED"}`, ProductCatalog, true);
+    test:assertTrue(catalog is ProductCatalog);
+    test:assertEquals(catalog, {name: "Lamp", prices: {"USD": 12.50d}, dimensions: ["cm", 30], colour: RED});
+
+    anydata names = check bindGeneratedValue(string `{"result": [{"name": "Virat Kohli"}, {"name": "Kane Williamson"}],
+        "reason": "Top cricketers"}`, ProductNameArray, false);
+    test:assertEquals(names, [{name: "Virat Kohli"}, {name: "Kane Williamson"}]);
+    test:assertEquals(check bindGeneratedValue("{}", NilableProductCatalog, false), ());
+    test:assertEquals(check bindGeneratedValue(string `{"result": "line\n\"quoted\" \u00e9"}`, string, false),
+            "line\n\"quoted\" \u{E9}");
+}
+
+@test:Config
+function testBindGeneratedValueWithMismatchedValues() {
+    anydata|error result = bindGeneratedValue(string `{"result": [{"name": "Virat Kohli"}, {"name": 33}]}`,
+            ProductNameArray, false);
+    test:assertTrue(result is JsonBindingError);
+    test:assertTrue((<error>result).message().includes("$.result[1].name"));
+
+    result = bindGeneratedValue(string `{"name": "Lamp", "prices": {}, "dimensions": ["cm", 30], "colour": "RED",
+        "weight": 2}`, ProductCatalog, true);
+    test:assertTrue(result is JsonBindingError);
+    test:assertTrue((<error>result).message().includes("$.weight"));
+
+    result = bindGeneratedValue(string `{"result": [{"name": "Virat Kohli"}]`, ProductNameArray, false);
+    test:assertTrue(result is JsonSyntaxError);
+}
+
+const STRICT_SERVICE_URL = "http://localhost:8080/llm/strict";
+
+type StockedProduct record {|
+    string name;
+    int count?;
+|};
+
+final ModelProvider strictProvider = check new (API_KEY, GPT_4O, STRICT_SERVICE_URL, strictStructuredOutput = true);
+final ModelProvider nonStrictProvider = check new (API_KEY, GPT_4O, STRICT_SERVICE_URL);
+
+@test:Config
+function testGenerateWithStrictStructuredOutput() returns error? {
+    // The mock returns tool call arguments that do not conform to the schema, as models may without strict mode.
+    int invalidGenerations = 0;
+    foreach int i in 0 ..< 5 {
+        StockedProduct|ai:Error product = nonStrictProvider->generate(`Describe the stocked product ${i}`);
+        if product is ai:LlmInvalidGenerationError {
+            invalidGenerations += 1;
+        }
+    }
+    test:assertEquals(invalidGenerations, 5);
+
+    foreach int i in 0 ..< 5 {
+        StockedProduct product = check strictProvider->generate(`Describe the stocked product ${i}`);
+        test:assertEquals(product, {name: "Lamp"});
+    }
+}
+
+@test:Config
+function testNormalizeStrictSchema() {
+    test:assertEquals(normalizeStrictSchema({
+        "type": "object",
+        "properties": {
+            "name": {"type": "string", "minLength": 1},
+            "colour": {"type": "string", "enum": ["RED", "GREEN"]},
+            "tags": {"type": "array", "items": {"type": "string"}, "minItems": 1},
+            "parent": {"$ref": "#/$defs/Category"}
+        },
+        "required": ["name", "tags"],
+        "$defs": {
+            "Category": {"type": "object", "properties": {"name": {"type": "string"}}, "required": ["name"]}
+        }
+    }), {
+        "type": "object",
+        "properties": {
+            "name": {"type": "string"},
+            "colour": {"type": ["string", "null"], "enum": ["RED", "GREEN", ()]},
+            "tags": {"type": "array", "items": {"type": "string"}},
+            "parent": {"anyOf": [{"$ref": "#/$defs/Category"}, {"type": "null"}]}
+        },
+        "required": ["name", "colour", "tags", "parent"],
+        "additionalProperties": false,
+        "$defs": {
+            "Category": {
+                "type": "object",
+                "properties": {"name": {"type": "string"}},
+                "required": ["name"],
+                "additionalProperties": false
+            }
+        }
+    });
+
+    // Maps, tuples and `json` values cannot be expressed in strict mode.
+    test:assertEquals(normalizeStrictSchema({"type": "object", "additionalProperties": {"type": "number"}}), ());
+    test:assertEquals(normalizeStrictSchema({"type": "object"}), ());
+    test:assertEquals(normalizeStrictSchema({
+        "type": "object",
+        "properties": {"metadata": {"type": ["object", "array", "string", "number", "boolean", "null"]}},
+        "required": ["metadata"]
+    }), ());
+    test:assertEquals(normalizeStrictSchema({
+        "type": "object",
+        "properties": {"dimensions": {"type": "array", "prefixItems": [{"type": "string"}, {"type": "integer"}]}}
+    }), ());
+}
+
+const STREAMING_SERVICE_URL = "http://localhost:8080/llm/streaming";
+
+final ModelProvider streamingProvider = check new (API_KEY, GPT_4O, STREAMING_SERVICE_URL);
+
+@test:Config
+function testChatStreamWithContentDeltas() returns error? {
+    stream<ChatCompletionDelta, ai:Error?> deltas = check streamingProvider->chatStream(
+        {role: ai:USER, content: "Say hello"}, []);
+    string[] fragments = [];
+    string? finishReason = ();
+    check from ChatCompletionDelta delta in deltas
+        do {
+            string? content = delta.content;
+            if content is string {
+                fragments.push(content);
+            }
+            string? reason = delta.finishReason;
+            if reason is string {
+                finishReason = reason;
+            }
+        };
+    test:assertEquals(fragments, ["Hello", " there!"]);
+    test:assertEquals(finishReason, "stop");
+}
+
+@test:Config
+function testChatStreamWithFunctionCallFragments() returns error? {
+    ai:ChatCompletionFunctions[] tools = [
+        {
+            name: "getWeather",
+            description: "Get the current weather of a city",
+            parameters: {"type": "object", "properties": {"city": {"type": "string"}}}
+        }
+    ];
+    stream<ChatCompletionDelta, ai:Error?> deltas = check streamingProvider->chatStream(
+        [{role: ai:USER, content: "What is the weather in Colombo?"}], tools);
+    ai:FunctionCall[] toolCalls = [];
+    check from ChatCompletionDelta delta in deltas
+        do {
+            ai:FunctionCall? toolCall = delta.toolCall;
+            if toolCall is ai:FunctionCall {
+                toolCalls.push(toolCall);
+            }
+        };
+    test:assertEquals(toolCalls, [{name: "getWeather", arguments: {"city": "Colombo"}, id: "call-weather"}]);
+}
+
+const TOOLS_SERVICE_URL = "http://localhost:8080/llm/tools";
+
+final ModelProvider toolsProvider = check new (API_KEY, GPT_4O, TOOLS_SERVICE_URL);
+
+@test:Config
+function testChatWithParallelToolCalls() returns error? {
+    ai:ChatCompletionFunctions[] tools = [
+        {
+            name: "getWeather",
+            description: "Get the current weather of a city",
+            parameters: {"type": "object", "properties": {"city": {"type": "string"}}}
+        },
+        {name: "getTime", description: "Get the current time"}
+    ];
+    ai:ChatMessage[] messages = [{role: ai:USER, content: "What is the weather in Colombo, Kandy and Galle?"}];
+    int turns = 0;
+    while true {
+        ai:ChatAssistantMessage response = check toolsProvider->chat(messages, tools);
+        turns += 1;
+        ai:FunctionCall[]? toolCalls = response.toolCalls;
+        if toolCalls is () || toolCalls.length() == 0 {
+            test:assertEquals(response.content, "Colombo is sunny, Kandy is rainy and Galle is cloudy.");
+            break;
+        }
+        test:assertEquals(toolCalls, [
+            {name: "getWeather", arguments: {"city": "Colombo"}, id: "call-1"},
+            {name: "getWeather", arguments: {"city": "Kandy"}, id: "call-2"},
+            {name: "getWeather", arguments: {"city": "Galle"}, id: "call-3"}
+        ]);
+        messages.push(response);
+        foreach ai:FunctionCall toolCall in toolCalls {
+            messages.push({role: ai:FUNCTION, name: toolCall.name, id: toolCall.id, content: "sunny"});
+        }
+    }
+    // All the tool calls are requested in a single response, instead of one round trip per tool call.
+    test:assertEquals(turns, 2);
+}
+
+const PROMPT_CACHE_SERVICE_URL = "http://localhost:8080/llm/promptcache";
+
+final ModelProvider promptCacheProvider = check new (API_KEY, GPT_4O, PROMPT_CACHE_SERVICE_URL,
+    promptCache = {key: "weather-agent"});
+
+@test:Config
+function testChatWithPromptCache() returns error? {
+    ai:ChatCompletionFunctions weatherTool = {
+        name: "getWeather",
+        description: "Get the current weather of a city",
+        parameters: {"type": "object", "properties": {"city": {"type": "string"}}}
+    };
+    ai:ChatCompletionFunctions timeTool = {name: "getTime", description: "Get the current time"};
+    ai:ChatMessage[] messages = [{role: ai:USER, content: "What is the weather in Colombo?"}];
+    // The tools are sent in the same order regardless of the order in which they are given, keeping the
+    // prefix of the requests stable.
+    foreach ai:ChatCompletionFunctions[] tools in [[weatherTool, timeTool], [timeTool, weatherTool]] {
+        ai:ChatAssistantMessage response = check promptCacheProvider->chat(messages, tools);
+        test:assertEquals(response.content, "It is sunny in Colombo.");
+    }
+}
+
+@test:Config
+function testParseReActToolResponse() returns error? {
+    LlmChatResponse|ai:LlmToolResponse response = check parseReActLlmResponse(string `Thought: I need the weather.
+Action:
+${BACKTICKS}json
+{"Action": "getWeather", "Action Input": {"city": "Colombo"}}
+${BACKTICKS}
+Observation:`);
+    if response !is ai:LlmToolResponse {
+        test:assertFail("Expected a tool response");
+    }
+    test:assertEquals(response.name, "getWeather");
+    test:assertEquals(response.arguments, {"city": "Colombo"});
+}
+
+@test:Config
+function testParseReActFinalAnswerWithoutFences() returns error? {
+    LlmChatResponse|ai:LlmToolResponse response = check parseReActLlmResponse(
+        "Here is the answer: {\"action\": \"Final Answer\", \"action_input\": \"It is sunny.\"}");
+    test:assertEquals(response, <LlmChatResponse>{content: "It is sunny."});
+}
+
+@test:Config
+function testParseInvalidReActResponses() {
+    LlmChatResponse|ai:LlmToolResponse|ai:LlmInvalidGenerationError response =
+        parseReActLlmResponse(string `${BACKTICKS}{"action": getWeather}${BACKTICKS}`);
+    test:assertTrue(response is ai:LlmInvalidGenerationError);
+    test:assertEquals((<error>response).message(), "Invalid JSON is given as the action.");
+
+    response = parseReActLlmResponse(string `Action: ${BACKTICKS}json {"action": "getWeather"}`);
+    test:assertTrue(response is ai:LlmInvalidGenerationError);
+    test:assertEquals((<error>response).message(), "Unable to extract the tool due to invalid generation");
+
+    response = parseReActLlmResponse(string `${BACKTICKS}{"action": "getWeather", "action_input": 1}${BACKTICKS}`);
+    test:assertTrue(response is ai:LlmInvalidGenerationError);
+    test:assertEquals((<error>response).message(),
+            "Generated 'Action' JSON_BLOB contains invalid action name or inputs.");
+}
+
+@test:Config
+function testReActResponseScannerWithStreamedChunks() returns error? {
+    ReActResponseScanner scanner = new;
+    foreach string chunk in ["Action:\n`", "``js", "on\n{\"action\": \"getWeather\", ",
+            "\"action_input\": {\"city\": \"Colombo\"}}\n`", "``\nObservation: "] {
+        scanner.feed(chunk);
+    }
+    LlmChatResponse|ai:LlmToolResponse response = check scanner.complete();
+    if response !is ai:LlmToolResponse {
+        test:assertFail("Expected a tool response");
+    }
+    test:assertEquals(response.name, "getWeather");
+    test:assertEquals(response.arguments, {"city": "Colombo"});
+}
+
+@test:Config
+function testReActPromptCache() {
+    ReActPromptCache cache = new;
+    ai:ChatCompletionFunctions[] tools = [
+        {name: "getWeather", description: "Get the weather", parameters: {"type": "object"}}
+    ];
+    string prompt = cache.get(tools, "Be brief.");
+    test:assertEquals(prompt, constructReActPrompt(extractToolInfo(tools), "Be brief."));
+    test:assertEquals(cache.get(tools.clone(), "Be brief."), prompt);
+
+    tools.push({name: "getTime", description: "Get the time", parameters: {"type": "object"}});
+    test:assertEquals(cache.get(tools, "Be brief."), constructReActPrompt(extractToolInfo(tools), "Be brief."));
+    test:assertTrue(cache.get(tools, "Be verbose.").endsWith("Be verbose."));
+}
+
+const EMBEDDING_TEST_BATCH_SIZE = 3;
+
+final EmbeddingProvider embeddingProvider = check new (API_KEY, TEXT_EMBEDDING_3_SMALL, SERVICE_URL,
+    batchConfig = {maxBatchSize: EMBEDDING_TEST_BATCH_SIZE, maxConcurrency: 2});
+
+@test:Config
+function testBatchEmbedSplitsInputIntoShards() returns error? {
+    ai:TextChunk[] chunks = from int i in 1 ... 10
+        select {content: "".padStart(i, "a")};
+    ai:Embedding[] embeddings = check embeddingProvider->batchEmbed(chunks);
+    test:assertEquals(embeddings.length(), chunks.length());
+    foreach int i in 0 ..< chunks.length() {
+        test:assertEquals(embeddings[i], getTestEmbedding(chunks[i].content));
+    }
+}
+
+final EmbeddingProvider failingEmbeddingProvider = check new (API_KEY, TEXT_EMBEDDING_3_SMALL,
+    "http://localhost:8080/llm/failing", batchConfig = {maxBatchSize: 1, maxRetries: 2});
+
+@test:Config
+function testBatchEmbedDoesNotRetryClientErrors() {
+    ai:Embedding[]|ai:Error embeddings = failingEmbeddingProvider->batchEmbed([<ai:TextChunk>{content: "invalid"}]);
+    test:assertTrue(embeddings is ai:Error);
+    test:assertEquals(getFailingEmbeddingRequestCount("invalid"), 1);
+}
+
+@test:Config
+function testBatchEmbedRetriesServerErrors() returns error? {
+    ai:Embedding[] embeddings = check failingEmbeddingProvider->batchEmbed([<ai:TextChunk>{content: "unavailable"}]);
+    test:assertEquals(embeddings, [getTestEmbedding("unavailable")]);
+    test:assertEquals(getFailingEmbeddingRequestCount("unavailable"), 2);
+}
+
+isolated function getFailingEmbeddingRequestCount(string input) returns int {
+    lock {
+        return failingEmbeddingRequestCounts[input] ?: 0;
+    }
+}
+
+@test:Config
+function testCreateEmbeddingShardsWithTokenBudget() {
+    string[] input = ["aaaa", "aaaaaaaa", "aaaa", "aaaa", "aaaaaaaaaaaaaaaaaaaa"];
+    EmbeddingShard[] shards = createEmbeddingShards(input, {maxBatchSize: 10, maxTokensPerBatch: 3});
+    test:assertEquals(shards, [
+        {offset: 0, input: ["aaaa", "aaaaaaaa"]},
+        {offset: 2, input: ["aaaa", "aaaa"]},
+        {offset: 4, input: ["aaaaaaaaaaaaaaaaaaaa"]}
+    ]);
+}
+
+final EmbeddingProvider base64EmbeddingProvider = check new (API_KEY, TEXT_EMBEDDING_3_SMALL, SERVICE_URL,
+    encodingFormat = BASE64, batchConfig = {maxBatchSize: EMBEDDING_TEST_BATCH_SIZE});
+
+@test:Config
+function testEmbedWithBase64EncodingFormat() returns error? {
+    ai:Embedding embedding = check base64EmbeddingProvider->embed(<ai:TextChunk>{content: "Hello"});
+    test:assertEquals(embedding, [1.0, 0.5, -0.5]);
+
+    ai:TextChunk[] chunks = [{content: "a"}, {content: "b"}, {content: "c"}, {content: "d"}];
+    ai:Embedding[] embeddings = check base64EmbeddingProvider->batchEmbed(chunks);
+    test:assertEquals(embeddings, [[1.0, 0.5, -0.5], [1.0, 0.5, -0.5], [1.0, 0.5, -0.5], [1.0, 0.5, -0.5]]);
+}
+
+final EmbeddingProvider cachedEmbeddingProvider = check new (API_KEY, TEXT_EMBEDDING_3_SMALL, SERVICE_URL,
+    batchConfig = {maxBatchSize: EMBEDDING_TEST_BATCH_SIZE}, cache = new InMemoryEmbeddingCache(2));
+
+@test:Config
+function testBatchEmbedServesCachedEmbeddings() returns error? {
+    ai:Embedding embedding = check cachedEmbeddingProvider->embed(<ai:TextChunk>{content: "cached"});
+    test:assertEquals(embedding, getTestEmbedding("cached"));
+
+    ai:TextChunk[] chunks = [{content: "cached"}, {content: "new"}, {content: "cached"}];
+    ai:Embedding[] embeddings = check cachedEmbeddingProvider->batchEmbed(chunks);
+    test:assertEquals(embeddings, [getTestEmbedding("cached"), getTestEmbedding("new"), getTestEmbedding("cached")]);
+
+    EmbeddingCacheStats stats = cachedEmbeddingProvider.getCacheStats();
+    test:assertEquals(stats.hits, 2);
+    test:assertEquals(stats.misses, 2);
+    test:assertEquals(stats.hitRatio, 0.5);
+    test:assertTrue(stats.bytesSaved > 0);
+}
+
+@test:Config
+function testInMemoryEmbeddingCacheEvictsLeastRecentlyUsed() {
+    InMemoryEmbeddingCache cache = new (2);
+    cache.put("a", [1.0]);
+    cache.put("b", [2.0]);
+    test:assertEquals(cache.get("a"), [1.0]);
+    cache.put("c", [3.0]);
+    test:assertEquals(cache.get("b"), ());
+    test:assertEquals(cache.get("a"), [1.0]);
+    test:assertEquals(cache.get("c"), [3.0]);
+}
+
+@test:Config
+function testFileEmbeddingCachePersistsEmbeddings() returns error? {
+    string path = "target/embedding-cache-test.vec";
+    FileEmbeddingCache cache = check new (path);
+    cache.put("persisted", [1.0, 0.5, -0.5]);
+    check cache.close();
+
+    FileEmbeddingCache reopenedCache = check new (path);
+    test:assertEquals(reopenedCache.get("persisted"), [1.0, 0.5, -0.5]);
+    test:assertEquals(reopenedCache.get("missing"), ());
+    check reopenedCache.close();
+}
+
+final EmbeddingProvider quantizingEmbeddingProvider = check new (API_KEY, TEXT_EMBEDDING_3_SMALL, SERVICE_URL,
+    batchConfig = {maxBatchSize: EMBEDDING_TEST_BATCH_SIZE}, dimensions = 2, quantization = INT8);
+
+@test:Config
+function testEmbedWithReducedDimensions() returns error? {
+    ai:Embedding embedding = check quantizingEmbeddingProvider->embed(<ai:TextChunk>{content: "abcd"});
+    test:assertEquals(embedding, [4.0, 0.5]);
+}
+
+@test:Config
+function testBatchEmbedQuantized() returns error? {
+    ai:TextChunk[] chunks = [{content: "abcd"}, {content: ""}];
+    QuantizedEmbedding[] embeddings = check quantizingEmbeddingProvider->batchEmbedQuantized(chunks);
+    test:assertEquals(embeddings, [
+        {values: [127, 16], scale: <float>4 / 127},
+        {values: [0, 127], scale: <float>0.5 / 127}
+    ]);
+}
+
+@test:Config
+function testQuantizeEmbedding() {
+    test:assertEquals(quantizeEmbedding([4.0, 0.5, -0.5], INT8), {values: [127, 16, 240], scale: <float>4 / 127});
+    test:assertEquals(quantizeEmbedding([4.0, 0.5, -0.5, 0.0, 1.0, -1.0, 2.0, 3.0, 0.1], BINARY),
+        {bits: [0xCB, 0x80], dimensions: 9});
+    test:assertEquals(quantizeEmbedding([0.0, 0.0], INT8), {values: [0, 0], scale: 0.0});
+}
+
+@test:Config
+function testEmbedQuantizedWithoutQuantization() {
+    QuantizedEmbedding|ai:Error embedding = embeddingProvider->embedQuantized(<ai:TextChunk>{content: "abcd"});
+    test:assertTrue(embedding is ai:Error);
+}
+
+@test:Config
+function testGetChatMessageStringContentWithManyChunks() returns error? {
+    ai:TextChunk[] chunks = from int i in 0 ..< 500
+        select {content: i.toString()};
+    string expectedChunks = string:'join("", ...from ai:TextChunk chunk in chunks select chunk.content + " ");
+    string content = check getChatMessageStringContent(`  Context: ${chunks} Count: ${chunks.length()}
+        Question: ${<ai:TextChunk>{content: "Why?"}} `);
+    test:assertEquals(content, string `Context: ${expectedChunks} Count: 500
+        Question: Why?`);
+}
+
+@test:Config
+function testGenerateChatCreationContentSplitsTextAroundDocuments() returns error? {
+    ai:ImageDocument image = {content: "https://example.com/image.png"};
+    DocumentContentPart[] content = check generateChatCreationContent(`Describe ${image} in ${3} words.`);
+    test:assertEquals(content.length(), 3);
+    test:assertEquals(content[0], {'type: "text", text: "Describe "});
+    test:assertEquals(content[2], {'type: "text", text: " in 3 words."});
+}
+
+@test:Config
+function testCountTokens() {
+    test:assertEquals(countTokens(""), 0);
+    test:assertEquals(countTokens("Hello world"), 2);
+    test:assertEquals(countTokens("internationalization"), 4);
+    test:assertEquals(countTokens("1234567"), 3);
+    test:assertEquals(countTokens("{\"a\": 1}"), 5);
+    test:assertEquals(countTokens("\u{41F}\u{440}\u{438}\u{432}\u{435}\u{442}"), 6);
+    test:assertEquals(getContextWindow(GPT_4_0613), 8192);
+}
+
+@test:Config
+function testDropPromptChunks() returns error? {
+    ai:TextChunk[] chunks = from int i in 0 ..< 10
+        select {content: "chunk"};
+    ai:Prompt prompt = `Context: ${chunks}`;
+    ai:Prompt[] budgetedPrompts = dropPromptChunks([prompt], 5);
+    test:assertEquals(check getChatMessageStringContent(budgetedPrompts[0]),
+        "Context: chunk chunk chunk chunk chunk chunk chunk");
+    test:assertEquals((<ai:TextChunk[]>prompt.insertions[0]).length(), 10);
+}
+
+final ModelProvider budgetedProvider = check new (API_KEY, GPT_4O, STREAMING_SERVICE_URL,
+    contextBudget = {contextWindow: DEFAULT_MAX_TOKEN_COUNT + 100});
+
+final ModelProvider chunkDroppingProvider = check new (API_KEY, GPT_4O, STREAMING_SERVICE_URL,
+    contextBudget = {contextWindow: DEFAULT_MAX_TOKEN_COUNT + 100, overflowStrategy: DROP_CHUNKS});
+
+@test:Config
+function testChatStreamExceedingContextWindow() returns error? {
+    ai:TextChunk[] chunks = from int i in 0 ..< 200
+        select {content: "chunk"};
+    stream<ChatCompletionDelta, ai:Error?>|ai:Error deltas = budgetedProvider->chatStream(
+        {role: ai:USER, content: `Summarize ${chunks}`}, []);
+    test:assertTrue(deltas is ContextWindowExceededError);
+
+    stream<ChatCompletionDelta, ai:Error?> trimmedDeltas = check chunkDroppingProvider->chatStream(
+        {role: ai:USER, content: `Summarize ${chunks}`}, []);
+    check trimmedDeltas.close();
+}
+
+const RATE_LIMITED_SERVICE_URL = "http://localhost:8080/llm/ratelimited";
+
+@test:Config
+function testRateLimiterRejectsRequestsBeyondConfiguredLimit() returns error? {
+    EmbeddingProvider rateLimitedProvider = check new ("rate-limit-test-key-1", TEXT_EMBEDDING_3_SMALL, SERVICE_URL,
+        rateLimit = {requestsPerMinute: 2, policy: REJECT});
+    _ = check rateLimitedProvider->embed(<ai:TextChunk>{content: "first"});
+    _ = check rateLimitedProvider->embed(<ai:TextChunk>{content: "second"});
+    ai:Embedding|ai:Error embedding = rateLimitedProvider->embed(<ai:TextChunk>{content: "third"});
+    test:assertTrue(embedding is RateLimitExceededError);
+}
+
+@test:Config
+function testRateLimiterKeepsLowestConfiguredLimit() returns error? {
+    EmbeddingProvider rateLimitedProvider = check new ("rate-limit-test-key-4", TEXT_EMBEDDING_3_SMALL, SERVICE_URL,
+        rateLimit = {requestsPerMinute: 1, policy: REJECT});
+    // A provider constructed later with the same API key does not raise the limit of the key.
+    EmbeddingProvider laterProvider = check new ("rate-limit-test-key-4", TEXT_EMBEDDING_3_SMALL, SERVICE_URL,
+        rateLimit = {requestsPerMinute: 100, policy: REJECT});
+    _ = check rateLimitedProvider->embed(<ai:TextChunk>{content: "first"});
+    ai:Embedding|ai:Error embedding = laterProvider->embed(<ai:TextChunk>{content: "second"});
+    test:assertTrue(embedding is RateLimitExceededError);
+}
+
+@test:Config
+function testRateLimiterKeepsConfiguredLimitBelowApiLimit() returns error? {
+    // The API reports a limit of 10000 requests per minute, which would refill the bucket within 6 ms.
+    EmbeddingProvider rateLimitedProvider = check new ("rate-limit-test-key-5", TEXT_EMBEDDING_3_SMALL,
+        "http://localhost:8080/llm/orglimited", rateLimit = {requestsPerMinute: 1, maxWaitTime: 1});
+    _ = check rateLimitedProvider->embed(<ai:TextChunk>{content: "first"});
+    ai:Embedding|ai:Error embedding = rateLimitedProvider->embed(<ai:TextChunk>{content: "second"});
+    test:assertTrue(embedding is RateLimitExceededError);
+}
+
+@test:Config
+function testRateLimiterRecalibratesFromResponseHeaders() returns error? {
+    EmbeddingProvider rateLimitedProvider = check new ("rate-limit-test-key-2", TEXT_EMBEDDING_3_SMALL,
+        RATE_LIMITED_SERVICE_URL + "/30s", rateLimit = {policy: REJECT});
+    _ = check rateLimitedProvider->embed(<ai:TextChunk>{content: "first"});
+    ai:Embedding|ai:Error embedding = rateLimitedProvider->embed(<ai:TextChunk>{content: "second"});
+    test:assertTrue(embedding is RateLimitExceededError);
+}
+
+@test:Config
+function testRateLimiterWaitsForCapacity() returns error? {
+    EmbeddingProvider rateLimitedProvider = check new ("rate-limit-test-key-3", TEXT_EMBEDDING_3_SMALL,
+        RATE_LIMITED_SERVICE_URL + "/1s", rateLimit = {maxWaitTime: 5});
+    _ = check rateLimitedProvider->embed(<ai:TextChunk>{content: "first"});
+    decimal startTime = time:monotonicNow();
+    ai:Embedding embedding = check rateLimitedProvider->embed(<ai:TextChunk>{content: "second"});
+    test:assertEquals(embedding, getTestEmbedding("second"));
+    test:assertTrue(time:monotonicNow() - startTime >= 0.9d);
+}
+
+const SINGLE_FLIGHT_SERVICE_URL = "http://localhost:8080/llm/singleflight";
+
+final ModelProvider singleFlightProvider = check new (API_KEY, GPT_4O, SINGLE_FLIGHT_SERVICE_URL,
+    singleFlight = true);
+final ModelProvider otherSingleFlightProvider = check new ("other-api-key", GPT_4O, SINGLE_FLIGHT_SERVICE_URL,
+    singleFlight = true);
+
+@test:Config
+function testConcurrentGenerateCallsWithSingleFlight() returns error? {
+    resetSingleFlightRequestCount();
+    future<Review|error>[] calls = [];
+    foreach int i in 0 ..< 5 {
+        future<Review|error> call = start generateReviewWithSingleFlight(singleFlightProvider);
+        calls.push(call);
+    }
+
+    Review expectedReview = check review.fromJsonStringWithType(Review);
+    Review[] reviews = [];
+    foreach future<Review|error> call in calls {
+        reviews.push(check wait call);
+    }
+    foreach Review result in reviews {
+        test:assertEquals(result, expectedReview);
+    }
+    test:assertEquals(getSingleFlightRequestCount(), 1);
+    // Each caller receives its own copy of the generated value.
+    reviews[0].rating = -1;
+    test:assertEquals(reviews[1], expectedReview);
+}
+
+@test:Config
+function testSingleFlightDoesNotShareRequestsAcrossProviders() returns error? {
+    resetSingleFlightRequestCount();
+    future<Review|error>[] calls = [];
+    foreach int i in 0 ..< 3 {
+        future<Review|error> call = start generateReviewWithSingleFlight(singleFlightProvider);
+        future<Review|error> otherCall = start generateReviewWithSingleFlight(otherSingleFlightProvider);
+        calls.push(call, otherCall);
+    }
+    foreach future<Review|error> call in calls {
+        _ = check wait call;
+    }
+    // The providers use different API keys, hence each provider sends its own request.
+    test:assertEquals(getSingleFlightRequestCount(), 2);
+}
+
+isolated function generateReviewWithSingleFlight(ModelProvider modelProvider) returns Review|error =>
+    modelProvider->generate(`Please rate this blog out of ${"10"}.
+        Title: ${blog2.title}
+        Content: ${blog2.content}`);
+
+isolated function resetSingleFlightRequestCount() {
+    lock {
+        singleFlightRequestCount = 0;
+    }
+}
+
+isolated function getSingleFlightRequestCount() returns int {
+    lock {
+        return singleFlightRequestCount;
+    }
+}
+
+final InMemoryResponseCache responseCache = new;
+final ModelProvider cachingProvider = check new (API_KEY, GPT_4O, SERVICE_URL, temperature = 0,
+    responseCache = {cache: responseCache});
+
+@test:Config
+function testGenerateServesCachedResponses() returns error? {
+    ai:Prompt prompt = `Please rate this blog out of ${"10"}.
+        Title: ${blog2.title}
+        Content: ${blog2.content}`;
+    Review generatedReview = check cachingProvider->generate(prompt);
+    test:assertEquals(generatedReview, check review.fromJsonStringWithType(Review));
+
+    string key = check getGenerateRequestKey(GPT_4O, 0, prompt, Review);
+    test:assertEquals(responseCache.get(key), generatedReview.toJsonString());
+
+    // The response is served from the cache rather than requested from the model again.
+    responseCache.put(key, {rating: 2, comment: "Served from the cache."}.toJsonString());
+    Review cachedReview = check cachingProvider->generate(prompt);
+    test:assertEquals(cachedReview, {rating: 2, comment: "Served from the cache."});
+}
+
+@test:Config
+function testGenerateRequestsSendTheTemperature() returns error? {
+    // The cached responses are keyed on the temperature, hence the requests must be sampled at that temperature.
+    ToolParameterSchema responseSchema = check getToolParameterSchema(Review);
+    test:assertEquals(buildGenerateRequest(GPT_4O, 0, [], responseSchema).temperature, 0d);
+    test:assertEquals(buildGenerateRequest(GPT_4O, 0.7, [], responseSchema).temperature, 0.7d);
+}
+
+@test:Config
+function testInMemoryResponseCacheEvictsLeastRecentlyUsedResponses() {
+    InMemoryResponseCache cache = new (capacity = 2);
+    cache.put("a", "1");
+    cache.put("b", "2");
+    _ = cache.get("a");
+    cache.put("c", "3");
+    test:assertEquals(cache.get("a"), "1");
+    test:assertEquals(cache.get("b"), ());
+    test:assertEquals(cache.get("c"), "3");
+}
+
+@test:Config
+function testFileResponseCachePersistsResponses() returns error? {
+    string path = "target/response-cache-test.bin";
+    FileResponseCache cache = check new (path);
+    cache.put("persisted", "{\"rating\":8}");
+    check cache.close();
+
+    FileResponseCache reopenedCache = check new (path);
+    test:assertEquals(reopenedCache.get("persisted"), "{\"rating\":8}");
+    test:assertEquals(reopenedCache.get("missing"), ());
+    check reopenedCache.close();
+}
+
+@test:Config
+function testFileResponseCacheExpiresResponses() returns error? {
+    FileResponseCache cache = check new ("target/response-cache-expiry-test.bin", ttl = 0.1);
+    cache.put("expiring", "true");
+    test:assertEquals(cache.get("expiring"), "true");
+    runtime:sleep(0.2);
+    test:assertEquals(cache.get("expiring"), ());
+    check cache.close();
+}
+
+const BATCH_SERVICE_URL = "http://localhost:8080/llm/batch";
+
+final ModelProvider batchProvider = check new (API_KEY, GPT_4O, BATCH_SERVICE_URL,
+    batchJobConfig = {pollInterval: 0.1, maxPollInterval: 0.2});
+
+@test:Config
+function testBulkGenerate() returns error? {
+    ai:Prompt[] prompts = [
+        `Please rate this blog out of ${"10"}.
+        Title: ${blog1.title}
+        Content: ${blog1.content}`,
+        `Summarize this blog: ${blog1.title}`,
+        `Please rate this blog out of ${"10"}.
+        Title: ${blog2.title}
+        Content: ${blog2.content}`
+    ];
+    (Review|ai:Error)[] results = check batchProvider->bulkGenerate(prompts);
+    test:assertEquals(results.length(), 3);
+
+    Review expectedReview = check review.fromJsonStringWithType(Review);
+    test:assertEquals(check results[0], expectedReview);
+    test:assertEquals(check results[2], expectedReview);
+    Review|ai:Error failedResult = results[1];
+    if failedResult !is ai:Error {
+        test:assertFail("Expected an error for a prompt whose batch request failed");
+    }
+    test:assertTrue(failedResult.message().includes("status code 400"));
+}
+
+final EmbeddingProvider batchEmbeddingProvider = check new (API_KEY, TEXT_EMBEDDING_3_SMALL, BATCH_SERVICE_URL,
+    batchConfig = {maxBatchSize: 2}, batchJobConfig = {pollInterval: 0.1, maxPollInterval: 0.2});
+
+@test:Config
+function testBulkEmbed() returns error? {
+    ai:TextChunk[] chunks = [{content: "a"}, {content: "bb"}, {content: "ccc"}];
+    ai:Embedding[] embeddings = check batchEmbeddingProvider->bulkEmbed(chunks);
+    test:assertEquals(embeddings, [[1.0, 0.5, -0.5], [2.0, 0.5, -0.5], [3.0, 0.5, -0.5]]);
+}
+
+@test:Config
+function testInvalidBatchJobConfig() {
+    ModelProvider|ai:Error invalidProvider = new (API_KEY, GPT_4O, BATCH_SERVICE_URL,
+        batchJobConfig = {pollInterval: 0});
+    test:assertTrue(invalidProvider is ai:Error);
+}
+
+final ModelProvider metadataObservedProvider = check new (API_KEY, GPT_4O, SERVICE_URL,
+    observability = {mode: METADATA});
+
+final EmbeddingProvider unobservedEmbeddingProvider = check new (API_KEY, TEXT_EMBEDDING_3_SMALL, SERVICE_URL,
+    observability = {mode: OFF});
+
+@test:Config
+function testProvidersWithReducedObservability() returns error? {
+    int rating = check metadataObservedProvider->generate(`Rate this blog out of 10.
+        Title: ${blog1.title}
+        Content: ${blog1.content}`);
+    test:assertEquals(rating, 4);
+
+    ai:TextChunk[] chunks = [{content: "a"}, {content: "bb"}];
+    ai:Embedding[] embeddings = check unobservedEmbeddingProvider->batchEmbed(chunks);
+    test:assertEquals(embeddings, [getTestEmbedding("a"), getTestEmbedding("bb")]);
+}
+
+@test:Config
+function testInvalidObservabilityConfig() {
+    ModelProvider|ai:Error invalidProvider = new (API_KEY, GPT_4O, SERVICE_URL,
+        observability = {payloadSampleRate: 1.5});
+    test:assertTrue(invalidProvider is ai:Error);
+    test:assertFalse(shouldCapturePayloads({mode: FULL, payloadSampleRate: 0.0}));
+    test:assertFalse(shouldCapturePayloads({mode: METADATA}));
+}
+
+@test:Config
+function testBuildImageUrlForRepeatedImages() returns ai:Error? {
+    string expectedUrl = string `data:image/png;base64,${sampleBase64Str}`;
+    test:assertEquals(check buildImageUrl(sampleBinaryData, "image/png"), expectedUrl);
+    test:assertEquals(check buildImageUrl(sampleBinaryData.clone(), "image/png"), expectedUrl);
+    test:assertEquals(check buildImageUrl(sampleBinaryData, ()), string `data:image/*;base64,${sampleBase64Str}`);
+    test:assertEquals(check buildImageUrl([], "image/png"), "data:image/png;base64,");
+}
+
+@test:Config
+function testImageUrlCacheServesRepeatedImages() returns ai:Error? {
+    ImageUrlCache cache = new (1048576);
+    string expectedUrl = string `data:image/png;base64,${sampleBase64Str}`;
+    test:assertEquals(check buildImageUrl(sampleBinaryData, "image/png", cache), expectedUrl);
+    test:assertEquals(check buildImageUrl(sampleBinaryData.clone(), "image/png", cache), expectedUrl);
+    // The same content with another MIME type has another URL.
+    test:assertEquals(check buildImageUrl(sampleBinaryData, (), cache),
+        string `data:image/*;base64,${sampleBase64Str}`);
+    test:assertEquals(cache.getStats(), {hits: 1, misses: 2, size: 2});
+}
+
+@test:Config
+function testImageUrlCacheEvictsLeastRecentlyUsedImages() returns ai:Error? {
+    // Each image of 60 bytes takes 162 bytes along with its URL, hence the cache holds eight images.
+    ImageUrlCache cache = new (1400);
+    byte[][] images = from int i in 0 ..< 9
+        select from int j in 0 ..< 60 select <byte>i;
+    foreach int i in 0 ..< 8 {
+        _ = check buildImageUrl(images[i], "image/png", cache);
+    }
+    _ = check buildImageUrl(images[0], "image/png", cache);
+    test:assertEquals(cache.getStats(), {hits: 1, misses: 8, size: 8});
+
+    // The least recently used image is evicted, rather than the first image encoded.
+    _ = check buildImageUrl(images[8], "image/png", cache);
+    _ = check buildImageUrl(images[0], "image/png", cache);
+    test:assertEquals(cache.getStats(), {hits: 2, misses: 9, size: 8});
+    _ = check buildImageUrl(images[1], "image/png", cache);
+    test:assertEquals(cache.getStats(), {hits: 2, misses: 10, size: 8});
+
+    // An image larger than an eighth of the cache is not cached.
+    byte[] largeImage = from int j in 0 ..< 200 select 1;
+    _ = check buildImageUrl(largeImage, "image/png", cache);
+    test:assertEquals(cache.getStats(), {hits: 2, misses: 11, size: 8});
+}
@@ -16,90 +16,26 @@
 
 import ballerina/ai;
 import ballerina/jballerina.java;
+import ballerinax/openai.chat;
 
-type JsonSchema record {|
-    string 'type?;
-    (JsonSchema|JsonArraySchema)[] oneOf?;
-    map<JsonSchema|JsonArraySchema|map<json>> properties?;
-    string[] required?;
-|};
+public annotation map<json> JsonSchema on type;
 
-type JsonArraySchema record {|
-    string 'type = "array";
-    JsonSchema items;
+# Represents the tool parameter schema precomputed by the compiler plugin for a type used as
+# the expected type of `generate` calls.
+public type ToolSchema record {|
+    # The parameters of the tool used to respond with a value of the type
+    chat:FunctionParameters parameters;
+    # Whether the JSON schema of the type is an object schema, in which case it is not wrapped
+    # in a `result` property
+    boolean isOriginallyJsonObject;
 |};
 
-public annotation map<json> JsonSchema on type;
+# The tool parameter schema precomputed for the type by the compiler plugin.
+public annotation ToolSchema GeneratedToolSchema on type;
 
 isolated function generateJsonSchemaForTypedescAsJson(typedesc<json> expectedResponseTypedesc) returns map<json>|ai:Error =>
-    let map<json>? ann = expectedResponseTypedesc.@ai:JsonSchema in ann
-                ?: check generateJsonSchemaForTypedescNative(expectedResponseTypedesc)
-                ?: check generateJsonSchemaForTypedesc(expectedResponseTypedesc, containsNil(expectedResponseTypedesc));
-
-isolated function generateJsonSchemaForTypedesc(typedesc<json> expectedResponseTypedesc, boolean nilableType) 
-        returns JsonSchema|JsonArraySchema|map<json>|ai:Error {
-    if isSimpleType(expectedResponseTypedesc) {
-        return <JsonSchema>{
-            'type: getStringRepresentation(<typedesc<json>>expectedResponseTypedesc)
-        };
-    }
-
-    boolean isArray = expectedResponseTypedesc is typedesc<json[]>;
-
-    if isArray {
-        typedesc<json> arrayMemberType = getArrayMemberType(<typedesc<json[]>>expectedResponseTypedesc);
-        if isSimpleType(arrayMemberType) {
-            return <JsonArraySchema>{
-                items: !nilableType ? {
-                    'type: getStringRepresentation(<typedesc<json>>arrayMemberType)
-                } : 
-                {
-                   oneOf: [{
-                            'type: getStringRepresentation(<typedesc<json>>arrayMemberType)
-                        }, {
-                            'type: "null"
-                        }]
-                }
-            };
-        }
-    }
-
-    return error("Runtime schema generation is not yet supported for type " + expectedResponseTypedesc.toString());
-}
-
-isolated function getArrayMemberType(typedesc<json> expectedResponseTypedesc) returns typedesc<json> = @java:Method {
-    name: "getArrayMemberType",
-    'class: "io.ballerina.lib.ai.openai.Native"
-} external;
-
-isolated function containsNil(typedesc<json> expectedResponseTypedesc) returns boolean = @java:Method {
-    name: "containsNil",
-    'class: "io.ballerina.lib.ai.openai.Native"
-} external;
-
-isolated function isSimpleType(typedesc<json> expectedResponseTypedesc) returns boolean =>
-    expectedResponseTypedesc is typedesc<string|int|float|decimal|boolean|()>;
-
-isolated function getStringRepresentation(typedesc<json> fieldType) returns string {
-    if fieldType is typedesc<()> {
-        return "null";
-    }
-    if fieldType is typedesc<string> {
-        return "string";
-    }
-    if fieldType is typedesc<int> {
-        return "integer";
-    }
-    if fieldType is typedesc<float|decimal> {
-        return "number";
-    }
-    if fieldType is typedesc<boolean> {
-        return "boolean";
-    }
-
-    panic error("JSON schema generation is not yet supported for type: " + fieldType.toString());
-}
+    expectedResponseTypedesc.@ai:JsonSchema ?: generateJsonSchemaForTypedescNative(expectedResponseTypedesc);
 
-isolated function generateJsonSchemaForTypedescNative(typedesc<anydata> td) returns map<json>?|ai:Error = @java:Method {
+isolated function generateJsonSchemaForTypedescNative(typedesc<anydata> td) returns map<json>|ai:Error = @java:Method {
     'class: "io.ballerina.lib.ai.openai.Native"
 } external;
@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/ai;
 import ballerina/http;
 
 # Configurations for controlling the behaviours when communicating with a remote HTTP endpoint.
@@ -77,6 +78,147 @@ public type ConnectionConfig record {|
     boolean validation = true;
 |};
 
+# Configurations for splitting `batchEmbed` requests into shards that are sent concurrently.
+@display {label: "Batch Embedding Configuration"}
+public type BatchEmbedConfig record {|
+    # The maximum number of inputs sent in a single embeddings request
+    @display {label: "Maximum Batch Size"}
+    int maxBatchSize = 2048;
+
+    # The maximum estimated number of tokens sent in a single embeddings request
+    @display {label: "Maximum Tokens per Batch"}
+    int maxTokensPerBatch = 300000;
+
+    # The maximum number of shard requests in flight at a time
+    @display {label: "Maximum Concurrency"}
+    int maxConcurrency = 4;
+
+    # The number of times a failed shard request is retried
+    @display {label: "Maximum Retries"}
+    int maxRetries = 2;
+|};
+
+# Strategies for handling prompts that do not fit into the context window of the model
+@display {label: "Context Overflow Strategy"}
+public enum CONTEXT_OVERFLOW_STRATEGY {
+    # Fail the request before it is sent to the model
+    FAIL = "fail",
+    # Drop the trailing chunks of the chunk and document arrays interpolated in the prompts until the request
+    # fits, and fail the request if it still does not fit
+    DROP_CHUNKS = "drop-chunks"
+}
+
+# Configurations for checking the estimated size of requests against the context window of the model.
+# The size of a request is estimated locally with a heuristic, which can differ from the count of the
+# tokenizer of the model, hence the context window can be set with a margin.
+@display {label: "Context Budget Configuration"}
+public type ContextBudgetConfig record {|
+    # The context window of the model in tokens. Defaults to the context window of the configured model
+    @display {label: "Context Window"}
+    int contextWindow?;
+
+    # How requests that do not fit into the context window are handled
+    @display {label: "Overflow Strategy"}
+    CONTEXT_OVERFLOW_STRATEGY overflowStrategy = FAIL;
+|};
+
+# Represents an error returned when the estimated size of a request exceeds the context window of the model.
+public type ContextWindowExceededError distinct ai:Error;
+
+# Policies for handling requests when the rate limit of the API key is exhausted
+@display {label: "Rate Limit Policy"}
+public enum RATE_LIMIT_POLICY {
+    # Wait for capacity, up to the configured maximum wait time, before sending the request
+    WAIT = "wait",
+    # Reject the request without sending it
+    REJECT = "reject"
+}
+
+# Configurations for the client-side rate limiter shared by the providers that use the same API key.
+# The limits are recalibrated from the rate limit headers of the OpenAI API responses. If the providers that use
+# the same API key are configured with different limits, the lowest limit applies.
+@display {label: "Rate Limit Configuration"}
+public type RateLimitConfig record {|
+    # The number of requests allowed per minute. If not set, the limit is learnt from the API responses
+    @display {label: "Requests per Minute"}
+    int requestsPerMinute?;
+
+    # The number of tokens allowed per minute. If not set, the limit is learnt from the API responses
+    @display {label: "Tokens per Minute"}
+    int tokensPerMinute?;
+
+    # How requests are handled when the rate limit is exhausted
+    @display {label: "Policy"}
+    RATE_LIMIT_POLICY policy = WAIT;
+
+    # The maximum time (in seconds) to wait for capacity before a request is rejected
+    @display {label: "Maximum Wait Time"}
+    decimal maxWaitTime = 60;
+|};
+
+# Represents an error returned when a request is rejected by the client-side rate limiter.
+public type RateLimitExceededError distinct ai:Error;
+
+# Configurations for the jobs submitted to the OpenAI Batch API by `bulkGenerate` and `bulkEmbed`.
+@display {label: "Batch Job Configuration"}
+public type BatchJobConfig record {|
+    # The initial interval (in seconds) between polls of the status of a batch job
+    @display {label: "Poll Interval"}
+    decimal pollInterval = 10;
+
+    # The maximum interval (in seconds) between polls of the status of a batch job
+    @display {label: "Maximum Poll Interval"}
+    decimal maxPollInterval = 300;
+
+    # The factor by which the interval between polls grows after each poll
+    @display {label: "Backoff Factor"}
+    decimal backoffFactor = 2;
+
+    # The time (in seconds) after which a batch job that has not completed is cancelled
+    @display {label: "Timeout"}
+    decimal timeout = 86400;
+|};
+
+# Represents an error returned when a batch job fails, is cancelled, or does not complete in time.
+public type BatchJobError distinct ai:Error;
+
+# Configurations for laying out the chat requests to maximize the hits of the prompt prefix cache of the OpenAI API,
+# which reduces the latency and the cost of the requests whose leading tokens match a recent request. The tool
+# definitions are sent in a stable order, so that they are byte-identical regardless of the order in which they
+# are given.
+@display {label: "Prompt Cache Configuration"}
+public type PromptCacheConfig record {|
+    # The key sent as the `prompt_cache_key` of the requests, which routes the requests that share a prefix
+    # to the same cache. Requests are routed by their prefix alone if not set
+    @display {label: "Prompt Cache Key"}
+    string key?;
+|};
+
+# Levels of detail recorded in the observability spans of the providers
+@display {label: "Observability Mode"}
+public enum OBSERVABILITY_MODE {
+    # Spans are not recorded
+    OFF = "off",
+    # Only the metadata of the requests, such as the model, token counts, latency and finish reason,
+    # is recorded
+    METADATA = "metadata",
+    # The input and output payloads of the sampled requests are recorded along with the metadata
+    FULL = "full"
+}
+
+# Configurations for the observability spans recorded by the providers. The payloads of a request are
+# serialized only if tracing is enabled and the request is sampled.
+@display {label: "Observability Configuration"}
+public type ObservabilityConfig record {|
+    # The level of detail recorded in the spans
+    @display {label: "Mode"}
+    OBSERVABILITY_MODE mode = FULL;
+
+    # The ratio of requests, between 0.0 and 1.0, whose payloads are recorded in the `FULL` mode
+    @display {label: "Payload Sample Rate"}
+    float payloadSampleRate = 1.0;
+|};
+
 # Model types for OpenAI
 @display {label: "OpenAI Model Names"}
 public enum OPEN_AI_MODEL_NAMES {
@@ -117,6 +259,43 @@ public enum OPEN_AI_EMBEDDING_MODEL_NAMES {
     TEXT_EMBEDDING_ADA_002 = "text-embedding-ada-002"
 }
 
+# Formats in which the OpenAI API returns embeddings
+@display {label: "Embedding Encoding Format"}
+public enum EMBEDDING_ENCODING_FORMAT {
+    FLOAT = "float",
+    BASE64 = "base64"
+}
+
+# Client-side quantization schemes applied to embeddings
+@display {label: "Embedding Quantization"}
+public enum EMBEDDING_QUANTIZATION {
+    # Scalar quantization of each value to a signed 8-bit integer, with a scale per vector
+    INT8 = "int8",
+    # Quantization of each value to a single bit holding its sign
+    BINARY = "binary"
+}
+
+# Represents an embedding quantized to signed 8-bit integers.
+# The original value at index `i` is approximately `<float>(values[i] > 127 ? values[i] - 256 : values[i]) * scale`.
+public type Int8QuantizedEmbedding record {|
+    # The quantized values in two's complement form
+    byte[] values;
+    # The scale of the vector, which is the maximum absolute value of the embedding divided by 127
+    float scale;
+|};
+
+# Represents an embedding quantized to the signs of its values.
+public type BinaryQuantizedEmbedding record {|
+    # The sign bits packed eight to a byte, starting from the most significant bit.
+    # A set bit represents a positive value
+    byte[] bits;
+    # The number of dimensions of the original embedding
+    int dimensions;
+|};
+
+# Represents a quantized embedding.
+public type QuantizedEmbedding Int8QuantizedEmbedding|BinaryQuantizedEmbedding;
+
 type ToolInfo readonly & record {|
     string toolList;
     string toolIntro;
@@ -125,3 +304,7 @@ type ToolInfo readonly & record {|
 type LlmChatResponse record {|
     string content;
 |};
+
+type JsonSyntaxError distinct error;
+
+type JsonBindingError distinct error;
@@ -0,0 +1,204 @@
+// Copyright (c) 2025 WSO2 LLC (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/ai;
+import ballerina/http;
+import ballerina/io;
+import ballerina/lang.runtime;
+import ballerina/time;
+import ballerinax/ai.openai;
+
+# The port of the mock OpenAI server
+configurable int port = 9095;
+# The time (in seconds) taken by the mock OpenAI server to respond to each request
+configurable decimal mockLatency = 0.05;
+# The number of requests sent in each scenario
+configurable int requests = 1000;
+# The number of requests sent concurrently
+configurable int concurrency = 32;
+# The number of chunks embedded by each `batchEmbed` request
+configurable int batchSize = 64;
+# The number of dimensions of the embeddings returned by the mock OpenAI server
+configurable int embeddingDimensions = 1536;
+# The number of requests per minute allowed by the rate limited endpoints of the mock OpenAI server
+configurable int mockRequestsPerMinute = 600;
+# The file to which the results are written as JSON
+configurable string resultsFile = "target/results.json";
+
+const API_KEY = "load-test-api-key";
+
+final string serviceUrl = string `http://localhost:${port}/v1`;
+final openai:ModelProvider modelProvider = check new (API_KEY, openai:GPT_4O, serviceUrl);
+// Both providers send requests to the rate limited endpoint, and only the latter limits them on the client side.
+final openai:ModelProvider overLimitModelProvider = check new (API_KEY, openai:GPT_4O,
+    string `${serviceUrl}/limited`);
+final openai:ModelProvider rateLimitedModelProvider = check new (API_KEY, openai:GPT_4O,
+    string `${serviceUrl}/limited`, rateLimit = {requestsPerMinute: mockRequestsPerMinute});
+final openai:EmbeddingProvider embeddingProvider = check new (API_KEY, openai:TEXT_EMBEDDING_3_SMALL, serviceUrl,
+    batchConfig = {maxBatchSize: batchSize});
+final ai:TextChunk[] & readonly chunks = from int i in 0 ..< batchSize
+    select {content: string `Chunk ${i} of a document that is embedded to be retrieved for augmentation.`};
+
+type Review record {|
+    int rating;
+    string summary;
+|};
+
+# Latency percentiles of the requests of a scenario, in milliseconds.
+type LatencyStats record {|
+    decimal mean;
+    decimal p50;
+    decimal p90;
+    decimal p99;
+    decimal max;
+|};
+
+# Machine-readable result of a load test scenario.
+type ScenarioResult record {|
+    string scenario;
+    int requests;
+    int concurrency;
+    decimal mockLatencyMs;
+    int errors;
+    decimal durationSeconds;
+    decimal throughput;
+    # The number of successful requests per second
+    decimal goodput;
+    LatencyStats latencyMs;
+|};
+
+type WorkerResult record {|
+    decimal[] latencies;
+    int errors;
+|};
+
+type Operation isolated function (int index) returns error?;
+
+public function main() returns error? {
+    http:Listener mockListener = check new (port);
+    check mockListener.attach(mockOpenAiService, "/v1");
+    check mockListener.'start();
+    runtime:registerListener(mockListener);
+
+    ScenarioResult[] results = [
+        check runScenario("generate", generateReview),
+        check runScenario("batchEmbed", embedChunks)
+    ];
+    // The rate limited scenarios saturate the request limit of the mock, without and with the client-side rate
+    // limiter. Each scenario starts with the full limit available.
+    resetMockRateLimit();
+    results.push(check runScenario("generateOverLimit", generateReviewOverLimit));
+    resetMockRateLimit();
+    results.push(check runScenario("generateRateLimited", generateReviewRateLimited));
+    check mockListener.gracefulStop();
+    runtime:deregisterListener(mockListener);
+
+    check io:fileWriteJson(resultsFile, results.toJson());
+    foreach ScenarioResult result in results {
+        io:println(string `${result.scenario}: ${result.throughput} req/s, goodput ${result.goodput} req/s, ` +
+                string `p50 ${result.latencyMs.p50} ms, p99 ${result.latencyMs.p99} ms, ${result.errors} errors`);
+    }
+}
+
+isolated function generateReview(int index) returns error? => generateReviewWith(modelProvider, index);
+
+isolated function generateReviewOverLimit(int index) returns error? =>
+    generateReviewWith(overLimitModelProvider, index);
+
+isolated function generateReviewRateLimited(int index) returns error? =>
+    generateReviewWith(rateLimitedModelProvider, index);
+
+isolated function generateReviewWith(openai:ModelProvider provider, int index) returns error? {
+    Review review = check provider->generate(`Review blog post ${index} and rate it out of 10.`);
+    if review.rating < 0 || review.rating > 10 {
+        return error(string `Invalid rating: ${review.rating}`);
+    }
+}
+
+isolated function embedChunks(int index) returns error? {
+    ai:Embedding[] embeddings = check embeddingProvider->batchEmbed(chunks);
+    if embeddings.length() != chunks.length() {
+        return error(string `Expected ${chunks.length()} embeddings, received ${embeddings.length()}`);
+    }
+}
+
+function runScenario(string scenario, Operation operation) returns ScenarioResult|error {
+    decimal startTime = time:monotonicNow();
+    future<WorkerResult>[] workers = [];
+    foreach int worker in 0 ..< concurrency {
+        future<WorkerResult> result = start runWorker(worker, operation);
+        workers.push(result);
+    }
+
+    decimal[] latencies = [];
+    int errors = 0;
+    foreach future<WorkerResult> worker in workers {
+        WorkerResult|error result = wait worker;
+        if result is error {
+            return result;
+        }
+        latencies.push(...result.latencies);
+        errors += result.errors;
+    }
+    decimal duration = time:monotonicNow() - startTime;
+
+    return {
+        scenario,
+        requests,
+        concurrency,
+        mockLatencyMs: mockLatency * 1000,
+        errors,
+        durationSeconds: duration,
+        throughput: duration > 0d ? <decimal>requests / duration : 0d,
+        goodput: duration > 0d ? <decimal>(requests - errors) / duration : 0d,
+        latencyMs: computeLatencyStats(latencies)
+    };
+}
+
+isolated function runWorker(int worker, Operation operation) returns WorkerResult {
+    decimal[] latencies = [];
+    int errors = 0;
+    // The requests are distributed across the workers in a round robin manner.
+    foreach int index in int:range(worker, requests, concurrency) {
+        decimal startTime = time:monotonicNow();
+        error? result = operation(index);
+        latencies.push((time:monotonicNow() - startTime) * 1000);
+        if result is error {
+            errors += 1;
+        }
+    }
+    return {latencies, errors};
+}
+
+isolated function computeLatencyStats(decimal[] latencies) returns LatencyStats {
+    if latencies.length() == 0 {
+        return {mean: 0, p50: 0, p90: 0, p99: 0, max: 0};
+    }
+    decimal[] sorted = latencies.sort();
+    return {
+        mean: decimal:sum(...sorted) / <decimal>sorted.length(),
+        p50: getPercentile(sorted, 0.5),
+        p90: getPercentile(sorted, 0.9),
+        p99: getPercentile(sorted, 0.99),
+        max: sorted[sorted.length() - 1]
+    };
+}
+
+isolated function getPercentile(decimal[] sorted, decimal percentile) returns decimal {
+    int index = <int>decimal:floor(percentile * <decimal>sorted.length());
+    return sorted[int:min(index, sorted.length() - 1)];
+}
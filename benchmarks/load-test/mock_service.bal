@@ -0,0 +1,129 @@
+// Copyright (c) 2025 WSO2 LLC (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/http;
+import ballerina/lang.runtime;
+import ballerina/time;
+
+const REVIEW_ARGUMENTS = "{\"rating\": 7, \"summary\": \"A clear and well structured post.\"}";
+
+final float[] & readonly mockEmbedding = from int i in 0 ..< embeddingDimensions
+    select <float>(i % 100) / 100.0;
+
+// The request limit of the `limited` endpoints, which is refilled continuously as the limits of the OpenAI API are.
+isolated decimal availableRequests = <decimal>mockRequestsPerMinute;
+isolated decimal lastRefillTime = time:monotonicNow();
+
+// Responds to the chat completion and embedding requests of the load test after the configured latency.
+final http:Service mockOpenAiService = service object {
+    resource function post chat/completions(@http:Payload json payload) returns json {
+        runtime:sleep(mockLatency);
+        return getReviewCompletion();
+    }
+
+    // Enforces the request limit of the mock, responding with the `x-ratelimit-*` headers of the OpenAI API, and
+    // with the `429` status code once the limit is exhausted.
+    resource function post limited/chat/completions(@http:Payload json payload) returns http:Response {
+        [boolean, int, decimal] [admitted, remainingRequests, resetTime] = admitLimitedRequest();
+        http:Response response = new;
+        response.setHeader("x-ratelimit-limit-requests", mockRequestsPerMinute.toString());
+        response.setHeader("x-ratelimit-remaining-requests", remainingRequests.toString());
+        response.setHeader("x-ratelimit-reset-requests", string `${resetTime.round(3)}s`);
+        if !admitted {
+            response.statusCode = http:STATUS_TOO_MANY_REQUESTS;
+            response.setJsonPayload({
+                'error: {
+                    message: "Rate limit reached for requests",
+                    'type: "requests",
+                    code: "rate_limit_exceeded"
+                }
+            });
+            return response;
+        }
+        runtime:sleep(mockLatency);
+        response.setJsonPayload(getReviewCompletion());
+        return response;
+    }
+
+    resource function post embeddings(@http:Payload json payload) returns json|error {
+        runtime:sleep(mockLatency);
+        json input = check payload.input;
+        int inputCount = input is json[] ? input.length() : 1;
+        json[] data = from int i in 0 ..< inputCount
+            select {'object: "embedding", index: i, embedding: mockEmbedding};
+        return {
+            'object: "list",
+            data,
+            model: "text-embedding-3-small",
+            usage: {prompt_tokens: inputCount * 16, total_tokens: inputCount * 16}
+        };
+    }
+};
+
+// Admits a request if the request limit is not exhausted. Returns whether the request is admitted, the number of
+// remaining requests, and the time (in seconds) until the next request can be admitted.
+isolated function admitLimitedRequest() returns [boolean, int, decimal] {
+    decimal refillRate = <decimal>mockRequestsPerMinute / 60;
+    lock {
+        decimal now = time:monotonicNow();
+        availableRequests = decimal:min(<decimal>mockRequestsPerMinute,
+                availableRequests + (now - lastRefillTime) * refillRate);
+        lastRefillTime = now;
+        if availableRequests < 1d {
+            return [false, 0, (1d - availableRequests) / refillRate];
+        }
+        availableRequests -= 1;
+        return [true, <int>decimal:floor(availableRequests), 0];
+    }
+}
+
+// Refills the request limit, so that each rate limited scenario starts with the full limit available.
+isolated function resetMockRateLimit() {
+    lock {
+        availableRequests = <decimal>mockRequestsPerMinute;
+        lastRefillTime = time:monotonicNow();
+    }
+}
+
+isolated function getReviewCompletion() returns json {
+    return {
+        id: "load-test-id",
+        'object: "chat.completion",
+        created: 1234567890,
+        model: "gpt-4o",
+        choices: [
+            {
+                index: 0,
+                finish_reason: "tool_calls",
+                logprobs: (),
+                message: {
+                    role: "assistant",
+                    content: (),
+                    refusal: (),
+                    tool_calls: [
+                        {
+                            id: "tool-call-id",
+                            'type: "function",
+                            'function: {name: "getResults", arguments: REVIEW_ARGUMENTS}
+                        }
+                    ]
+                }
+            }
+        ],
+        usage: {prompt_tokens: 64, completion_tokens: 16, total_tokens: 80}
+    };
+}
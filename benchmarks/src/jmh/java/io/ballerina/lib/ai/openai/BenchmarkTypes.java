@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Representative expected types of `generate` calls, created through the runtime API.
+ *
+ * @since 1.3.4
+ */
+final class BenchmarkTypes {
+    private static final Module MODULE = new Module("benchmark", "types", "1");
+
+    private BenchmarkTypes() {
+    }
+
+    static Type create(String shape) {
+        return switch (shape) {
+            case "record" -> createReview();
+            case "nestedRecord" -> createArticle();
+            case "union" -> TypeCreator.createUnionType(createReview(), TypeCreator.createArrayType(createReview()),
+                    PredefinedTypes.TYPE_STRING);
+            case "tuple" -> TypeCreator.createTupleType(List.of(PredefinedTypes.TYPE_STRING, createReview()),
+                    PredefinedTypes.TYPE_INT, 0, false);
+            case "recursive" -> createCategory();
+            default -> throw new IllegalArgumentException("Unknown type shape: " + shape);
+        };
+    }
+
+    // type Review record {| string summary; int rating; Sentiment sentiment; string[] tags?; |};
+    private static RecordType createReview() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        addField(fields, "summary", PredefinedTypes.TYPE_STRING, true);
+        addField(fields, "rating", PredefinedTypes.TYPE_INT, true);
+        addField(fields, "sentiment", createSentiment(), true);
+        addField(fields, "tags", TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING), false);
+        return TypeCreator.createRecordType("Review", MODULE, 0, fields, null, true, 0);
+    }
+
+    // type Article record { string title; Author author; Review[] reviews; map<decimal> scores; };
+    private static RecordType createArticle() {
+        Map<String, Field> authorFields = new LinkedHashMap<>();
+        addField(authorFields, "name", PredefinedTypes.TYPE_STRING, true);
+        addField(authorFields, "email", PredefinedTypes.TYPE_STRING, false);
+        RecordType author = TypeCreator.createRecordType("Author", MODULE, 0, authorFields, null, true, 0);
+
+        Map<String, Field> fields = new LinkedHashMap<>();
+        addField(fields, "title", PredefinedTypes.TYPE_STRING, true);
+        addField(fields, "author", author, true);
+        addField(fields, "reviews", TypeCreator.createArrayType(createReview()), true);
+        addField(fields, "scores", TypeCreator.createMapType(PredefinedTypes.TYPE_DECIMAL), true);
+        return TypeCreator.createRecordType("Article", MODULE, 0, fields, PredefinedTypes.TYPE_ANYDATA, false, 0);
+    }
+
+    // type Category record {| string name; Category[] subcategories; |};
+    private static RecordType createCategory() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        addField(fields, "name", PredefinedTypes.TYPE_STRING, true);
+        RecordType category = TypeCreator.createRecordType("Category", MODULE, 0, fields, null, true, 0);
+        // The record type holds the field map by reference, which allows the field referring to the record
+        // itself to be added once the type is created.
+        addField(fields, "subcategories", TypeCreator.createArrayType(category), true);
+        return category;
+    }
+
+    private static Type createSentiment() {
+        Set<Object> values = new LinkedHashSet<>();
+        for (String value : new String[]{"positive", "neutral", "negative"}) {
+            values.add(StringUtils.fromString(value));
+        }
+        return TypeCreator.createFiniteType("Sentiment", values, 0);
+    }
+
+    private static void addField(Map<String, Field> fields, String name, Type type, boolean required) {
+        fields.put(name, TypeCreator.createField(type, name,
+                SymbolFlags.PUBLIC | (required ? SymbolFlags.REQUIRED : SymbolFlags.OPTIONAL)));
+    }
+}
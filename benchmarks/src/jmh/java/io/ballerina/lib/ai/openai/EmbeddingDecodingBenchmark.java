@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the decoding of an embedding received in the `base64` encoding format against parsing the same
+ * embedding received in the `float` encoding format.
+ *
+ * @since 1.3.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmbeddingDecodingBenchmark {
+    @Param({"256", "1536", "3072"})
+    public int dimensions;
+
+    private BString base64Embedding;
+    private String floatEmbedding;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        ByteBuffer buffer = ByteBuffer.allocate(this.dimensions * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        StringJoiner values = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < this.dimensions; i++) {
+            float value = random.nextFloat() * 2 - 1;
+            buffer.putFloat(value);
+            values.add(Float.toString(value));
+        }
+        this.base64Embedding = StringUtils.fromString(Base64.getEncoder().encodeToString(buffer.array()));
+        this.floatEmbedding = values.toString();
+    }
+
+    @Benchmark
+    public Object decodeBase64() {
+        return EmbeddingCodec.decodeBase64Embedding(this.base64Embedding);
+    }
+
+    @Benchmark
+    public Object parseFloatArray() {
+        return JsonUtils.parse(this.floatEmbedding);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks encoding image content as a base64 `data:` URL. The `interpolatedUrl` baseline encodes the content
+ * to a base64 string and interpolates it into the URL, as done before the native encoder. `encodeCached` encodes
+ * the same image repeatedly with an image URL cache, i.e., measures a cache hit, which hashes and compares the
+ * content, against `encodeUncached`, the default. Run with the `gc` profiler to compare the allocations per image.
+ *
+ * @since 1.3.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ImageEncodingBenchmark {
+    private static final String MIME_TYPE = "image/png";
+    private static final long CACHE_SIZE = 64L * 1024 * 1024;
+
+    @Param({"65536", "4194304"})
+    public int imageSize;
+
+    private byte[] content;
+    private BArray contentArray;
+    private BString mimeType;
+    private ImageEncoder.UrlCache cache;
+
+    @Setup
+    public void setup() {
+        this.content = new byte[this.imageSize];
+        new Random(42).nextBytes(this.content);
+        this.contentArray = ValueCreator.createArrayValue(this.content);
+        this.mimeType = StringUtils.fromString(MIME_TYPE);
+        this.cache = new ImageEncoder.UrlCache(CACHE_SIZE);
+    }
+
+    @Benchmark
+    public BString interpolatedUrl() {
+        BString encoded = StringUtils.fromString(Base64.getEncoder().encodeToString(this.content));
+        return StringUtils.fromString("data:" + MIME_TYPE + ";base64," + encoded.getValue());
+    }
+
+    @Benchmark
+    public String encode() {
+        return ImageEncoder.encode(this.content, MIME_TYPE);
+    }
+
+    @Benchmark
+    public BString encodeUncached() {
+        return ImageEncoder.encodeImageDataUrl(this.contentArray, this.mimeType, null);
+    }
+
+    @Benchmark
+    public String encodeCached() {
+        return this.cache.encode(this.content, MIME_TYPE);
+    }
+}
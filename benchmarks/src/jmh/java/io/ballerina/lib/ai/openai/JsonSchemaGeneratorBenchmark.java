@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the runtime generation of the JSON schemas of the expected types of `generate` calls, both through
+ * the memoized native entry point and without the cache.
+ *
+ * @since 1.3.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonSchemaGeneratorBenchmark {
+    @Param({"record", "nestedRecord", "union", "tuple", "recursive"})
+    public String shape;
+
+    private Type type;
+    private BTypedesc typedesc;
+
+    @Setup
+    public void setup() {
+        this.type = BenchmarkTypes.create(this.shape);
+        this.typedesc = ValueCreator.createTypedescValue(this.type);
+    }
+
+    @Benchmark
+    public Object generateMemoized() {
+        return Native.generateJsonSchemaForTypedescNative(this.typedesc);
+    }
+
+    @Benchmark
+    public BMap<BString, Object> generateUncached() {
+        return JsonSchemaGenerator.generateUncached(this.type);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the request-building work done for each prompt: rendering the prompt segments and estimating
+ * the number of tokens of the rendered prompt.
+ *
+ * @since 1.3.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PromptBenchmark {
+    private static final String SEGMENT = "Rate the following blog post out of 10, considering clarity, accuracy " +
+            "and depth. Respond only with the rating. Title: Tips for Growing a Beautiful Garden 2025 ";
+
+    @Param({"8", "256"})
+    public int segmentCount;
+
+    private BArray segments;
+    private String prompt;
+
+    @Setup
+    public void setup() {
+        BString[] values = new BString[this.segmentCount];
+        for (int i = 0; i < this.segmentCount; i++) {
+            values[i] = StringUtils.fromString(i % 2 == 0 ? SEGMENT : " {\"chunk\": " + i + "} ");
+        }
+        this.segments = ValueCreator.createArrayValue(values);
+        this.prompt = PromptRenderer.renderPrompt(this.segments, true).getValue();
+    }
+
+    @Benchmark
+    public BString renderPrompt() {
+        return PromptRenderer.renderPrompt(this.segments, true);
+    }
+
+    @Benchmark
+    public long countTokens() {
+        return TokenEstimator.countTokens(this.prompt);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks acquiring capacity from a rate limiter shared by the providers of an API key, with and without
+ * contention. The limits are high enough for every request to be admitted.
+ *
+ * @since 1.3.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RateLimiterBenchmark {
+    private static final BString KEY = StringUtils.fromString("benchmark-api-key");
+
+    @Setup
+    public void setup() {
+        RateLimiter.configureRateLimiter(KEY, Long.MAX_VALUE / 2, Long.MAX_VALUE / 2);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BDecimal acquireUncontended() {
+        return RateLimiter.tryAcquireRateLimit(KEY, 1000);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public BDecimal acquireContended() {
+        return RateLimiter.tryAcquireRateLimit(KEY, 1000);
+    }
+}
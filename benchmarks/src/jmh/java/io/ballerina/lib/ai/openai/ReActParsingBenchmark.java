@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the extraction and parsing of the actions of a corpus of ReAct responses, fed either whole or in
+ * chunks as they are received when streaming. The conversion of the parsed action to a Ballerina record is not
+ * included, as it requires the module to be initialized by the Ballerina runtime.
+ *
+ * @since 1.3.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReActParsingBenchmark {
+    private static final String[] RESPONSES = {
+            """
+            Thought: I need the weather of the city before answering.
+            Action:
+            ```json
+            {"action": "getWeather", "action_input": {"city": "Colombo", "unit": "celsius"}}
+            ```
+            """,
+            """
+            ```
+            {
+              "Action": "Final Answer",
+              "Action Input": "The weather in Colombo is 31 degrees Celsius and sunny."
+            }
+            ```""",
+            """
+            Thought: The tool does not take any arguments.
+            {"action": "listOrders", "action_input": "{}"} Observation pending.""",
+            """
+            ```json
+            {"action": "searchDocuments", "action-input": {"query": "refund policy", "filters": {"region": "EU",
+            "tags": ["billing", "returns"], "limit": 5}}}
+            ```
+            Waiting for the observation."""
+    };
+
+    // Zero feeds each response whole.
+    @Param({"0", "16"})
+    public int chunkSize;
+
+    @Benchmark
+    public void parseCorpus(Blackhole blackhole) {
+        for (String response : RESPONSES) {
+            ReActResponseParser.Scanner scanner = new ReActResponseParser.Scanner();
+            if (this.chunkSize == 0) {
+                scanner.feed(response);
+            } else {
+                for (int i = 0; i < response.length(); i += this.chunkSize) {
+                    scanner.feed(response.substring(i, Math.min(response.length(), i + this.chunkSize)));
+                }
+            }
+            blackhole.consume(ReActResponseParser.parseAction(scanner.actionBlock()));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.ValueUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks binding the tool call arguments of a `generate` response wrapped in the `result` property to the
+ * expected type, against parsing, re-serializing and parsing the arguments again before converting them. Arrays
+ * of maps are bound, as binding records requires the module to be initialized by the Ballerina runtime.
+ *
+ * @since 1.3.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseBindingBenchmark {
+    private static final BString RESULT = StringUtils.fromString("result");
+    private static final Type EXPECTED_TYPE = TypeCreator.createArrayType(
+            TypeCreator.createMapType(PredefinedTypes.TYPE_STRING));
+
+    @Param({"10", "1000"})
+    public int entries;
+
+    private String arguments;
+
+    @Setup
+    public void setup() {
+        StringJoiner result = new StringJoiner(", ", "{\"result\": [", "]}");
+        for (int i = 0; i < this.entries; i++) {
+            result.add(String.format("{\"name\": \"Product %d\", \"category\": \"Category %d\", " +
+                    "\"summary\": \"A \\\"quoted\\\" summary of product %d.\"}", i, i % 7, i));
+        }
+        this.arguments = result.toString();
+    }
+
+    @Benchmark
+    public Object bind() {
+        return ResponseBinder.bind(this.arguments, EXPECTED_TYPE, false);
+    }
+
+    @Benchmark
+    public Object parseTwiceAndConvert() {
+        Object arguments = JsonUtils.parse(this.arguments);
+        BMap<?, ?> reparsed = (BMap<?, ?>) JsonUtils.parse(StringUtils.getJsonString(arguments));
+        return ValueUtils.convert(reparsed.get(RESULT), EXPECTED_TYPE);
+    }
+}
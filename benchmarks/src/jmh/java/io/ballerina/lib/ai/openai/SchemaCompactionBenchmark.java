@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.swagger.v3.core.util.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the compaction of the JSON schemas generated by the compiler plugin. The `regexCompaction`
+ * baseline is the pretty printing and regular expression based compaction used before the streaming writer.
+ *
+ * @since 1.3.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchemaCompactionBenchmark {
+    private static final String NEW_LINE_REGEX = "\\R";
+    private static final String JSON_COMPRESSION_REGEX = "\\s*([{}\\[\\]:,])\\s*";
+
+    @Param({"4", "64"})
+    public int propertyCount;
+
+    private Map<String, Object> schema;
+    private String compactSchema;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < this.propertyCount; i++) {
+            properties.put("property" + i, i % 2 == 0 ? createItemSchema(i) : Map.of("type", "string",
+                    "description", "A string property, described in a sentence or two : [" + i + "]"));
+        }
+        this.schema = new LinkedHashMap<>();
+        this.schema.put("$schema", "https://json-schema.org/draft/2020-12/schema");
+        this.schema.put("type", "object");
+        this.schema.put("properties", properties);
+        this.schema.put("required", List.copyOf(properties.keySet()));
+        this.compactSchema = CompactJsonSchemaWriter.write(this.schema);
+    }
+
+    @Benchmark
+    public String regexCompaction() {
+        return Json.pretty(this.schema).replaceAll(NEW_LINE_REGEX, "").replaceAll(JSON_COMPRESSION_REGEX, "$1");
+    }
+
+    @Benchmark
+    public String streamingCompaction() {
+        return CompactJsonSchemaWriter.write(this.schema);
+    }
+
+    @Benchmark
+    public String toolSchema() {
+        return CompactJsonSchemaWriter.writeToolSchema(this.compactSchema);
+    }
+
+    private static Map<String, Object> createItemSchema(int index) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("type", "object");
+        item.put("properties", Map.of("id", Map.of("type", "integer"), "score", Map.of("type", "number")));
+        item.put("required", List.of("id"));
+        return Map.of("type", "array", "items", item, "minItems", index);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.ValueUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks resolving the tool parameter schema of the expected type of a `generate` call on a schema cache
+ * miss. With the `@GeneratedToolSchema` annotation written by the compiler plugin, the schema is a read-only
+ * value created when the module is initialized, hence it is looked up and type tested. Without it, the schema is
+ * generated, wrapped in the `result` property if the type is not an object, and converted with `cloneWithType`.
+ *
+ * @since 1.3.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ToolSchemaBenchmark {
+    private static final BString TOOL_SCHEMA_ANNOTATION = StringUtils.fromString("ai.openai:GeneratedToolSchema");
+    private static final BString TYPE = StringUtils.fromString("type");
+    private static final BString OBJECT = StringUtils.fromString("object");
+    private static final BString PROPERTIES = StringUtils.fromString("properties");
+    private static final BString RESULT = StringUtils.fromString("result");
+    private static final Set<String> METADATA_FIELDS =
+            Set.of("$schema", "$id", "$anchor", "$comment", "title", "description", "$defs");
+    private static final MapType JSON_MAP_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_JSON);
+
+    @Param({"record", "nestedRecord", "union", "tuple"})
+    public String shape;
+
+    private Type type;
+    private Map<BString, Object> annotations;
+
+    @Setup
+    public void setup() {
+        this.type = BenchmarkTypes.create(this.shape);
+        this.annotations = Map.of(TOOL_SCHEMA_ANNOTATION, buildToolSchema());
+    }
+
+    @Benchmark
+    public Object annotatedToolSchema() {
+        Object schema = this.annotations.get(TOOL_SCHEMA_ANNOTATION);
+        return schema instanceof BMap<?, ?> toolSchema && toolSchema.getType().isReadOnly() ? toolSchema : null;
+    }
+
+    @Benchmark
+    public Object builtToolSchema() {
+        return buildToolSchema();
+    }
+
+    private BMap<?, ?> buildToolSchema() {
+        BMap<BString, Object> schema = JsonSchemaGenerator.generateUncached(this.type);
+        BMap<?, ?> parameters = (BMap<?, ?>) ValueUtils.convert(wrap(schema), JSON_MAP_TYPE);
+        parameters.freezeDirect();
+        return parameters;
+    }
+
+    // Mirrors `generateJsonObjectSchema`, which wraps the schemas of the types that are not objects.
+    private static BMap<BString, Object> wrap(BMap<BString, Object> schema) {
+        if (OBJECT.equals(schema.get(TYPE))) {
+            return schema;
+        }
+        BMap<BString, Object> wrappedSchema = ValueCreator.createMapValue(JSON_MAP_TYPE);
+        BMap<BString, Object> content = ValueCreator.createMapValue(JSON_MAP_TYPE);
+        for (Map.Entry<BString, Object> entry : schema.entrySet()) {
+            if (METADATA_FIELDS.contains(entry.getKey().getValue())) {
+                wrappedSchema.put(entry.getKey(), entry.getValue());
+            } else {
+                content.put(entry.getKey(), entry.getValue());
+            }
+        }
+        BMap<BString, Object> properties = ValueCreator.createMapValue(JSON_MAP_TYPE);
+        properties.put(RESULT, content);
+        wrappedSchema.put(TYPE, OBJECT);
+        wrappedSchema.put(PROPERTIES, properties);
+        return wrappedSchema;
+    }
+}
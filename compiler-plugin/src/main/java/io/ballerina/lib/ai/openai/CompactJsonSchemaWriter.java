@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ai.openai;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serializes JSON schemas to compact JSON in a single streaming pass.
+ * <p>
+ * The output is identical to pretty printing the schema and then stripping line breaks and the whitespace
+ * around structural characters with regular expressions, which is how the schemas were compacted previously.
+ * As those expressions also applied to the content of strings, the same compaction is applied to the names and
+ * string values as they are written.
+ *
+ * @since 1.3.4
+ */
+final class CompactJsonSchemaWriter {
+    private static final char SPACE = ' ';
+    private static final String TYPE = "type";
+    private static final String OBJECT = "object";
+    private static final String PROPERTIES = "properties";
+    private static final String RESULT = "result";
+    private static final String PARAMETERS = "parameters";
+    private static final String IS_ORIGINALLY_JSON_OBJECT = "isOriginallyJsonObject";
+    private static final Set<String> METADATA_FIELDS =
+            Set.of("$schema", "$id", "$anchor", "$comment", "title", "description", "$defs");
+
+    private CompactJsonSchemaWriter() {
+    }
+
+    static String write(Object jsonSchema) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = new CompactingGenerator(Json.mapper().getFactory().createGenerator(writer))) {
+            Json.mapper().writeValue(generator, jsonSchema);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize the JSON schema", e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the tool parameter schema used to obtain a value conforming to the given JSON schema. Schemas
+     * that do not describe objects are wrapped in a `result` property, retaining the metadata fields at the
+     * top level, in the same way the schemas are wrapped at runtime.
+     *
+     * @param jsonSchema compact JSON schema of the expected type
+     * @return compact JSON of the tool parameter schema, along with whether the schema was wrapped
+     */
+    static String writeToolSchema(String jsonSchema) {
+        JsonNode schema;
+        try {
+            schema = Json.mapper().readTree(jsonSchema);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to parse the JSON schema", e);
+        }
+
+        boolean isOriginallyJsonObject = OBJECT.equals(schema.path(TYPE).textValue());
+        ObjectNode toolSchema = Json.mapper().createObjectNode();
+        toolSchema.set(PARAMETERS, isOriginallyJsonObject ? schema : wrapSchema(schema));
+        toolSchema.put(IS_ORIGINALLY_JSON_OBJECT, isOriginallyJsonObject);
+        return write(toolSchema);
+    }
+
+    private static ObjectNode wrapSchema(JsonNode schema) {
+        ObjectNode wrappedSchema = Json.mapper().createObjectNode();
+        ObjectNode content = Json.mapper().createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = schema.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (METADATA_FIELDS.contains(field.getKey())) {
+                wrappedSchema.set(field.getKey(), field.getValue());
+            } else {
+                content.set(field.getKey(), field.getValue());
+            }
+        }
+        wrappedSchema.put(TYPE, OBJECT);
+        wrappedSchema.putObject(PROPERTIES).set(RESULT, content);
+        return wrappedSchema;
+    }
+
+    static String compact(String text) {
+        String stripped = stripLineBreaks(text);
+        if (stripped.indexOf(SPACE) < 0) {
+            return stripped;
+        }
+
+        int length = stripped.length();
+        StringBuilder builder = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = stripped.charAt(i);
+            if (c != SPACE) {
+                builder.append(c);
+                i++;
+                continue;
+            }
+
+            int runEnd = i;
+            while (runEnd < length && stripped.charAt(runEnd) == SPACE) {
+                runEnd++;
+            }
+            boolean followsStructuralChar = !builder.isEmpty()
+                    && isStructuralChar(builder.charAt(builder.length() - 1));
+            boolean precedesStructuralChar = runEnd < length && isStructuralChar(stripped.charAt(runEnd));
+            if (!followsStructuralChar && !precedesStructuralChar) {
+                builder.append(stripped, i, runEnd);
+            }
+            i = runEnd;
+        }
+        return builder.toString();
+    }
+
+    // Strips the characters matched by `\R` that are written unescaped in JSON strings. The other line breaks
+    // are control characters, which are always escaped.
+    private static String stripLineBreaks(String text) {
+        StringBuilder builder = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean lineBreak = c == '\u0085' || c == '\u2028' || c == '\u2029';
+            if (lineBreak && builder == null) {
+                builder = new StringBuilder(text.length()).append(text, 0, i);
+            } else if (!lineBreak && builder != null) {
+                builder.append(c);
+            }
+        }
+        return builder == null ? text : builder.toString();
+    }
+
+    private static boolean isStructuralChar(char c) {
+        return c == '{' || c == '}' || c == '[' || c == ']' || c == ':' || c == ',';
+    }
+
+    private static final class CompactingGenerator extends JsonGeneratorDelegate {
+        CompactingGenerator(JsonGenerator delegate) {
+            super(delegate, false);
+        }
+
+        @Override
+        public void writeFieldName(String name) throws IOException {
+            super.writeFieldName(compact(name));
+        }
+
+        @Override
+        public void writeFieldName(SerializableString name) throws IOException {
+            writeFieldName(name.getValue());
+        }
+
+        @Override
+        public void writeString(String text) throws IOException {
+            super.writeString(compact(text));
+        }
+
+        @Override
+        public void writeString(char[] text, int offset, int len) throws IOException {
+            writeString(new String(text, offset, len));
+        }
+
+        @Override
+        public void writeString(SerializableString text) throws IOException {
+            writeString(text.getValue());
+        }
+
+        @Override
+        public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+            writeString(new String(text, offset, length, StandardCharsets.UTF_8));
+        }
+    }
+}
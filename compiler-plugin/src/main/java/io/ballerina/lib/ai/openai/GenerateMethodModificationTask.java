@@ -44,7 +44,7 @@ import io.ballerina.compiler.syntax.tree.NodeParser;
 import io.ballerina.compiler.syntax.tree.NodeVisitor;
 import io.ballerina.compiler.syntax.tree.QualifiedNameReferenceNode;
 import io.ballerina.compiler.syntax.tree.RemoteMethodCallActionNode;
-import io.ballerina.compiler.syntax.tree.SimpleNameReferenceNode;
+import io.ballerina.compiler.syntax.tree.SeparatedNodeList;
 import io.ballerina.compiler.syntax.tree.SyntaxKind;
 import io.ballerina.compiler.syntax.tree.TreeModifier;
 import io.ballerina.compiler.syntax.tree.TypeDefinitionNode;
@@ -58,18 +58,20 @@ import io.ballerina.projects.PackageCompilation;
 import io.ballerina.projects.plugins.ModifierTask;
 import io.ballerina.projects.plugins.SourceModifierContext;
 import io.ballerina.tools.text.TextDocument;
-import io.swagger.v3.core.util.Json;
 import io.swagger.v3.core.util.OpenAPISchema2JsonSchema;
 import io.swagger.v3.oas.models.media.Schema;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-
-import static io.ballerina.projects.util.ProjectConstants.EMPTY_STRING;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Modifier to add JSON schema annotations
@@ -84,6 +86,13 @@ class GenerateMethodModificationTask implements ModifierTask<SourceModifierConte
     private static final String OPENAI_MODEL_PROVIDER_MODULE_NAME = "ai.openai";
     private static final String OPENAI_MODEL_PROVIDER_MODULE_VERSION = "1";
     private static final String OPENAI_MODEL_PROVIDER_MODULE_ORG = "ballerinax";
+    private static final String GENERATE_METHOD_NAME = "generate";
+    private static final Set<String> GENERATE_METHOD_NAMES = Set.of(GENERATE_METHOD_NAME, "bulkGenerate");
+    private static final String GENERATED_OPENAI_IMPORT_PREFIX = "aiopenai";
+    private static final String TOOL_SCHEMA_HASH_SUFFIX = ":tool";
+    private static final String SCHEMA_GENERATION_METRICS_FORMAT = "{\"documents\": %d, \"generateCalls\": %d, " +
+            "\"schemaCacheHits\": %d, \"schemaCacheMisses\": %d, \"analysisTimeMillis\": %d, " +
+            "\"modificationTimeMillis\": %d}";
     private final AiOpenAICodeModifier.AnalysisData analysisData;
     private final ModifierData modifierData;
 
@@ -100,46 +109,92 @@ class GenerateMethodModificationTask implements ModifierTask<SourceModifierConte
             return;
         }
 
+        SchemaCache schemaCache = SchemaCache.load(currentPackage.project());
+        int documentCount = 0;
+        int generateCallCount = 0;
+        long analysisTime = 0;
+        long modificationTime = 0;
         for (ModuleId moduleId : currentPackage.moduleIds()) {
             Module module = currentPackage.module(moduleId);
             SemanticModel semanticModel = compilation.getSemanticModel(moduleId);
-            Collection<DocumentId> documentIds = module.documentIds();
-            Collection<DocumentId> testDocumentIds = module.testDocumentIds();
-
-            Types types = semanticModel.types();
-            Optional<Symbol> openAiModelProviderSymbol =
-                    types.getTypeByName(OPENAI_MODEL_PROVIDER_MODULE_ORG, OPENAI_MODEL_PROVIDER_MODULE_NAME,
-                            OPENAI_MODEL_PROVIDER_MODULE_VERSION, OPENAI_MODEL_PROVIDER_NAME);
-
-            for (DocumentId documentId : documentIds) {
-                analyzeDocument(module, documentId, semanticModel, openAiModelProviderSymbol);
+            List<Document> documents = getDocuments(module, module.documentIds());
+            List<Document> testDocuments = getDocuments(module, module.testDocumentIds());
+            documentCount += documents.size() + testDocuments.size();
+
+            long analysisStart = System.nanoTime();
+            // Syntax trees are immutable, hence the documents are scanned for `generate` calls in parallel.
+            // The calls are resolved on this thread as the semantic model is not safe for concurrent use.
+            List<DocumentScan> scans = Stream.concat(documents.stream(), testDocuments.stream())
+                    .parallel()
+                    .map(GenerateMethodModificationTask::scanDocument)
+                    .toList();
+            Map<String, String> typeDefinitions = new HashMap<>();
+            List<RemoteMethodCallActionNode> generateCalls = new ArrayList<>();
+            for (DocumentScan scan : scans) {
+                typeDefinitions.putAll(scan.typeDefinitions());
+                generateCalls.addAll(scan.generateCalls());
             }
-
-            for (DocumentId documentId : testDocumentIds) {
-                analyzeDocument(module, documentId, semanticModel, openAiModelProviderSymbol);
+            generateCallCount += generateCalls.size();
+
+            boolean hasGeneratedSchemas = false;
+            if (!generateCalls.isEmpty()) {
+                Types types = semanticModel.types();
+                Optional<Symbol> openAiModelProviderSymbol =
+                        types.getTypeByName(OPENAI_MODEL_PROVIDER_MODULE_ORG, OPENAI_MODEL_PROVIDER_MODULE_NAME,
+                                OPENAI_MODEL_PROVIDER_MODULE_VERSION, OPENAI_MODEL_PROVIDER_NAME);
+                String moduleName = module.descriptor().org().value() + "/" + module.descriptor().name();
+                GenerateMethodJsonSchemaGenerator generator = new GenerateMethodJsonSchemaGenerator(semanticModel,
+                        openAiModelProviderSymbol, this.analysisData,
+                        new TypeDefinitionHasher(moduleName, typeDefinitions), schemaCache);
+                generateCalls.forEach(generator::resolve);
+                hasGeneratedSchemas = generator.hasGeneratedSchemas();
             }
+            analysisTime += System.nanoTime() - analysisStart;
 
-            for (DocumentId documentId : documentIds) {
-                modifierContext.modifySourceFile(modifyDocument(module.document(documentId),
-                        modifierData), documentId);
+            // The modifier data accumulates across modules, hence whether this module yielded schemas is tracked
+            // separately, so that the modules without generated schemas are left unmodified.
+            if (!hasGeneratedSchemas) {
+                continue;
             }
-
-            for (DocumentId documentId : testDocumentIds) {
-                modifierContext.modifyTestSourceFile(modifyDocument(module.document(documentId),
-                        modifierData), documentId);
+            long modificationStart = System.nanoTime();
+            List<TextDocument> modifiedDocuments = documents.parallelStream()
+                    .map(document -> modifyDocument(document, this.modifierData))
+                    .toList();
+            List<TextDocument> modifiedTestDocuments = testDocuments.parallelStream()
+                    .map(document -> modifyDocument(document, this.modifierData))
+                    .toList();
+            for (int i = 0; i < documents.size(); i++) {
+                modifierContext.modifySourceFile(modifiedDocuments.get(i), documents.get(i).documentId());
+            }
+            for (int i = 0; i < testDocuments.size(); i++) {
+                modifierContext.modifyTestSourceFile(modifiedTestDocuments.get(i),
+                        testDocuments.get(i).documentId());
             }
+            modificationTime += System.nanoTime() - modificationStart;
         }
+
+        schemaCache.save(String.format(SCHEMA_GENERATION_METRICS_FORMAT, documentCount, generateCallCount,
+                schemaCache.hits(), schemaCache.misses(), TimeUnit.NANOSECONDS.toMillis(analysisTime),
+                TimeUnit.NANOSECONDS.toMillis(modificationTime)));
     }
 
-    private void analyzeDocument(Module module, DocumentId documentId, SemanticModel semanticModel,
-                                 Optional<Symbol> openAiModelProviderSymbol) {
-        Document document = module.document(documentId);
+    private static List<Document> getDocuments(Module module, Collection<DocumentId> documentIds) {
+        List<Document> documents = new ArrayList<>(documentIds.size());
+        for (DocumentId documentId : documentIds) {
+            documents.add(module.document(documentId));
+        }
+        return documents;
+    }
+
+    private static DocumentScan scanDocument(Document document) {
         Node rootNode = document.syntaxTree().rootNode();
         if (!(rootNode instanceof ModulePartNode modulePartNode)) {
-            return;
+            return new DocumentScan(List.of(), Map.of());
         }
 
-        analyzeGenerateMethod(semanticModel, modulePartNode, openAiModelProviderSymbol, this.analysisData);
+        GenerateCallCollector collector = new GenerateCallCollector();
+        modulePartNode.accept(collector);
+        return new DocumentScan(collector.generateCalls, collector.typeDefinitions);
     }
 
     private static TextDocument modifyDocument(Document document, ModifierData modifierData) {
@@ -147,16 +202,22 @@ class GenerateMethodModificationTask implements ModifierTask<SourceModifierConte
         DocumentId documentId = document.documentId();
         String aiImportPrefix = getAiModuleImportPrefix(modulePartNode.imports());
         boolean isAiImportPresent = aiImportPrefix != null;
+        Optional<ImportDeclarationNode> openAiImport = getOpenAiModuleImport(modulePartNode.imports());
+        String openAiImportPrefix = openAiImport.map(GenerateMethodModificationTask::getImportPrefix)
+                .orElse(GENERATED_OPENAI_IMPORT_PREFIX);
 
         TypeDefinitionModifier typeDefinitionModifier =
                 new TypeDefinitionModifier(modifierData.typeSchemas, document, modifierData,
-                        isAiImportPresent ? aiImportPrefix : AI_MODULE_NAME);
+                        isAiImportPresent ? aiImportPrefix : AI_MODULE_NAME, openAiImportPrefix);
 
         ModulePartNode finalRoot = (ModulePartNode) modulePartNode.apply(typeDefinitionModifier);
         NodeList<ImportDeclarationNode> imports = finalRoot.imports();
         if (modifierData.aiImportRequiredDocuments.contains(documentId) && !isAiImportPresent) {
             imports = imports.add(createImportDeclarationForAIModule());
         }
+        if (modifierData.openAiImportRequiredDocuments.contains(documentId) && openAiImport.isEmpty()) {
+            imports = imports.add(createImportDeclarationForOpenAiModule());
+        }
 
         finalRoot = finalRoot.modify(imports, finalRoot.members(), finalRoot.eofToken());
         return document.syntaxTree().modifyWith(finalRoot).textDocument();
@@ -166,11 +227,38 @@ class GenerateMethodModificationTask implements ModifierTask<SourceModifierConte
         return NodeParser.parseImportDeclaration(String.format("import %s/%s;", BALLERINA_ORG_NAME, AI_MODULE_NAME));
     }
 
-    private void analyzeGenerateMethod(SemanticModel semanticModel,
-                                       ModulePartNode modulePartNode, Optional<Symbol> openAiModelProviderSymbol,
-                                       AiOpenAICodeModifier.AnalysisData analysisData) {
-        new GenerateMethodJsonSchemaGenerator(semanticModel, openAiModelProviderSymbol, analysisData)
-                .generate(modulePartNode);
+    private static ImportDeclarationNode createImportDeclarationForOpenAiModule() {
+        return NodeParser.parseImportDeclaration(String.format("import %s/%s as %s;",
+                OPENAI_MODEL_PROVIDER_MODULE_ORG, OPENAI_MODEL_PROVIDER_MODULE_NAME, GENERATED_OPENAI_IMPORT_PREFIX));
+    }
+
+    private static Optional<ImportDeclarationNode> getOpenAiModuleImport(NodeList<ImportDeclarationNode> imports) {
+        for (ImportDeclarationNode importDeclarationNode : imports) {
+            Optional<ImportOrgNameNode> importOrgNameNode = importDeclarationNode.orgName();
+            if (importOrgNameNode.isEmpty()
+                    || !OPENAI_MODEL_PROVIDER_MODULE_ORG.equals(importOrgNameNode.get().orgName().text())) {
+                continue;
+            }
+
+            String moduleName = importDeclarationNode.moduleName().stream()
+                    .map(IdentifierToken::text)
+                    .collect(Collectors.joining("."));
+            if (OPENAI_MODEL_PROVIDER_MODULE_NAME.equals(moduleName)) {
+                return Optional.of(importDeclarationNode);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Returns `null` if the module is imported with the `_` prefix, as its symbols cannot be referred to.
+    private static String getImportPrefix(ImportDeclarationNode importDeclarationNode) {
+        Optional<ImportPrefixNode> prefix = importDeclarationNode.prefix();
+        if (prefix.isEmpty()) {
+            SeparatedNodeList<IdentifierToken> moduleName = importDeclarationNode.moduleName();
+            return moduleName.get(moduleName.size() - 1).text();
+        }
+        String prefixText = prefix.get().prefix().text();
+        return "_".equals(prefixText) ? null : prefixText;
     }
 
     private static String getAiModuleImportPrefix(NodeList<ImportDeclarationNode> imports) {
@@ -206,20 +294,48 @@ class GenerateMethodModificationTask implements ModifierTask<SourceModifierConte
         return null;
     }
 
-    private class GenerateMethodJsonSchemaGenerator extends NodeVisitor {
-        private static final String GENERATE_METHOD_NAME = "generate";
+    private record DocumentScan(List<RemoteMethodCallActionNode> generateCalls,
+                                Map<String, String> typeDefinitions) {
+    }
+
+    private static class GenerateCallCollector extends NodeVisitor {
+        private final List<RemoteMethodCallActionNode> generateCalls = new ArrayList<>();
+        private final Map<String, String> typeDefinitions = new HashMap<>();
+
+        @Override
+        public void visit(RemoteMethodCallActionNode remoteMethodCallActionNode) {
+            if (GENERATE_METHOD_NAMES.contains(remoteMethodCallActionNode.methodName().name().text())) {
+                this.generateCalls.add(remoteMethodCallActionNode);
+                return;
+            }
+            this.visitSyntaxNode(remoteMethodCallActionNode);
+        }
+
+        @Override
+        public void visit(TypeDefinitionNode typeDefinitionNode) {
+            this.typeDefinitions.put(typeDefinitionNode.typeName().text(), typeDefinitionNode.toSourceCode());
+        }
+    }
+
+    private class GenerateMethodJsonSchemaGenerator {
         private static final String STRING = "string";
         private static final String BYTE = "byte";
         private static final String NUMBER = "number";
         private final SemanticModel semanticModel;
         private final TypeMapper typeMapper;
+        private final TypeDefinitionHasher typeDefinitionHasher;
+        private final SchemaCache schemaCache;
         private final ClassSymbol openaiProviderSymbol;
+        private boolean generatedSchemas = false;
 
         public GenerateMethodJsonSchemaGenerator(SemanticModel semanticModel,
                                                  Optional<Symbol> openAiModelProviderSymbolOpt,
-                                                 AiOpenAICodeModifier.AnalysisData analyserData) {
+                                                 AiOpenAICodeModifier.AnalysisData analyserData,
+                                                 TypeDefinitionHasher typeDefinitionHasher, SchemaCache schemaCache) {
             this.semanticModel = semanticModel;
             this.typeMapper = analyserData.typeMapper;
+            this.typeDefinitionHasher = typeDefinitionHasher;
+            this.schemaCache = schemaCache;
             if (openAiModelProviderSymbolOpt.isEmpty()) {
                 this.openaiProviderSymbol = null;
                 return;
@@ -233,19 +349,10 @@ class GenerateMethodModificationTask implements ModifierTask<SourceModifierConte
             }
         }
 
-        void generate(ModulePartNode modulePartNode) {
+        void resolve(RemoteMethodCallActionNode remoteMethodCallActionNode) {
             if (this.openaiProviderSymbol == null) {
                 return;
             }
-            visit(modulePartNode);
-        }
-
-        public void visit(RemoteMethodCallActionNode remoteMethodCallActionNode) {
-            SimpleNameReferenceNode methodName = remoteMethodCallActionNode.methodName();
-            if (!methodName.name().text().equals(GENERATE_METHOD_NAME)) {
-                this.visitSyntaxNode(remoteMethodCallActionNode);
-                return;
-            }
 
             ExpressionNode expression = remoteMethodCallActionNode.expression();
             semanticModel.typeOf(expression).ifPresent(expressionTypeSymbol -> {
@@ -255,44 +362,93 @@ class GenerateMethodModificationTask implements ModifierTask<SourceModifierConte
             });
         }
 
+        boolean hasGeneratedSchemas() {
+            return this.generatedSchemas;
+        }
+
         private void updateTypeSchemaForTypeDef(RemoteMethodCallActionNode remoteMethodCallActionNode) {
-            semanticModel.typeOf(remoteMethodCallActionNode).ifPresent(symbol -> populateTypeSchema(symbol,
-                    this.typeMapper, modifierData.typeSchemas, this.semanticModel.types().ANYDATA));
+            boolean isGenerateCall = GENERATE_METHOD_NAME.equals(remoteMethodCallActionNode.methodName().name().text());
+            semanticModel.typeOf(remoteMethodCallActionNode).ifPresent(symbol -> {
+                populateTypeSchema(symbol, modifierData.typeSchemas, this.semanticModel.types().ANYDATA);
+                if (isGenerateCall) {
+                    getExpectedTypeReference(symbol).ifPresent(this::populateToolSchema);
+                }
+            });
         }
 
-        private static void populateTypeSchema(TypeSymbol memberType, TypeMapper typeMapper,
-                                               Map<String, String> typeSchemas, TypeSymbol anydataType) {
+        // The tool parameter schema can be precomputed only when the expected type of the `generate` call,
+        // i.e., the return type without the error type, refers to a single type definition.
+        private Optional<TypeReferenceTypeSymbol> getExpectedTypeReference(TypeSymbol returnType) {
+            if (!(returnType instanceof UnionTypeSymbol unionType)) {
+                return Optional.empty();
+            }
+
+            Types types = this.semanticModel.types();
+            List<TypeSymbol> expectedTypes = unionType.memberTypeDescriptors().stream()
+                    .filter(member -> !member.subtypeOf(types.ERROR))
+                    .toList();
+            if (expectedTypes.size() == 1 && expectedTypes.getFirst() instanceof TypeReferenceTypeSymbol typeReference
+                    && typeReference.subtypeOf(types.ANYDATA)) {
+                return Optional.of(typeReference);
+            }
+            return Optional.empty();
+        }
+
+        private void populateToolSchema(TypeReferenceTypeSymbol typeReference) {
+            String typeName = typeReference.definition().getName().get();
+            String jsonSchema = modifierData.typeSchemas.get(typeName);
+            if (jsonSchema == null) {
+                return;
+            }
+
+            String hash = this.typeDefinitionHasher.hash(typeReference) + TOOL_SCHEMA_HASH_SUFFIX;
+            String toolSchema = this.schemaCache.get(hash);
+            if (toolSchema == null) {
+                toolSchema = CompactJsonSchemaWriter.writeToolSchema(jsonSchema);
+                this.schemaCache.put(hash, toolSchema);
+            }
+            modifierData.toolSchemas.put(typeName, toolSchema);
+        }
+
+        private void populateTypeSchema(TypeSymbol memberType, Map<String, String> typeSchemas,
+                                        TypeSymbol anydataType) {
             switch (memberType) {
                 case TypeReferenceTypeSymbol typeReference -> {
                     if (!typeReference.subtypeOf(anydataType)) {
                         return;
                     }
-                    typeSchemas.put(typeReference.definition().getName().get(),
-                            getJsonSchema(typeMapper.getSchema(typeReference)));
+                    typeSchemas.put(typeReference.definition().getName().get(), getJsonSchema(typeReference));
+                    this.generatedSchemas = true;
                 }
                 case ArrayTypeSymbol arrayType ->
-                        populateTypeSchema(arrayType.memberTypeDescriptor(), typeMapper, typeSchemas, anydataType);
+                        populateTypeSchema(arrayType.memberTypeDescriptor(), typeSchemas, anydataType);
                 case TupleTypeSymbol tupleType ->
                         tupleType.members().forEach(member ->
-                                populateTypeSchema(member.typeDescriptor(), typeMapper, typeSchemas, anydataType));
+                                populateTypeSchema(member.typeDescriptor(), typeSchemas, anydataType));
                 case RecordTypeSymbol recordType ->
                         recordType.fieldDescriptors().values().forEach(field ->
-                                populateTypeSchema(field.typeDescriptor(), typeMapper, typeSchemas, anydataType));
+                                populateTypeSchema(field.typeDescriptor(), typeSchemas, anydataType));
                 case UnionTypeSymbol unionTypeSymbol -> unionTypeSymbol.memberTypeDescriptors().forEach(member ->
-                        populateTypeSchema(member, typeMapper, typeSchemas, anydataType));
+                        populateTypeSchema(member, typeSchemas, anydataType));
                 default -> { }
             }
         }
 
+        private String getJsonSchema(TypeReferenceTypeSymbol typeReference) {
+            String hash = this.typeDefinitionHasher.hash(typeReference);
+            String schema = this.schemaCache.get(hash);
+            if (schema == null) {
+                schema = getJsonSchema(this.typeMapper.getSchema(typeReference));
+                this.schemaCache.put(hash, schema);
+            }
+            return schema;
+        }
+
         private static String getJsonSchema(Schema schema) {
             modifySchema(schema);
             OpenAPISchema2JsonSchema openAPISchema2JsonSchema = new OpenAPISchema2JsonSchema();
             openAPISchema2JsonSchema.process(schema);
-            String newLineRegex = "\\R";
-            String jsonCompressionRegex = "\\s*([{}\\[\\]:,])\\s*";
-            return Json.pretty(schema.getJsonSchema())
-                    .replaceAll(newLineRegex, EMPTY_STRING)
-                    .replaceAll(jsonCompressionRegex, "$1");
+            return CompactJsonSchemaWriter.write(schema.getJsonSchema());
         }
 
         private static void modifySchema(Schema schema) {
@@ -383,31 +539,33 @@ class GenerateMethodModificationTask implements ModifierTask<SourceModifierConte
             schema.setExtensions(null);
             schema.setConst(null);
         }
-
-        public void visit(Node node) {
-            this.visitSyntaxNode(node);
-        }
     }
 
     static final class ModifierData {
-        Map<String, String> typeSchemas = new HashMap<>();
-        HashSet<DocumentId> aiImportRequiredDocuments = new HashSet<>();
+        // Documents are modified in parallel, hence the data is held in concurrent collections.
+        Map<String, String> typeSchemas = new ConcurrentHashMap<>();
+        Map<String, String> toolSchemas = new ConcurrentHashMap<>();
+        Set<DocumentId> aiImportRequiredDocuments = ConcurrentHashMap.newKeySet();
+        Set<DocumentId> openAiImportRequiredDocuments = ConcurrentHashMap.newKeySet();
     }
 
     private static class TypeDefinitionModifier extends TreeModifier {
         private static final String SCHEMA_ANNOTATION_IDENTIFIER = "JsonSchema";
+        private static final String TOOL_SCHEMA_ANNOTATION_IDENTIFIER = "GeneratedToolSchema";
         private static final String COLON = ":";
         private final Map<String, String> typeSchemas;
         private final Document document;
         private final ModifierData modifierData;
         private final String aiPrefix;
+        private final String openAiPrefix;
 
         TypeDefinitionModifier(Map<String, String> typeSchemas, Document document,
-                               ModifierData modifierData, String aiPrefix) {
+                               ModifierData modifierData, String aiPrefix, String openAiPrefix) {
             this.typeSchemas = typeSchemas;
             this.document = document;
             this.modifierData = modifierData;
             this.aiPrefix = aiPrefix != null ? aiPrefix : AI_MODULE_NAME;
+            this.openAiPrefix = openAiPrefix;
         }
 
         @Override
@@ -418,18 +576,31 @@ class GenerateMethodModificationTask implements ModifierTask<SourceModifierConte
                 return typeDefinitionNode;
             }
 
-            MetadataNode updatedMetadataNode =
-                    updateMetadata(typeDefinitionNode, typeSchemas.get(typeName));
+            MetadataNode updatedMetadataNode = updateMetadata(typeDefinitionNode, typeSchemas.get(typeName),
+                    modifierData.toolSchemas.get(typeName));
             return typeDefinitionNode.modify().withMetadata(updatedMetadataNode).apply();
         }
 
-        private MetadataNode updateMetadata(TypeDefinitionNode typeDefinitionNode, String schema) {
+        private MetadataNode updateMetadata(TypeDefinitionNode typeDefinitionNode, String schema, String toolSchema) {
             MetadataNode metadataNode = getMetadataNode(typeDefinitionNode);
             NodeList<AnnotationNode> currentAnnotations = metadataNode.annotations();
-            NodeList<AnnotationNode> updatedAnnotations = updateAnnotations(currentAnnotations, schema, this.aiPrefix);
-            if (currentAnnotations.size() < updatedAnnotations.size()) {
+            NodeList<AnnotationNode> updatedAnnotations =
+                    updateAnnotations(currentAnnotations, schema, this.aiPrefix, SCHEMA_ANNOTATION_IDENTIFIER);
+            boolean isSchemaGenerated = currentAnnotations.size() < updatedAnnotations.size();
+            if (isSchemaGenerated) {
                 modifierData.aiImportRequiredDocuments.add(document.documentId());
             }
+
+            // The tool schema is derived from the generated schema, hence it is not added if the type already has
+            // a user-defined schema, which is then used to build the tool schema at runtime.
+            if (isSchemaGenerated && toolSchema != null && this.openAiPrefix != null) {
+                int annotationCount = updatedAnnotations.size();
+                updatedAnnotations = updateAnnotations(updatedAnnotations, toolSchema, this.openAiPrefix,
+                        TOOL_SCHEMA_ANNOTATION_IDENTIFIER);
+                if (annotationCount < updatedAnnotations.size()) {
+                    modifierData.openAiImportRequiredDocuments.add(document.documentId());
+                }
+            }
             return metadataNode.modify().withAnnotations(updatedAnnotations).apply();
         }
 
@@ -441,30 +612,33 @@ class GenerateMethodModificationTask implements ModifierTask<SourceModifierConte
         }
 
         private static NodeList<AnnotationNode> updateAnnotations(NodeList<AnnotationNode> currentAnnotations,
-                                                                  String jsonSchema, String aiPrefix) {
+                                                                  String jsonSchema, String prefix,
+                                                                  String annotationIdentifier) {
             for (AnnotationNode annotationNode : currentAnnotations) {
-                if (isJsonSchemaAnnotationAvailable(annotationNode, aiPrefix)) {
+                if (isAnnotationAvailable(annotationNode, prefix, annotationIdentifier)) {
                     return currentAnnotations;
                 }
             }
 
-            return currentAnnotations.add(getSchemaAnnotation(jsonSchema, aiPrefix));
+            return currentAnnotations.add(getSchemaAnnotation(jsonSchema, prefix, annotationIdentifier));
         }
 
-        public static boolean isJsonSchemaAnnotationAvailable(AnnotationNode annotationNode, String aiPrefix) {
+        public static boolean isAnnotationAvailable(AnnotationNode annotationNode, String prefix,
+                                                    String annotationIdentifier) {
             Node node = annotationNode.annotReference();
             if (!(node instanceof QualifiedNameReferenceNode referenceNode)) {
                 return false;
             }
 
-            if (!aiPrefix.equals(referenceNode.modulePrefix().text())) {
+            if (!prefix.equals(referenceNode.modulePrefix().text())) {
                 return false;
             }
-            return SCHEMA_ANNOTATION_IDENTIFIER.equals(referenceNode.identifier().text());
+            return annotationIdentifier.equals(referenceNode.identifier().text());
         }
 
-        public static AnnotationNode getSchemaAnnotation(String jsonSchema, String aiPrefix) {
-            String configIdentifierString = aiPrefix + COLON + SCHEMA_ANNOTATION_IDENTIFIER;
+        public static AnnotationNode getSchemaAnnotation(String jsonSchema, String prefix,
+                                                         String annotationIdentifier) {
+            String configIdentifierString = prefix + COLON + annotationIdentifier;
             IdentifierToken identifierToken = NodeFactory.createIdentifierToken(configIdentifierString);
 
             return NodeFactory.createAnnotationNode(
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.projects.Project;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache of the JSON schemas generated for type definitions, keyed by the hash computed by
+ * {@link TypeDefinitionHasher}. The schemas used by a build are persisted in the target directory of the
+ * package, so that the types that have not changed are not mapped again by subsequent builds. Schemas are also
+ * retained in memory, which serves repeated compilations in long-running processes such as the language server.
+ *
+ * @since 1.3.4
+ */
+final class SchemaCache {
+    // The cached schemas are discarded when the plugin version changes. As development builds share the plugin
+    // version, the schema format version is also bumped by the changes to the generated schemas.
+    private static final String SCHEMA_FORMAT_VERSION = "2";
+    private static final String PLUGIN_PROPERTIES = "plugin.properties";
+    private static final String PLUGIN_VERSION_KEY = "version";
+    private static final String CACHE_VERSION = SCHEMA_FORMAT_VERSION + ":" + loadPluginVersion();
+    private static final String CACHE_VERSION_KEY = "cache.version";
+    private static final Path CACHE_DIRECTORY = Path.of("cache", "ai.openai");
+    private static final String CACHE_FILE_NAME = "json-schemas.properties";
+    private static final String METRICS_FILE_NAME = "json-schema-metrics.json";
+    private static final int MAX_IN_MEMORY_ENTRIES = 4096;
+    private static final Map<String, String> IN_MEMORY_SCHEMAS = new ConcurrentHashMap<>();
+
+    private final Path cacheDirectory;
+    private final Map<String, String> persistedSchemas = new ConcurrentHashMap<>();
+    private final Map<String, String> usedSchemas = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private SchemaCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    static SchemaCache load(Project project) {
+        Path cacheDirectory;
+        try {
+            cacheDirectory = project.targetDir().resolve(CACHE_DIRECTORY);
+        } catch (RuntimeException e) {
+            // Projects without a target directory only use the in-memory cache.
+            return new SchemaCache(null);
+        }
+
+        SchemaCache cache = new SchemaCache(cacheDirectory);
+        Path cacheFile = cacheDirectory.resolve(CACHE_FILE_NAME);
+        if (!Files.isRegularFile(cacheFile)) {
+            return cache;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            // A corrupted cache is discarded and rebuilt.
+            return cache;
+        }
+        if (!CACHE_VERSION.equals(properties.getProperty(CACHE_VERSION_KEY))) {
+            return cache;
+        }
+        properties.remove(CACHE_VERSION_KEY);
+        properties.forEach((hash, schema) -> cache.persistedSchemas.put((String) hash, (String) schema));
+        return cache;
+    }
+
+    private static String loadPluginVersion() {
+        Properties properties = new Properties();
+        try (InputStream stream = SchemaCache.class.getResourceAsStream(PLUGIN_PROPERTIES)) {
+            if (stream != null) {
+                properties.load(stream);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // The cache is then invalidated by the schema format version alone.
+            return "";
+        }
+        return properties.getProperty(PLUGIN_VERSION_KEY, "");
+    }
+
+    String get(String hash) {
+        String schema = IN_MEMORY_SCHEMAS.get(hash);
+        if (schema == null) {
+            schema = this.persistedSchemas.get(hash);
+        }
+        if (schema == null) {
+            this.misses.incrementAndGet();
+            return null;
+        }
+        this.hits.incrementAndGet();
+        this.usedSchemas.put(hash, schema);
+        return schema;
+    }
+
+    void put(String hash, String schema) {
+        if (IN_MEMORY_SCHEMAS.size() >= MAX_IN_MEMORY_ENTRIES) {
+            IN_MEMORY_SCHEMAS.clear();
+        }
+        IN_MEMORY_SCHEMAS.put(hash, schema);
+        this.usedSchemas.put(hash, schema);
+    }
+
+    int hits() {
+        return this.hits.get();
+    }
+
+    int misses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Persists the schemas used by the current build, which drops the schemas of the types that are no longer
+     * used, and records the metrics of the build next to the cache.
+     *
+     * @param metrics the metrics of the schema generation, in JSON
+     * @return whether the cache was persisted
+     */
+    boolean save(String metrics) {
+        if (this.cacheDirectory == null) {
+            return false;
+        }
+        try {
+            Files.createDirectories(this.cacheDirectory);
+            if (!this.usedSchemas.equals(this.persistedSchemas)) {
+                Properties properties = new Properties();
+                properties.putAll(this.usedSchemas);
+                properties.setProperty(CACHE_VERSION_KEY, CACHE_VERSION);
+                try (Writer writer = Files.newBufferedWriter(this.cacheDirectory.resolve(CACHE_FILE_NAME),
+                        StandardCharsets.UTF_8)) {
+                    properties.store(writer, null);
+                }
+            }
+            Files.writeString(this.cacheDirectory.resolve(METRICS_FILE_NAME), metrics, StandardCharsets.UTF_8);
+            return true;
+        } catch (IOException e) {
+            // The cache is an optimization, hence failing to persist it does not fail the build.
+            return false;
+        }
+    }
+}
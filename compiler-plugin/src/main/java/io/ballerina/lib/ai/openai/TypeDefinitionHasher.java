@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.compiler.api.ModuleID;
+import io.ballerina.compiler.api.symbols.ArrayTypeSymbol;
+import io.ballerina.compiler.api.symbols.IntersectionTypeSymbol;
+import io.ballerina.compiler.api.symbols.MapTypeSymbol;
+import io.ballerina.compiler.api.symbols.ModuleSymbol;
+import io.ballerina.compiler.api.symbols.RecordTypeSymbol;
+import io.ballerina.compiler.api.symbols.TableTypeSymbol;
+import io.ballerina.compiler.api.symbols.TupleTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeReferenceTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes a hash that identifies the JSON schema generated for a type definition. The hash covers the
+ * definition itself and every type definition it transitively refers to. Definitions of the current module
+ * contribute their source text, including documentation and annotations, while definitions of imported modules
+ * contribute their module version and type signature.
+ *
+ * @since 1.3.4
+ */
+final class TypeDefinitionHasher {
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    // The `org/name` of the module being compiled and the source text of its type definitions, keyed by name.
+    private final String currentModule;
+    private final Map<String, String> localDefinitions;
+
+    TypeDefinitionHasher(String currentModule, Map<String, String> localDefinitions) {
+        this.currentModule = currentModule;
+        this.localDefinitions = localDefinitions;
+    }
+
+    String hash(TypeReferenceTypeSymbol typeReference) {
+        Map<String, String> definitions = new TreeMap<>();
+        collectDefinitions(typeReference, definitions);
+
+        MessageDigest digest = createDigest();
+        for (Map.Entry<String, String> definition : definitions.entrySet()) {
+            digest.update(definition.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(definition.getValue().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String getModuleName(ModuleID moduleId) {
+        return moduleId.orgName() + "/" + moduleId.moduleName();
+    }
+
+    private void collectDefinitions(TypeSymbol typeSymbol, Map<String, String> definitions) {
+        switch (typeSymbol) {
+            case TypeReferenceTypeSymbol typeReference -> collectReferencedDefinition(typeReference, definitions);
+            case ArrayTypeSymbol arrayType -> collectDefinitions(arrayType.memberTypeDescriptor(), definitions);
+            case TupleTypeSymbol tupleType -> {
+                tupleType.members().forEach(member -> collectDefinitions(member.typeDescriptor(), definitions));
+                tupleType.restTypeDescriptor().ifPresent(rest -> collectDefinitions(rest, definitions));
+            }
+            case RecordTypeSymbol recordType -> {
+                recordType.typeInclusions().forEach(inclusion -> collectDefinitions(inclusion, definitions));
+                recordType.fieldDescriptors().values()
+                        .forEach(field -> collectDefinitions(field.typeDescriptor(), definitions));
+                recordType.restTypeDescriptor().ifPresent(rest -> collectDefinitions(rest, definitions));
+            }
+            case UnionTypeSymbol unionType ->
+                    unionType.memberTypeDescriptors().forEach(member -> collectDefinitions(member, definitions));
+            case IntersectionTypeSymbol intersectionType ->
+                    intersectionType.memberTypeDescriptors()
+                            .forEach(member -> collectDefinitions(member, definitions));
+            case MapTypeSymbol mapType -> collectDefinitions(mapType.typeParam(), definitions);
+            case TableTypeSymbol tableType -> collectDefinitions(tableType.rowTypeParameter(), definitions);
+            default -> { }
+        }
+    }
+
+    private void collectReferencedDefinition(TypeReferenceTypeSymbol typeReference, Map<String, String> definitions) {
+        String typeName = typeReference.definition().getName().orElse(typeReference.signature());
+        String moduleName = typeReference.getModule().map(ModuleSymbol::id)
+                .map(TypeDefinitionHasher::getModuleName).orElse("");
+        String key = moduleName + ":" + typeName;
+        if (definitions.containsKey(key)) {
+            return;
+        }
+
+        String localDefinition = this.currentModule.equals(moduleName) ? this.localDefinitions.get(typeName) : null;
+        if (localDefinition != null) {
+            definitions.put(key, localDefinition);
+        } else {
+            String version = typeReference.getModule().map(module -> module.id().version()).orElse("");
+            definitions.put(key, version + ":" + typeReference.typeDescriptor().signature());
+        }
+        // Recursive type definitions terminate as the key is registered before the members are visited.
+        collectDefinitions(typeReference.typeDescriptor(), definitions);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported by the platform", e);
+        }
+    }
+}
@@ -22,5 +22,7 @@ module io.ballerina.lib.ai.openai.plugin {
     requires io.ballerina.tools.api;
     requires io.ballerina.openapi.service;
     requires io.swagger.v3.core;
+    requires com.fasterxml.jackson.core;
+    requires com.fasterxml.jackson.databind;
     requires io.swagger.v3.oas.models;
 }
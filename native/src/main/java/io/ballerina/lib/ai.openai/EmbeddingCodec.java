@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Base64;
+import java.util.Map;
+
+import static io.ballerina.lib.ai.openai.Native.AI_OPENAI_MODULE;
+
+/**
+ * Decodes embeddings returned by the OpenAI API in the `base64` encoding format, and quantizes embeddings
+ * into compact representations.
+ *
+ * @since 1.3.4
+ */
+public final class EmbeddingCodec {
+    private static final String INT8_QUANTIZED_EMBEDDING = "Int8QuantizedEmbedding";
+    private static final String BINARY_QUANTIZED_EMBEDDING = "BinaryQuantizedEmbedding";
+    private static final int INT8_MAX = 127;
+
+    private EmbeddingCodec() {
+    }
+
+    /**
+     * Decodes a base64 encoded vector of little-endian float32 values directly into a Ballerina
+     * `float[]` backed by a primitive array.
+     *
+     * @param encoded the base64 encoded embedding
+     * @return the decoded embedding, or an error if the value is not a valid encoded vector
+     */
+    public static Object decodeBase64Embedding(BString encoded) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(encoded.getValue());
+        } catch (IllegalArgumentException e) {
+            return Native.createAIError(StringUtils.fromString("Invalid base64 encoded embedding: " +
+                    e.getMessage()));
+        }
+        if (bytes.length % Float.BYTES != 0) {
+            return Native.createAIError(StringUtils.fromString(
+                    "Invalid base64 encoded embedding: length is not a multiple of " + Float.BYTES + " bytes"));
+        }
+
+        FloatBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        double[] values = new double[buffer.remaining()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.get(i);
+        }
+        return ValueCreator.createArrayValue(values);
+    }
+
+    /**
+     * Quantizes each value of the embedding to a signed 8-bit integer, scaled by the maximum absolute value
+     * of the embedding.
+     *
+     * @param embedding the embedding to quantize
+     * @return an `Int8QuantizedEmbedding` record
+     */
+    public static BMap<BString, Object> quantizeToInt8(BArray embedding) {
+        double[] values = InMemoryEmbeddingStore.toDoubleArray(embedding);
+        double maxAbsoluteValue = 0;
+        for (double value : values) {
+            maxAbsoluteValue = Math.max(maxAbsoluteValue, Math.abs(value));
+        }
+        double scale = maxAbsoluteValue / INT8_MAX;
+        byte[] quantized = new byte[values.length];
+        if (scale > 0) {
+            for (int i = 0; i < values.length; i++) {
+                long value = Math.round(values[i] / scale);
+                quantized[i] = (byte) Math.max(-INT8_MAX, Math.min(INT8_MAX, value));
+            }
+        }
+        return ValueCreator.createRecordValue(AI_OPENAI_MODULE, INT8_QUANTIZED_EMBEDDING,
+                Map.of("values", ValueCreator.createArrayValue(quantized), "scale", scale));
+    }
+
+    /**
+     * Quantizes each value of the embedding to a bit that is set when the value is positive. The bits are
+     * packed eight to a byte, starting from the most significant bit.
+     *
+     * @param embedding the embedding to quantize
+     * @return a `BinaryQuantizedEmbedding` record
+     */
+    public static BMap<BString, Object> quantizeToBinary(BArray embedding) {
+        int dimensions = embedding.size();
+        byte[] bits = new byte[(dimensions + Byte.SIZE - 1) / Byte.SIZE];
+        for (int i = 0; i < dimensions; i++) {
+            if (embedding.getFloat(i) > 0) {
+                bits[i / Byte.SIZE] |= (byte) (0x80 >>> (i % Byte.SIZE));
+            }
+        }
+        return ValueCreator.createRecordValue(AI_OPENAI_MODULE, BINARY_QUANTIZED_EMBEDDING,
+                Map.of("bits", ValueCreator.createArrayValue(bits), "dimensions", (long) dimensions));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static io.ballerina.lib.ai.openai.InMemoryEmbeddingStore.NATIVE_STORE;
+
+/**
+ * Native store of the `FileEmbeddingCache`. Embeddings are appended to a vector file as records holding their
+ * float64 values, and the least recently used embeddings are dropped once the file grows beyond the configured
+ * size.
+ *
+ * @since 1.3.4
+ */
+public final class FileEmbeddingStore {
+    private FileEmbeddingStore() {
+    }
+
+    public static Object init(BObject cache, BString path, long maxSizeInBytes) {
+        try {
+            cache.addNativeData(NATIVE_STORE, new FileRecordStore(Path.of(path.getValue()), maxSizeInBytes,
+                    payload -> true));
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return Native.createAIError(StringUtils.fromString(
+                    "Failed to open the embedding cache file '" + path.getValue() + "': " + e.getMessage()));
+        }
+    }
+
+    public static Object get(BObject cache, BString key) {
+        byte[] payload = getStore(cache).read(key.getValue());
+        if (payload == null) {
+            return null;
+        }
+        double[] embedding = new double[payload.length / Double.BYTES];
+        ByteBuffer.wrap(payload).asDoubleBuffer().get(embedding);
+        return ValueCreator.createArrayValue(embedding);
+    }
+
+    public static void put(BObject cache, BString key, BArray embedding) {
+        double[] values = InMemoryEmbeddingStore.toDoubleArray(embedding);
+        ByteBuffer payload = ByteBuffer.allocate(values.length * Double.BYTES);
+        payload.asDoubleBuffer().put(values);
+        getStore(cache).write(key.getValue(), payload.array());
+    }
+
+    public static Object close(BObject cache) {
+        try {
+            getStore(cache).close();
+            return null;
+        } catch (IOException e) {
+            return Native.createAIError(StringUtils.fromString(
+                    "Failed to close the embedding cache file: " + e.getMessage()));
+        }
+    }
+
+    private static FileRecordStore getStore(BObject cache) {
+        return (FileRecordStore) cache.getNativeData(NATIVE_STORE);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Append-only file of {@code [key length][key][payload length][payload]} records, backing the file caches.
+ * The records follow a header holding the format version of the file, and files of other formats, such as the
+ * files written by earlier versions, are discarded when opened.
+ * An in-memory index maps each key to the offset of its latest record and is rebuilt when the file is opened.
+ * Once the file grows beyond the configured size, it is compacted to keep only the most recently used records
+ * that are still live.
+ *
+ * @since 1.3.4
+ */
+final class FileRecordStore {
+    private static final String COMPACTION_FILE_SUFFIX = ".compact";
+    private static final int MAGIC = 0x41494F43;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_LENGTH = Integer.BYTES * 2;
+
+    private final Path path;
+    private final long maxSizeInBytes;
+    private final Predicate<byte[]> isLive;
+    private final Map<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private FileChannel channel;
+
+    FileRecordStore(Path path, long maxSizeInBytes, Predicate<byte[]> isLive) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.isLive = isLive;
+        Path parent = this.path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        open();
+    }
+
+    /**
+     * Returns the payload of the latest record of the key.
+     *
+     * @param key the key of the record
+     * @return the payload, or null if there is no record for the key or it cannot be read
+     */
+    synchronized byte[] read(String key) {
+        Long offset = this.index.get(key);
+        if (offset == null || this.channel == null) {
+            return null;
+        }
+        try {
+            return readPayload(offset);
+        } catch (IOException e) {
+            // A read failure is treated as a miss, so that the value is recomputed.
+            return null;
+        }
+    }
+
+    synchronized void write(String key, byte[] payload) {
+        if (this.channel == null) {
+            return;
+        }
+        try {
+            long offset = this.channel.size();
+            ByteBuffer encoded = encode(key, payload);
+            while (encoded.hasRemaining()) {
+                this.channel.write(encoded, offset + encoded.position());
+            }
+            this.index.put(key, offset);
+            if (this.channel.size() > this.maxSizeInBytes) {
+                compact();
+            }
+        } catch (IOException e) {
+            // A write failure only results in a later miss, hence it does not fail the cached operation.
+        }
+    }
+
+    synchronized void remove(String key) {
+        this.index.remove(key);
+    }
+
+    synchronized void close() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    private void open() throws IOException {
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.index.clear();
+        if (!hasValidHeader()) {
+            this.channel.truncate(0);
+            ByteBuffer header = encodeHeader();
+            while (header.hasRemaining()) {
+                this.channel.write(header, header.position());
+            }
+        }
+        long size = this.channel.size();
+        long offset = HEADER_LENGTH;
+        while (offset + Integer.BYTES <= size) {
+            int keyLength = readFully(offset, Integer.BYTES).getInt();
+            long payloadOffset = offset + Integer.BYTES + keyLength;
+            if (keyLength < 0 || payloadOffset + Integer.BYTES > size) {
+                break;
+            }
+            int payloadLength = readFully(payloadOffset, Integer.BYTES).getInt();
+            long end = payloadOffset + Integer.BYTES + payloadLength;
+            if (payloadLength < 0 || end > size) {
+                break;
+            }
+            String key = StandardCharsets.UTF_8.decode(readFully(offset + Integer.BYTES, keyLength)).toString();
+            this.index.put(key, offset);
+            offset = end;
+        }
+        if (offset < size) {
+            // Drop a partially written trailing record.
+            this.channel.truncate(offset);
+        }
+    }
+
+    private boolean hasValidHeader() throws IOException {
+        if (this.channel.size() < HEADER_LENGTH) {
+            return false;
+        }
+        ByteBuffer header = readFully(0, HEADER_LENGTH);
+        return header.getInt() == MAGIC && header.getInt() == FORMAT_VERSION;
+    }
+
+    private void compact() throws IOException {
+        // The entries are iterated from the most to the least recently used one, so that the most recently used
+        // entries are retained, without changing the access order.
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(this.index.entrySet());
+        Deque<ByteBuffer> retained = new ArrayDeque<>();
+        long retainedSize = 0;
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Map.Entry<String, Long> entry = entries.get(i);
+            byte[] payload = readPayload(entry.getValue());
+            if (!this.isLive.test(payload)) {
+                continue;
+            }
+            ByteBuffer encoded = encode(entry.getKey(), payload);
+            if (retainedSize + encoded.remaining() > this.maxSizeInBytes / 2) {
+                break;
+            }
+            retainedSize += encoded.remaining();
+            // Records are written from the least to the most recently used one to preserve the access order.
+            retained.addFirst(encoded);
+        }
+
+        Path compactionPath = this.path.resolveSibling(this.path.getFileName() + COMPACTION_FILE_SUFFIX);
+        try (FileChannel compacted = FileChannel.open(compactionPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = encodeHeader();
+            while (header.hasRemaining()) {
+                compacted.write(header);
+            }
+            for (ByteBuffer encoded : retained) {
+                while (encoded.hasRemaining()) {
+                    compacted.write(encoded);
+                }
+            }
+            compacted.force(true);
+        }
+        this.channel.close();
+        Files.move(compactionPath, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    private byte[] readPayload(long offset) throws IOException {
+        int keyLength = readFully(offset, Integer.BYTES).getInt();
+        long payloadOffset = offset + Integer.BYTES + keyLength;
+        int payloadLength = readFully(payloadOffset, Integer.BYTES).getInt();
+        return readFully(payloadOffset + Integer.BYTES, payloadLength).array();
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of the cache file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static ByteBuffer encodeHeader() {
+        return ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+    }
+
+    private static ByteBuffer encode(String key, byte[] payload) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2 + keyBytes.length + payload.length);
+        buffer.putInt(keyBytes.length).put(keyBytes).putInt(payload.length).put(payload);
+        return buffer.flip();
+    }
+}
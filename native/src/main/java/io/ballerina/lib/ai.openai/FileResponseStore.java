@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static io.ballerina.lib.ai.openai.InMemoryEmbeddingStore.NATIVE_STORE;
+
+/**
+ * Native store of the `FileResponseCache`. Responses are appended to a file as records holding their expiry
+ * time and UTF-8 encoded value. Expired responses are treated as misses and are dropped, along with the least
+ * recently used responses, once the file grows beyond the configured size.
+ *
+ * @since 1.3.4
+ */
+public final class FileResponseStore {
+    private static final String TTL = "ttlMillis";
+
+    private FileResponseStore() {
+    }
+
+    public static Object init(BObject cache, BString path, long ttlMillis, long maxSizeInBytes) {
+        try {
+            cache.addNativeData(NATIVE_STORE, new FileRecordStore(Path.of(path.getValue()), maxSizeInBytes,
+                    payload -> !isExpired(payload)));
+            cache.addNativeData(TTL, ttlMillis);
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return Native.createAIError(StringUtils.fromString(
+                    "Failed to open the response cache file '" + path.getValue() + "': " + e.getMessage()));
+        }
+    }
+
+    public static Object get(BObject cache, BString key) {
+        FileRecordStore store = getStore(cache);
+        byte[] payload = store.read(key.getValue());
+        if (payload == null) {
+            return null;
+        }
+        if (isExpired(payload)) {
+            store.remove(key.getValue());
+            return null;
+        }
+        return StringUtils.fromString(new String(payload, Long.BYTES, payload.length - Long.BYTES,
+                StandardCharsets.UTF_8));
+    }
+
+    public static void put(BObject cache, BString key, BString response) {
+        byte[] value = response.getValue().getBytes(StandardCharsets.UTF_8);
+        long expiresAt = System.currentTimeMillis() + (long) cache.getNativeData(TTL);
+        ByteBuffer payload = ByteBuffer.allocate(Long.BYTES + value.length).putLong(expiresAt).put(value);
+        getStore(cache).write(key.getValue(), payload.array());
+    }
+
+    public static Object close(BObject cache) {
+        try {
+            getStore(cache).close();
+            return null;
+        } catch (IOException e) {
+            return Native.createAIError(StringUtils.fromString(
+                    "Failed to close the response cache file: " + e.getMessage()));
+        }
+    }
+
+    private static boolean isExpired(byte[] payload) {
+        return payload.length < Long.BYTES || ByteBuffer.wrap(payload).getLong() <= System.currentTimeMillis();
+    }
+
+    private static FileRecordStore getStore(BObject cache) {
+        return (FileRecordStore) cache.getNativeData(NATIVE_STORE);
+    }
+}
@@ -18,22 +18,151 @@
 package io.ballerina.lib.ai.openai;
 
 import io.ballerina.runtime.api.Environment;
-import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BRefValue;
+import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.ballerina.lib.ai.openai.Native.AI_OPENAI_MODULE;
+
 /**
  * This class provides the native function to generate a response from an OpenAI model.
+ * When single-flight mode is enabled on the model provider, concurrent calls on that provider with the same
+ * rendered prompt, response schema and expected type share a single upstream request. Calls on different providers
+ * never share a request, as the providers may differ in API key, endpoint, rate limits or request options. Values for many prompts can also
+ * be generated through a single job of the OpenAI Batch API.
  *
  * @since 1.0.0
  */
 public class Generator {
+    private static final BString SINGLE_FLIGHT = StringUtils.fromString("singleFlight");
+    private static final BString MODEL_TYPE = StringUtils.fromString("modelType");
+    private static final BString TEMPERATURE = StringUtils.fromString("temperature");
+    private static final BString MAX_TOKENS = StringUtils.fromString("maxTokens");
+    private static final BString RESPONSE_CACHE = StringUtils.fromString("responseCache");
+    private static final BString IMAGE_URL_CACHE = StringUtils.fromString("imageUrlCache");
+    private static final BString BATCH_JOB_CONFIG = StringUtils.fromString("batchJobConfig");
+    private static final BString OBSERVABILITY = StringUtils.fromString("observability");
+    private static final BString STRICT_STRUCTURED_OUTPUT = StringUtils.fromString("strictStructuredOutput");
+    private static final BString PROMPT_CACHE_KEY = StringUtils.fromString("promptCacheKey");
+    private static final Map<FlightKey, CompletableFuture<Object>> IN_FLIGHT = new ConcurrentHashMap<>();
+
     public static Object generate(Environment env, BObject modelProvider,
                                   BObject prompt, BTypedesc expectedResponseTypedesc) {
+        if (!(boolean) modelProvider.get(SINGLE_FLIGHT)) {
+            return generateLlmResponse(env, modelProvider, prompt, expectedResponseTypedesc);
+        }
+
+        Object requestKey = env.getRuntime().callFunction(AI_OPENAI_MODULE, "getGenerateRequestKey", null,
+                modelProvider.get(MODEL_TYPE), modelProvider.get(TEMPERATURE), prompt, expectedResponseTypedesc,
+                modelProvider.get(IMAGE_URL_CACHE));
+        if (!(requestKey instanceof BString key)) {
+            // The request cannot be prepared, hence the error is reported through the regular flow.
+            return generateLlmResponse(env, modelProvider, prompt, expectedResponseTypedesc);
+        }
+
+        FlightKey flightKey = new FlightKey(modelProvider, key.getValue(),
+                expectedResponseTypedesc.getDescribingType());
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leadingFlight = IN_FLIGHT.putIfAbsent(flightKey, flight);
+        if (leadingFlight != null) {
+            return env.yieldAndRun(() -> copyResult(awaitResult(leadingFlight)));
+        }
+
+        try {
+            Object result = generateLlmResponse(env, modelProvider, prompt, expectedResponseTypedesc);
+            // Followers copy from a snapshot that is never handed to a caller, so that no mutable value is
+            // shared between strands.
+            flight.complete(copyResult(result));
+            return result;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(flightKey, flight);
+        }
+    }
+
+    public static Object bulkGenerate(Environment env, BObject modelProvider,
+                                      BArray prompts, BTypedesc expectedResponseTypedesc) {
+        Object results = env.getRuntime().callFunction(
+                AI_OPENAI_MODULE, "bulkGenerateLlmResponses", null,
+                modelProvider.get(StringUtils.fromString("httpClient")), modelProvider.get(IMAGE_URL_CACHE),
+                modelProvider.get(MODEL_TYPE), modelProvider.get(TEMPERATURE),
+                modelProvider.get(StringUtils.fromString("contextBudget")),
+                modelProvider.get(BATCH_JOB_CONFIG), modelProvider.get(STRICT_STRUCTURED_OUTPUT),
+                modelProvider.get(PROMPT_CACHE_KEY), prompts, expectedResponseTypedesc);
+        if (!(results instanceof BArray values)) {
+            return results;
+        }
+
+        // The results are returned as an array of the expected type or `ai:Error`, so that the array can be
+        // assigned to the dependently-typed return type.
+        BTypedesc errorTypedesc = (BTypedesc) env.getRuntime().callFunction(
+                AI_OPENAI_MODULE, "getErrorTypedesc", null);
+        Type resultType = TypeCreator.createUnionType(expectedResponseTypedesc.getDescribingType(),
+                errorTypedesc.getDescribingType());
+        BArray typedResults = ValueCreator.createArrayValue(TypeCreator.createArrayType(resultType));
+        for (int i = 0; i < values.size(); i++) {
+            typedResults.add(i, values.get(i));
+        }
+        return typedResults;
+    }
+
+    private static Object generateLlmResponse(Environment env, BObject modelProvider,
+                                              BObject prompt, BTypedesc expectedResponseTypedesc) {
         return env.getRuntime().callFunction(
-                new Module("ballerinax", "ai.openai", "1"), "generateLlmResponse", null,
+                AI_OPENAI_MODULE, "generateLlmResponse", null,
                 modelProvider.get(StringUtils.fromString("llmClient")),
-                modelProvider.get(StringUtils.fromString("modelType")), prompt, expectedResponseTypedesc);
+                modelProvider.get(StringUtils.fromString("httpClient")),
+                modelProvider.get(StringUtils.fromString("rateLimiter")),
+                modelProvider.get(RESPONSE_CACHE), modelProvider.get(IMAGE_URL_CACHE),
+                modelProvider.get(MODEL_TYPE), modelProvider.get(TEMPERATURE), modelProvider.get(MAX_TOKENS),
+                modelProvider.get(StringUtils.fromString("contextBudget")), modelProvider.get(OBSERVABILITY),
+                modelProvider.get(STRICT_STRUCTURED_OUTPUT), modelProvider.get(PROMPT_CACHE_KEY), prompt,
+                expectedResponseTypedesc);
+    }
+
+    private static Object awaitResult(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Object copyResult(Object result) {
+        if (result instanceof BRefValue refValue && !refValue.isFrozen()) {
+            return refValue.copy(new HashMap<>());
+        }
+        return result;
+    }
+
+    private record FlightKey(BObject provider, String requestKey, Type type) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof FlightKey other && other.provider == this.provider
+                    && other.requestKey.equals(this.requestKey) && other.type == this.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(this.provider) * 31 + this.requestKey.hashCode()) * 31
+                    + System.identityHashCode(this.type);
+        }
     }
 }
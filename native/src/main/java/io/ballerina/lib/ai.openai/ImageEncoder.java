@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.ballerina.lib.ai.openai.Native.AI_OPENAI_MODULE;
+
+/**
+ * Encodes the content of image documents as base64 `data:` URLs. The content is encoded directly after the URL
+ * prefix into a buffer sized to the URL, from which the URL string is created. A model provider configured with
+ * an image URL cache holds the URLs of recently encoded images, so that images sent repeatedly are encoded once.
+ * A lookup hashes and compares the whole image, hence the cache is not used unless it is configured.
+ *
+ * @since 1.3.4
+ */
+public final class ImageEncoder {
+    private static final String NATIVE_CACHE = "nativeImageUrlCache";
+    private static final String IMAGE_URL_CACHE_STATS = "ImageUrlCacheStats";
+    private static final String DATA_URL_PREFIX = "data:";
+    private static final String BASE64_SEPARATOR = ";base64,";
+
+    private ImageEncoder() {
+    }
+
+    public static void initImageUrlCache(BObject cache, long maxSizeInBytes) {
+        cache.addNativeData(NATIVE_CACHE, new UrlCache(Math.max(0, maxSizeInBytes)));
+    }
+
+    public static BString encodeImageDataUrl(BArray content, BString mimeType, Object cache) {
+        byte[] bytes = content.getBytes();
+        String mime = mimeType.getValue();
+        if (!(cache instanceof BObject cacheObject)) {
+            return StringUtils.fromString(encode(bytes, mime));
+        }
+        return StringUtils.fromString(((UrlCache) cacheObject.getNativeData(NATIVE_CACHE)).encode(bytes, mime));
+    }
+
+    public static BMap<BString, Object> getImageUrlCacheStats(BObject cache) {
+        UrlCache urlCache = (UrlCache) cache.getNativeData(NATIVE_CACHE);
+        synchronized (urlCache) {
+            return ValueCreator.createRecordValue(AI_OPENAI_MODULE, IMAGE_URL_CACHE_STATS,
+                    Map.of("hits", urlCache.hits, "misses", urlCache.misses, "size", (long) urlCache.urls.size()));
+        }
+    }
+
+    static String encode(byte[] content, String mimeType) {
+        byte[] prefix = (DATA_URL_PREFIX + mimeType + BASE64_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+        byte[] url = new byte[prefix.length + 4 * ((content.length + 2) / 3)];
+        System.arraycopy(prefix, 0, url, 0, prefix.length);
+        try (OutputStream encoder = Base64.getEncoder().wrap(new ArrayOutputStream(url, prefix.length))) {
+            encoder.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(url, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A cache of the URLs of recently encoded images, bounded by the total size of the cached images and URLs.
+     * The least recently used URLs are evicted once the size is exceeded.
+     */
+    static final class UrlCache {
+        // A single image may take up to an eighth of the cache, so that a large image does not evict the others.
+        private static final int MAX_CACHED_IMAGE_SHARE = 8;
+
+        private final Map<ImageKey, CachedUrl> urls = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxSizeInBytes;
+        private long sizeInBytes = 0;
+        private long hits = 0;
+        private long misses = 0;
+
+        UrlCache(long maxSizeInBytes) {
+            this.maxSizeInBytes = maxSizeInBytes;
+        }
+
+        String encode(byte[] content, String mimeType) {
+            ImageKey key = new ImageKey(mimeType, content.length, Arrays.hashCode(content));
+            String url = lookup(key, content);
+            if (url == null) {
+                url = ImageEncoder.encode(content, mimeType);
+                store(key, content, url);
+            }
+            return url;
+        }
+
+        private synchronized String lookup(ImageKey key, byte[] content) {
+            CachedUrl cachedUrl = this.urls.get(key);
+            // The content is compared as distinct images may have the same hash code.
+            if (cachedUrl != null && Arrays.equals(cachedUrl.content, content)) {
+                this.hits++;
+                return cachedUrl.url;
+            }
+            this.misses++;
+            return null;
+        }
+
+        private synchronized void store(ImageKey key, byte[] content, String url) {
+            CachedUrl cachedUrl = new CachedUrl(content, url);
+            if (cachedUrl.size() > this.maxSizeInBytes / MAX_CACHED_IMAGE_SHARE) {
+                return;
+            }
+            CachedUrl previous = this.urls.put(key, cachedUrl);
+            if (previous != null) {
+                this.sizeInBytes -= previous.size();
+            }
+            this.sizeInBytes += cachedUrl.size();
+            Iterator<CachedUrl> eldest = this.urls.values().iterator();
+            while (this.sizeInBytes > this.maxSizeInBytes && eldest.hasNext()) {
+                this.sizeInBytes -= eldest.next().size();
+                eldest.remove();
+            }
+        }
+    }
+
+    private record ImageKey(String mimeType, int length, int contentHash) {
+    }
+
+    private record CachedUrl(byte[] content, String url) {
+        long size() {
+            return (long) this.content.length + this.url.length();
+        }
+    }
+
+    /**
+     * Output stream writing into a preallocated array from the given offset.
+     */
+    private static final class ArrayOutputStream extends OutputStream {
+        private final byte[] buffer;
+        private int position;
+
+        ArrayOutputStream(byte[] buffer, int offset) {
+            this.buffer = buffer;
+            this.position = offset;
+        }
+
+        @Override
+        public void write(int b) {
+            this.buffer[this.position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            System.arraycopy(b, off, this.buffer, this.position, len);
+            this.position += len;
+        }
+    }
+}
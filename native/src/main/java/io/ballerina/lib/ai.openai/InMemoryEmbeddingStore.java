@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Native store of the `InMemoryEmbeddingCache`. Embeddings are kept as primitive arrays in a
+ * least recently used map bounded by the configured capacity.
+ *
+ * @since 1.3.4
+ */
+public final class InMemoryEmbeddingStore {
+    static final String NATIVE_STORE = "nativeStore";
+
+    private final Map<String, double[]> embeddings;
+
+    private InMemoryEmbeddingStore(int capacity) {
+        this.embeddings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, double[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public static void init(BObject cache, long capacity) {
+        cache.addNativeData(NATIVE_STORE, new InMemoryEmbeddingStore((int) Math.max(1, capacity)));
+    }
+
+    public static Object get(BObject cache, BString key) {
+        double[] embedding = getStore(cache).lookup(key.getValue());
+        return embedding == null ? null : ValueCreator.createArrayValue(embedding.clone());
+    }
+
+    public static void put(BObject cache, BString key, BArray embedding) {
+        getStore(cache).store(key.getValue(), toDoubleArray(embedding));
+    }
+
+    static double[] toDoubleArray(BArray embedding) {
+        double[] values = new double[embedding.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = embedding.getFloat(i);
+        }
+        return values;
+    }
+
+    private static InMemoryEmbeddingStore getStore(BObject cache) {
+        return (InMemoryEmbeddingStore) cache.getNativeData(NATIVE_STORE);
+    }
+
+    private synchronized double[] lookup(String key) {
+        return this.embeddings.get(key);
+    }
+
+    private synchronized void store(String key, double[] embedding) {
+        this.embeddings.put(key, embedding);
+    }
+}
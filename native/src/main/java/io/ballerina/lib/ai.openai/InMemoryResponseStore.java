@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.ballerina.lib.ai.openai.InMemoryEmbeddingStore.NATIVE_STORE;
+
+/**
+ * Native store of the `InMemoryResponseCache`. Responses are kept in a least recently used map bounded by the
+ * configured capacity, and expire once their time-to-live elapses.
+ *
+ * @since 1.3.4
+ */
+public final class InMemoryResponseStore {
+    private final Map<String, CachedResponse> responses;
+    private final long ttlMillis;
+
+    private InMemoryResponseStore(int capacity, long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public static void init(BObject cache, long capacity, long ttlMillis) {
+        cache.addNativeData(NATIVE_STORE, new InMemoryResponseStore((int) Math.max(1, capacity), ttlMillis));
+    }
+
+    public static Object get(BObject cache, BString key) {
+        String response = getStore(cache).lookup(key.getValue());
+        return response == null ? null : StringUtils.fromString(response);
+    }
+
+    public static void put(BObject cache, BString key, BString response) {
+        InMemoryResponseStore store = getStore(cache);
+        store.store(key.getValue(), new CachedResponse(response.getValue(),
+                System.currentTimeMillis() + store.ttlMillis));
+    }
+
+    private static InMemoryResponseStore getStore(BObject cache) {
+        return (InMemoryResponseStore) cache.getNativeData(NATIVE_STORE);
+    }
+
+    private synchronized String lookup(String key) {
+        CachedResponse response = this.responses.get(key);
+        if (response == null) {
+            return null;
+        }
+        if (response.expiresAt() <= System.currentTimeMillis()) {
+            this.responses.remove(key);
+            return null;
+        }
+        return response.value();
+    }
+
+    private synchronized void store(String key, CachedResponse response) {
+        this.responses.put(key, response);
+    }
+
+    private record CachedResponse(String value, long expiresAt) {
+    }
+}
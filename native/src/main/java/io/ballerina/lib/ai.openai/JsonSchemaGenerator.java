@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.AnnotatableType;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.FiniteType;
+import io.ballerina.runtime.api.types.JsonType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.ReferenceType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates JSON schemas for the expected response types of `generate` calls at runtime, for types that are not
+ * annotated with the schemas generated at compile time. Records, tuples, maps, finite types and enums are
+ * supported, and recursive types are described with `$defs`. The generated schemas are readonly and memoized
+ * against the identity of the type.
+ *
+ * @since 1.3.4
+ */
+final class JsonSchemaGenerator {
+    private static final int MAX_ENTRIES = 256;
+    private static final String BALLERINA_AI = "ballerina/ai";
+    private static final String JSON_SCHEMA = "JsonSchema";
+    private static final String DEFS_REF_PREFIX = "#/$defs/";
+    private static final BString TYPE = StringUtils.fromString("type");
+    private static final BString ANY_OF = StringUtils.fromString("anyOf");
+    private static final BString ENUM = StringUtils.fromString("enum");
+    private static final BString ITEMS = StringUtils.fromString("items");
+    private static final BString PREFIX_ITEMS = StringUtils.fromString("prefixItems");
+    private static final BString MIN_ITEMS = StringUtils.fromString("minItems");
+    private static final BString PROPERTIES = StringUtils.fromString("properties");
+    private static final BString REQUIRED = StringUtils.fromString("required");
+    private static final BString ADDITIONAL_PROPERTIES = StringUtils.fromString("additionalProperties");
+    private static final BString REF = StringUtils.fromString("$ref");
+    private static final BString DEFS = StringUtils.fromString("$defs");
+    private static final BString ARRAY = StringUtils.fromString("array");
+    private static final BString OBJECT = StringUtils.fromString("object");
+    private static final BString STRING = StringUtils.fromString("string");
+
+    private static final Map<TypeKey, BMap<BString, Object>> CACHE = new ConcurrentHashMap<>();
+
+    // Types are tracked by the identity of the implied types, against the types through which they were reached.
+    private final Map<Type, Type> inProgress = new IdentityHashMap<>();
+    private final Map<Type, String> definitionNames = new IdentityHashMap<>();
+    private final Map<String, BMap<BString, Object>> definitions = new LinkedHashMap<>();
+
+    private JsonSchemaGenerator() {
+    }
+
+    static BMap<BString, Object> generate(Type type) {
+        TypeKey key = new TypeKey(type);
+        BMap<BString, Object> cachedSchema = CACHE.get(key);
+        if (cachedSchema != null) {
+            return cachedSchema;
+        }
+
+        BMap<BString, Object> schema = generateUncached(type);
+        if (CACHE.size() >= MAX_ENTRIES) {
+            Iterator<TypeKey> keys = CACHE.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        CACHE.put(key, schema);
+        return schema;
+    }
+
+    static BMap<BString, Object> generateUncached(Type type) {
+        BMap<BString, Object> schema = new JsonSchemaGenerator().generateRootSchema(type);
+        schema.freezeDirect();
+        return schema;
+    }
+
+    private BMap<BString, Object> generateRootSchema(Type type) {
+        BMap<BString, Object> schema = generateSchema(type);
+        if (this.definitions.isEmpty()) {
+            return schema;
+        }
+
+        // A recursive root type is inlined, so that object schemas are not wrapped when used as tool parameters.
+        if (schema.size() == 1 && schema.get(REF) instanceof BString ref) {
+            String name = ref.getValue().substring(DEFS_REF_PREFIX.length());
+            BMap<BString, Object> definition = this.definitions.get(name);
+            schema = createSchemaMap();
+            for (Map.Entry<BString, Object> entry : definition.entrySet()) {
+                schema.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        BMap<BString, Object> definitionsMap = createSchemaMap();
+        this.definitions.forEach((name, definition) -> definitionsMap.put(StringUtils.fromString(name), definition));
+        schema.put(DEFS, definitionsMap);
+        return schema;
+    }
+
+    private BMap<BString, Object> generateSchema(Type type) {
+        BMap<BString, Object> annotatedSchema = getAnnotatedSchema(type);
+        if (annotatedSchema != null) {
+            return annotatedSchema;
+        }
+
+        Type impliedType = TypeUtils.getImpliedType(type);
+        String existingDefinitionName = this.definitionNames.get(impliedType);
+        if (existingDefinitionName != null && this.definitions.containsKey(existingDefinitionName)) {
+            return createRefSchema(existingDefinitionName);
+        }
+
+        Type enclosingType = this.inProgress.get(impliedType);
+        if (enclosingType != null) {
+            return createRefSchema(getDefinitionName(enclosingType, impliedType));
+        }
+
+        this.inProgress.put(impliedType, type);
+        try {
+            BMap<BString, Object> schema = generateImpliedTypeSchema(impliedType);
+            String definitionName = this.definitionNames.get(impliedType);
+            if (definitionName == null) {
+                return schema;
+            }
+            this.definitions.put(definitionName, schema);
+            return createRefSchema(definitionName);
+        } finally {
+            this.inProgress.remove(impliedType);
+        }
+    }
+
+    private BMap<BString, Object> generateImpliedTypeSchema(Type impliedType) {
+        // `json` is checked first as it is also represented as a union type.
+        if (impliedType instanceof JsonType) {
+            return generateJsonSchemaForJson();
+        }
+        if (impliedType instanceof FiniteType finiteType) {
+            return createEnumSchema(new ArrayList<>(finiteType.getValueSpace()));
+        }
+        if (impliedType instanceof UnionType unionType) {
+            return generateUnionTypeSchema(unionType);
+        }
+
+        String simpleTypeName = getSimpleTypeName(impliedType);
+        if (simpleTypeName != null) {
+            BMap<BString, Object> schema = createSchemaMap();
+            schema.put(TYPE, StringUtils.fromString(simpleTypeName));
+            return schema;
+        }
+
+        return switch (impliedType) {
+            case ArrayType arrayType -> generateArrayTypeSchema(arrayType);
+            case TupleType tupleType -> generateTupleTypeSchema(tupleType);
+            case MapType mapType -> generateMapTypeSchema(mapType);
+            case RecordType recordType -> generateRecordTypeSchema(recordType);
+            default -> throw ErrorCreator.createError(StringUtils.fromString(
+                    "Runtime schema generation is not yet supported for type " + impliedType));
+        };
+    }
+
+    private BMap<BString, Object> generateUnionTypeSchema(UnionType unionType) {
+        List<Object> finiteValues = new ArrayList<>();
+        List<BMap<BString, Object>> schemas = new ArrayList<>();
+        int enumSchemaIndex = -1;
+        for (Type memberType : unionType.getMemberTypes()) {
+            if (getAnnotatedSchema(memberType) == null
+                    && TypeUtils.getImpliedType(memberType) instanceof FiniteType finiteType) {
+                // Singleton members, such as the members of an enum, are merged into a single enum schema.
+                if (enumSchemaIndex < 0) {
+                    enumSchemaIndex = schemas.size();
+                }
+                finiteValues.addAll(finiteType.getValueSpace());
+                continue;
+            }
+
+            BMap<BString, Object> schema = generateSchema(memberType);
+            if (!schemas.contains(schema)) {
+                schemas.add(schema);
+            }
+        }
+        if (enumSchemaIndex >= 0) {
+            schemas.add(enumSchemaIndex, createEnumSchema(finiteValues));
+        }
+
+        if (schemas.size() == 1) {
+            return schemas.getFirst();
+        }
+        BArray anyOf = createJsonArray();
+        schemas.forEach(anyOf::append);
+        BMap<BString, Object> schema = createSchemaMap();
+        schema.put(ANY_OF, anyOf);
+        return schema;
+    }
+
+    private BMap<BString, Object> generateArrayTypeSchema(ArrayType arrayType) {
+        BMap<BString, Object> schema = createSchemaMap();
+        schema.put(TYPE, ARRAY);
+        schema.put(ITEMS, generateSchema(arrayType.getElementType()));
+        return schema;
+    }
+
+    private BMap<BString, Object> generateTupleTypeSchema(TupleType tupleType) {
+        List<Type> memberTypes = tupleType.getTupleTypes();
+        BArray prefixItems = createJsonArray();
+        for (Type memberType : memberTypes) {
+            prefixItems.append(generateSchema(memberType));
+        }
+
+        BMap<BString, Object> schema = createSchemaMap();
+        schema.put(TYPE, ARRAY);
+        schema.put(PREFIX_ITEMS, prefixItems);
+        Type restType = tupleType.getRestType();
+        schema.put(ITEMS, restType == null ? Boolean.FALSE : generateSchema(restType));
+        schema.put(MIN_ITEMS, (long) memberTypes.size());
+        return schema;
+    }
+
+    private BMap<BString, Object> generateMapTypeSchema(MapType mapType) {
+        BMap<BString, Object> schema = createSchemaMap();
+        schema.put(TYPE, OBJECT);
+        Type constraint = mapType.getConstrainedType();
+        if (!isUnconstrained(constraint)) {
+            schema.put(ADDITIONAL_PROPERTIES, generateSchema(constraint));
+        }
+        return schema;
+    }
+
+    private BMap<BString, Object> generateRecordTypeSchema(RecordType recordType) {
+        BMap<BString, Object> properties = createSchemaMap();
+        BArray required = ValueCreator.createArrayValue(TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING));
+        for (Field field : recordType.getFields().values()) {
+            BString fieldName = StringUtils.fromString(field.getFieldName());
+            properties.put(fieldName, generateSchema(field.getFieldType()));
+            if (!SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.OPTIONAL)) {
+                required.append(fieldName);
+            }
+        }
+
+        BMap<BString, Object> schema = createSchemaMap();
+        schema.put(TYPE, OBJECT);
+        schema.put(PROPERTIES, properties);
+        if (required.size() > 0) {
+            schema.put(REQUIRED, required);
+        }
+        if (recordType.isSealed()) {
+            schema.put(ADDITIONAL_PROPERTIES, Boolean.FALSE);
+        } else if (!isUnconstrained(recordType.getRestFieldType())) {
+            schema.put(ADDITIONAL_PROPERTIES, generateSchema(recordType.getRestFieldType()));
+        }
+        return schema;
+    }
+
+    private static BMap<BString, Object> createEnumSchema(List<Object> values) {
+        BArray enumValues = createJsonArray();
+        boolean isStringEnum = true;
+        for (Object value : values) {
+            enumValues.append(value);
+            isStringEnum &= value instanceof BString;
+        }
+
+        BMap<BString, Object> schema = createSchemaMap();
+        if (isStringEnum) {
+            schema.put(TYPE, STRING);
+        }
+        schema.put(ENUM, enumValues);
+        return schema;
+    }
+
+    private static BMap<BString, Object> generateJsonSchemaForJson() {
+        BString[] types = {OBJECT, ARRAY, STRING, StringUtils.fromString("number"),
+                StringUtils.fromString("boolean"), StringUtils.fromString("null")};
+        BMap<BString, Object> schema = createSchemaMap();
+        schema.put(TYPE, ValueCreator.createArrayValue(types));
+        return schema;
+    }
+
+    // Schemas generated at compile time are attached to the type definitions as `ai:JsonSchema` annotations.
+    private static BMap<BString, Object> getAnnotatedSchema(Type type) {
+        BMap<BString, Object> schema = null;
+        if (type instanceof AnnotatableType annotatableType) {
+            schema = getJsonSchemaAnnotation(annotatableType);
+        }
+        if (schema == null && type instanceof ReferenceType referenceType
+                && referenceType.getReferredType() instanceof AnnotatableType annotatableType) {
+            schema = getJsonSchemaAnnotation(annotatableType);
+        }
+        return schema;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BMap<BString, Object> getJsonSchemaAnnotation(AnnotatableType annotatableType) {
+        BMap<BString, Object> annotations = annotatableType.getAnnotations();
+        if (annotations == null) {
+            return null;
+        }
+        for (BString key : annotations.getKeys()) {
+            if (key.getValue().startsWith(BALLERINA_AI) && key.getValue().endsWith(JSON_SCHEMA)
+                    && annotations.get(key) instanceof BMap<?, ?> schema) {
+                return (BMap<BString, Object>) schema;
+            }
+        }
+        return null;
+    }
+
+    private String getDefinitionName(Type type, Type impliedType) {
+        String definitionName = this.definitionNames.get(impliedType);
+        if (definitionName != null) {
+            return definitionName;
+        }
+
+        String name = type.getName();
+        if (name == null || name.isEmpty()) {
+            name = impliedType.getName();
+        }
+        if (name == null || name.isEmpty()) {
+            name = impliedType.getClass().getSimpleName();
+        }
+
+        String uniqueName = name;
+        for (int i = 1; this.definitionNames.containsValue(uniqueName); i++) {
+            uniqueName = name + i;
+        }
+        this.definitionNames.put(impliedType, uniqueName);
+        return uniqueName;
+    }
+
+    private static boolean isUnconstrained(Type type) {
+        int tag = TypeUtils.getImpliedType(type).getTag();
+        return tag == TypeTags.ANYDATA_TAG || tag == TypeTags.JSON_TAG;
+    }
+
+    private static String getSimpleTypeName(Type type) {
+        if (type.getTag() == TypeTags.NULL_TAG) {
+            return "null";
+        }
+        return switch (type.getBasicType().all()) {
+            case 0b000000 -> "null";
+            case 0b000010 -> "boolean";
+            case 0b000100 -> "integer";
+            case 0b001000, 0b010000, 0b011000 -> "number";
+            case 0b100000 -> "string";
+            default -> null;
+        };
+    }
+
+    private static BMap<BString, Object> createRefSchema(String definitionName) {
+        BMap<BString, Object> schema = createSchemaMap();
+        schema.put(REF, StringUtils.fromString(DEFS_REF_PREFIX + definitionName));
+        return schema;
+    }
+
+    private static BMap<BString, Object> createSchemaMap() {
+        return ValueCreator.createMapValue(TypeCreator.createMapType(PredefinedTypes.TYPE_JSON));
+    }
+
+    private static BArray createJsonArray() {
+        return ValueCreator.createArrayValue(TypeCreator.createArrayType(PredefinedTypes.TYPE_JSON));
+    }
+
+    private record TypeKey(Type type) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TypeKey other && other.type == this.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.type);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Renders prompts from the text segments collected while walking the strings and insertions of an `ai:Prompt`.
+ *
+ * @since 1.3.4
+ */
+public final class PromptRenderer {
+    private PromptRenderer() {
+    }
+
+    /**
+     * Concatenates the prompt segments into a buffer sized to the total length of the segments, so that each
+     * segment is copied exactly once.
+     *
+     * @param segments the text segments of the prompt, in order
+     * @param trim     whether leading and trailing whitespace is removed from the rendered prompt
+     * @return the rendered prompt
+     */
+    public static BString renderPrompt(BArray segments, boolean trim) {
+        int segmentCount = segments.size();
+        String[] values = new String[segmentCount];
+        int length = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            values[i] = segments.getBString(i).getValue();
+            length += values[i].length();
+        }
+
+        StringBuilder prompt = new StringBuilder(length);
+        for (String value : values) {
+            prompt.append(value);
+        }
+        String rendered = prompt.toString();
+        return StringUtils.fromString(trim ? rendered.trim() : rendered);
+    }
+}
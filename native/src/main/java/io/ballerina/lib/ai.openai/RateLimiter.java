@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BString;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Token bucket rate limiters shared by the providers that use the same API key. Each limiter tracks the
+ * requests per minute and the tokens per minute allowed for the key, and is recalibrated from the
+ * `x-ratelimit-*` headers of the OpenAI API responses.
+ *
+ * @since 1.3.4
+ */
+public final class RateLimiter {
+    private static final Map<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Bucket requests = new Bucket();
+    private final Bucket tokens = new Bucket();
+
+    private RateLimiter() {
+    }
+
+    public static void configureRateLimiter(BString key, Object requestsPerMinute, Object tokensPerMinute) {
+        RateLimiter limiter = getLimiter(key);
+        synchronized (limiter) {
+            long now = System.nanoTime();
+            if (requestsPerMinute instanceof Long limit) {
+                limiter.requests.limitCapacity(limit, now);
+            }
+            if (tokensPerMinute instanceof Long limit) {
+                limiter.tokens.limitCapacity(limit, now);
+            }
+        }
+    }
+
+    /**
+     * Acquires capacity for a request of the given estimated number of tokens, if available.
+     *
+     * @param key             the key of the limiter
+     * @param estimatedTokens the estimated number of tokens of the request
+     * @return zero if the capacity is acquired; otherwise, the number of seconds to wait before retrying
+     */
+    public static BDecimal tryAcquireRateLimit(BString key, long estimatedTokens) {
+        RateLimiter limiter = getLimiter(key);
+        synchronized (limiter) {
+            long now = System.nanoTime();
+            limiter.requests.refill(now);
+            limiter.tokens.refill(now);
+            long waitNanos = Math.max(limiter.requests.getWaitNanos(1), limiter.tokens.getWaitNanos(estimatedTokens));
+            if (waitNanos == 0) {
+                limiter.requests.take(1);
+                limiter.tokens.take(estimatedTokens);
+            }
+            return toSeconds(waitNanos);
+        }
+    }
+
+    public static void recalibrateRateLimiter(BString key, Object limitRequests, Object limitTokens,
+                                              Object remainingRequests, Object remainingTokens,
+                                              Object resetRequests, Object resetTokens) {
+        RateLimiter limiter = getLimiter(key);
+        synchronized (limiter) {
+            long now = System.nanoTime();
+            limiter.requests.recalibrate(parseLong(limitRequests), parseLong(remainingRequests),
+                    parseDurationNanos(resetRequests), now);
+            limiter.tokens.recalibrate(parseLong(limitTokens), parseLong(remainingTokens),
+                    parseDurationNanos(resetTokens), now);
+        }
+    }
+
+    private static BDecimal toSeconds(long nanos) {
+        if (nanos == 0) {
+            return ValueCreator.createDecimalValue(BigDecimal.ZERO);
+        }
+        return ValueCreator.createDecimalValue(
+                BigDecimal.valueOf(nanos).divide(BigDecimal.valueOf(NANOS_PER_SECOND), 3, RoundingMode.UP));
+    }
+
+    private static RateLimiter getLimiter(BString key) {
+        return LIMITERS.computeIfAbsent(key.getValue(), k -> new RateLimiter());
+    }
+
+    private static Long parseLong(Object value) {
+        if (!(value instanceof BString header)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.getValue().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses durations such as `1s`, `6m0s` or `20ms`, in which the reset headers are sent.
+     */
+    private static Long parseDurationNanos(Object value) {
+        if (!(value instanceof BString header)) {
+            return null;
+        }
+        Matcher matcher = DURATION_PART.matcher(header.getValue().trim());
+        double nanos = 0;
+        boolean matched = false;
+        while (matcher.find()) {
+            matched = true;
+            double amount = Double.parseDouble(matcher.group(1));
+            nanos += amount * switch (matcher.group(2)) {
+                case "h" -> 3600 * NANOS_PER_SECOND;
+                case "m" -> 60 * NANOS_PER_SECOND;
+                case "ms" -> NANOS_PER_SECOND / 1000;
+                default -> NANOS_PER_SECOND;
+            };
+        }
+        return matched ? (long) nanos : null;
+    }
+
+    /**
+     * A token bucket refilled at its per minute capacity. A bucket without a known capacity never limits.
+     */
+    private static final class Bucket {
+        private double configuredLimit = Double.POSITIVE_INFINITY;
+        private double capacity = Double.POSITIVE_INFINITY;
+        private double available = Double.POSITIVE_INFINITY;
+        private long blockedUntil = 0;
+        private long lastRefill = System.nanoTime();
+
+        /**
+         * Lowers the capacity to the given limit. The providers that use the same key may be configured with
+         * different limits, in which case the lowest limit applies, so that a provider never raises the capacity
+         * the others rely on.
+         */
+        void limitCapacity(long limit, long now) {
+            this.configuredLimit = Math.min(this.configuredLimit, Math.max(1, limit));
+            if (limit >= this.capacity) {
+                return;
+            }
+            refill(now);
+            this.capacity = Math.max(1, limit);
+            this.available = Math.min(this.available, this.capacity);
+        }
+
+        void refill(long now) {
+            if (this.capacity != Double.POSITIVE_INFINITY) {
+                this.available = Math.min(this.capacity,
+                        this.available + (now - this.lastRefill) * this.capacity / NANOS_PER_MINUTE);
+            }
+            this.lastRefill = now;
+        }
+
+        long getWaitNanos(long amount) {
+            long blockedNanos = Math.max(0, this.blockedUntil - this.lastRefill);
+            // A request larger than the bucket is admitted once the bucket is full.
+            double required = Math.min(amount, this.capacity);
+            if (this.available >= required) {
+                return blockedNanos;
+            }
+            long refillNanos = (long) Math.ceil((required - this.available) * NANOS_PER_MINUTE / this.capacity);
+            return Math.max(blockedNanos, refillNanos);
+        }
+
+        void take(long amount) {
+            if (this.capacity != Double.POSITIVE_INFINITY) {
+                this.available -= amount;
+            }
+        }
+
+        void recalibrate(Long limit, Long remaining, Long resetNanos, long now) {
+            refill(now);
+            if (limit != null) {
+                // The limit of the API is learnt only up to the configured limit, which is never raised.
+                this.capacity = Math.min(this.configuredLimit, Math.max(1, limit));
+                this.available = Math.min(this.available, this.capacity);
+            }
+            if (remaining == null || this.capacity == Double.POSITIVE_INFINITY) {
+                return;
+            }
+            // The API counts the requests of all clients using the key, so its view of the remaining capacity
+            // takes precedence when it is lower than the local one.
+            this.available = Math.min(this.available, remaining);
+            if (remaining == 0 && resetNanos != null) {
+                this.blockedUntil = Math.max(this.blockedUntil, now + resetNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.ballerina.lib.ai.openai.Native.AI_OPENAI_MODULE;
+
+/**
+ * Single-pass parser of the responses of models that do not support tool calls, which are prompted to respond
+ * with a ReAct action in a fenced JSON block. The action block is located while the response is scanned, so the
+ * parser can be fed the chunks of a streamed response as they are received. The `action` and `action_input`
+ * values are extracted case-insensitively and converted to a tool call or the final answer.
+ *
+ * @since 1.3.4
+ */
+public final class ReActResponseParser {
+    private static final String NATIVE_SCANNER = "nativeScanner";
+    private static final Module AI_MODULE = new Module("ballerina", "ai", "1");
+    private static final String LLM_TOOL_RESPONSE = "LlmToolResponse";
+    private static final String LLM_CHAT_RESPONSE = "LlmChatResponse";
+    private static final String ACTION = "action";
+    private static final String INPUT = "input";
+    private static final String FINAL = "final";
+    private static final String ANSWER = "answer";
+    private static final String EMPTY_OBJECT_STRING = "\"{}\"";
+    private static final String EMPTY_OBJECT = "{}";
+    private static final String INVALID_GENERATION_ERROR = "Unable to extract the tool due to invalid generation";
+    private static final String INVALID_JSON_ERROR = "Invalid JSON is given as the action.";
+    private static final String INVALID_ACTION_ERROR =
+            "Generated 'Action' JSON_BLOB contains invalid action name or inputs.";
+
+    private ReActResponseParser() {
+    }
+
+    public static Object parseReActResponse(BString response) {
+        Scanner scanner = new Scanner();
+        scanner.feed(response.getValue());
+        return scanner.complete();
+    }
+
+    public static void init(BObject scanner) {
+        scanner.addNativeData(NATIVE_SCANNER, new Scanner());
+    }
+
+    public static void feed(BObject scanner, BString chunk) {
+        ((Scanner) scanner.getNativeData(NATIVE_SCANNER)).feed(chunk.getValue());
+    }
+
+    public static Object complete(BObject scanner) {
+        return ((Scanner) scanner.getNativeData(NATIVE_SCANNER)).complete();
+    }
+
+    static Object parseAction(String actionJson) {
+        try {
+            return JsonUtils.parse(actionJson.replace(EMPTY_OBJECT_STRING, EMPTY_OBJECT));
+        } catch (BError e) {
+            return createError(INVALID_JSON_ERROR, e);
+        }
+    }
+
+    private static Object toAction(String actionJson) {
+        Object parsedAction = parseAction(actionJson);
+        if (parsedAction instanceof BError) {
+            return parsedAction;
+        }
+        if (!(parsedAction instanceof BMap<?, ?> action)) {
+            return createError(INVALID_JSON_ERROR, null);
+        }
+
+        Object name = null;
+        Object input = null;
+        for (Map.Entry<?, ?> entry : action.entrySet()) {
+            String key = entry.getKey().toString();
+            if (key.length() == ACTION.length() && regionEqualsIgnoreAsciiCase(key, 0, ACTION)) {
+                name = entry.getValue();
+            } else if (matchesKeyPattern(key, ACTION, INPUT)) {
+                input = entry.getValue();
+            }
+        }
+
+        if (name instanceof BString actionName && input instanceof BString answer
+                && matchesKeyPattern(actionName.getValue(), FINAL, ANSWER)) {
+            return ValueCreator.createRecordValue(AI_OPENAI_MODULE, LLM_CHAT_RESPONSE, Map.of("content", answer));
+        }
+        if (!(name instanceof BString) || (input != null && !(input instanceof BMap))) {
+            return createError(INVALID_ACTION_ERROR, null);
+        }
+
+        Map<String, Object> toolResponse = new HashMap<>();
+        toolResponse.put("name", name);
+        if (input != null) {
+            toolResponse.put("arguments", input);
+        }
+        return ValueCreator.createRecordValue(AI_MODULE, LLM_TOOL_RESPONSE, toolResponse);
+    }
+
+    // Matches keys such as `action_input` and `Final Answer`, i.e., the ASCII lower-cased key matching
+    // `^<prefix>.?<suffix>`, where the separator is any character other than a line break.
+    private static boolean matchesKeyPattern(String key, String prefix, String suffix) {
+        int separatorLength = key.length() - prefix.length() - suffix.length();
+        if (separatorLength < 0 || !regionEqualsIgnoreAsciiCase(key, 0, prefix)
+                || !regionEqualsIgnoreAsciiCase(key, key.length() - suffix.length(), suffix)) {
+            return false;
+        }
+        if (separatorLength == 0) {
+            return true;
+        }
+        int separator = key.codePointAt(prefix.length());
+        return Character.charCount(separator) == separatorLength && separator != '\n' && separator != '\r';
+    }
+
+    private static boolean regionEqualsIgnoreAsciiCase(String key, int offset, String expected) {
+        if (key.length() < offset + expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (toLowerAscii(key.charAt(offset + i)) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static BError createError(String message, BError cause) {
+        return ErrorCreator.createError(StringUtils.fromString(message), cause);
+    }
+
+    /**
+     * Incremental scanner that extracts the first fenced block of a response. If the response has no fences,
+     * the text from the first opening brace to the last closing brace is taken as the action.
+     */
+    static final class Scanner {
+        private static final String LANGUAGE_TAG = "json";
+        private static final int FENCE_LENGTH = 3;
+
+        private State state = State.BEFORE_BLOCK;
+        private int pendingBackticks = 0;
+        private int languageTagIndex = -1;
+        private final StringBuilder block = new StringBuilder();
+        private StringBuilder unfencedAction;
+
+        void feed(String chunk) {
+            for (int i = 0; i < chunk.length() && this.state != State.AFTER_BLOCK; i++) {
+                char c = chunk.charAt(i);
+                if (c == '`') {
+                    if (++this.pendingBackticks == FENCE_LENGTH) {
+                        this.pendingBackticks = 0;
+                        onFence();
+                    }
+                    continue;
+                }
+                flushPendingBackticks();
+                onChar(c);
+            }
+        }
+
+        Object complete() {
+            String actionBlock = actionBlock();
+            return actionBlock == null ? createError(INVALID_GENERATION_ERROR, null) : toAction(actionBlock);
+        }
+
+        /**
+         * Returns the JSON of the action extracted from the fed response, or `null` if there is no action.
+         */
+        String actionBlock() {
+            flushPendingBackticks();
+            if (this.state == State.AFTER_BLOCK) {
+                return this.block.toString();
+            }
+            if (this.state == State.BEFORE_BLOCK && this.unfencedAction != null) {
+                int end = this.unfencedAction.lastIndexOf("}");
+                if (end >= 0) {
+                    return this.unfencedAction.substring(0, end + 1);
+                }
+            }
+            return null;
+        }
+
+        private void flushPendingBackticks() {
+            for (; this.pendingBackticks > 0 && this.state != State.AFTER_BLOCK; this.pendingBackticks--) {
+                onChar('`');
+            }
+            this.pendingBackticks = 0;
+        }
+
+        private void onFence() {
+            if (this.state == State.BEFORE_BLOCK) {
+                this.state = State.IN_BLOCK;
+                this.unfencedAction = null;
+                this.languageTagIndex = 0;
+                return;
+            }
+            flushLanguageTag();
+            this.state = State.AFTER_BLOCK;
+        }
+
+        private void onChar(char c) {
+            switch (this.state) {
+                case BEFORE_BLOCK -> {
+                    if (this.unfencedAction != null) {
+                        this.unfencedAction.append(c);
+                    } else if (c == '{') {
+                        this.unfencedAction = new StringBuilder().append(c);
+                    }
+                }
+                case IN_BLOCK -> {
+                    // The `json` language tag of the opening fence is skipped.
+                    if (this.languageTagIndex >= 0) {
+                        if (c == LANGUAGE_TAG.charAt(this.languageTagIndex)) {
+                            if (++this.languageTagIndex == LANGUAGE_TAG.length()) {
+                                this.languageTagIndex = -1;
+                            }
+                            return;
+                        }
+                        flushLanguageTag();
+                    }
+                    this.block.append(c);
+                }
+                default -> { }
+            }
+        }
+
+        private void flushLanguageTag() {
+            if (this.languageTagIndex > 0) {
+                this.block.append(LANGUAGE_TAG, 0, this.languageTagIndex);
+            }
+            this.languageTagIndex = -1;
+        }
+    }
+
+    private enum State {
+        BEFORE_BLOCK, IN_BLOCK, AFTER_BLOCK
+    }
+}
@@ -0,0 +1,570 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.utils.ValueUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.lib.ai.openai.Native.AI_OPENAI_MODULE;
+
+/**
+ * Binds the arguments of the tool calls of `generate` responses to the expected response types. The arguments are
+ * parsed in a single pass, and the values of the expected type are built while they are parsed, without an
+ * intermediate JSON value. Records, maps, arrays, tuples, nilable types and the basic types are bound directly,
+ * while other types, such as unions, finite types and readonly intersections, are parsed as JSON and converted.
+ * The synthetic `result` property of the schemas of non-object types is unwrapped while binding, and mismatches
+ * are reported with the JSON path of the value.
+ *
+ * @since 1.3.4
+ */
+public final class ResponseBinder {
+    private static final String SYNTAX_ERROR = "JsonSyntaxError";
+    private static final String BINDING_ERROR = "JsonBindingError";
+    private static final String RESULT = "result";
+    private static final String ROOT_PATH = "$";
+    private static final String RESULT_PATH = "$.result";
+    private static final MapType JSON_MAP_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_JSON);
+    private static final ArrayType JSON_ARRAY_TYPE = TypeCreator.createArrayType(PredefinedTypes.TYPE_JSON);
+
+    private final String json;
+    private int position = 0;
+
+    private ResponseBinder(String json) {
+        this.json = json;
+    }
+
+    public static Object bind(BString arguments, BTypedesc expectedType, boolean isOriginallyJsonObject) {
+        return bind(arguments.getValue(), expectedType.getDescribingType(), isOriginallyJsonObject);
+    }
+
+    static Object bind(String arguments, Type expectedType, boolean isOriginallyJsonObject) {
+        ResponseBinder binder = new ResponseBinder(arguments);
+        try {
+            Object value = isOriginallyJsonObject ? binder.bindValue(expectedType, ROOT_PATH)
+                    : binder.bindResult(expectedType);
+            binder.skipWhitespace();
+            if (binder.position < binder.json.length()) {
+                throw binder.syntaxError("unexpected content after the JSON value");
+            }
+            return value;
+        } catch (SyntaxException e) {
+            return ErrorCreator.createError(AI_OPENAI_MODULE, SYNTAX_ERROR, StringUtils.fromString(e.getMessage()),
+                    null, null);
+        } catch (BindingException e) {
+            return ErrorCreator.createError(AI_OPENAI_MODULE, BINDING_ERROR, StringUtils.fromString(e.getMessage()),
+                    null, null);
+        }
+    }
+
+    // The arguments are an object with the value of the expected type as the `result` property.
+    private Object bindResult(Type type) {
+        expect('{');
+        Object result = null;
+        boolean resultFound = false;
+        if (!consume('}')) {
+            do {
+                String key = parseKey();
+                if (RESULT.equals(key)) {
+                    result = bindValue(type, RESULT_PATH);
+                    resultFound = true;
+                } else {
+                    parseJson();
+                }
+            } while (consume(','));
+            expect('}');
+        }
+        if (!resultFound && !isNilable(type)) {
+            throw new BindingException("missing required field '" + RESULT_PATH + "'");
+        }
+        return result;
+    }
+
+    private Object bindValue(Type type, String path) {
+        skipWhitespace();
+        if (TypeUtils.getReferredType(type).getTag() == TypeTags.INTERSECTION_TAG) {
+            return convert(type, path);
+        }
+        Type impliedType = TypeUtils.getImpliedType(type);
+        return switch (impliedType.getTag()) {
+            case TypeTags.NULL_TAG -> {
+                expectValue('n', type, path);
+                parseLiteral("null");
+                yield null;
+            }
+            case TypeTags.BOOLEAN_TAG -> {
+                expectValue(peek() == 't' ? 't' : 'f', type, path);
+                yield parseBoolean();
+            }
+            case TypeTags.INT_TAG -> bindInt(type, path);
+            case TypeTags.FLOAT_TAG -> Double.parseDouble(parseNumber(type, path));
+            case TypeTags.DECIMAL_TAG -> ValueCreator.createDecimalValue(parseNumber(type, path));
+            case TypeTags.STRING_TAG -> {
+                expectValue('"', type, path);
+                yield StringUtils.fromString(parseString());
+            }
+            case TypeTags.JSON_TAG, TypeTags.ANYDATA_TAG -> parseJson();
+            case TypeTags.RECORD_TYPE_TAG -> bindRecord((RecordType) impliedType, path);
+            case TypeTags.MAP_TAG -> bindMap((MapType) impliedType, path);
+            case TypeTags.ARRAY_TAG -> ((ArrayType) impliedType).getSize() < 0
+                    ? bindArray((ArrayType) impliedType, path) : convert(type, path);
+            case TypeTags.TUPLE_TAG -> bindTuple((TupleType) impliedType, path);
+            case TypeTags.UNION_TAG -> bindUnion((UnionType) impliedType, path);
+            default -> convert(type, path);
+        };
+    }
+
+    private BMap<BString, Object> bindRecord(RecordType recordType, String path) {
+        expectValue('{', recordType, path);
+        expect('{');
+        BMap<BString, Object> record = ValueCreator.createRecordValue(recordType.getPackage(), recordType.getName());
+        Map<String, Field> fields = recordType.getFields();
+        Type restFieldType = recordType.isSealed() ? null : recordType.getRestFieldType();
+        if (!consume('}')) {
+            do {
+                String key = parseKey();
+                String fieldPath = path + "." + key;
+                Field field = fields.get(key);
+                Type fieldType = field != null ? field.getFieldType() : restFieldType;
+                if (fieldType == null) {
+                    throw new BindingException("undefined field '" + fieldPath + "' in closed record '" +
+                            recordType + "'");
+                }
+                if (field != null && isAbsentOptionalField(field)) {
+                    continue;
+                }
+                record.populateInitialValue(StringUtils.fromString(key), bindValue(fieldType, fieldPath));
+            } while (consume(','));
+            expect('}');
+        }
+        for (Field field : fields.values()) {
+            if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED)
+                    && !record.containsKey(StringUtils.fromString(field.getFieldName()))) {
+                throw new BindingException("missing required field '" + path + "." + field.getFieldName() + "'");
+            }
+        }
+        return record;
+    }
+
+    // Strict structured outputs require all the fields, hence optional fields that are not nilable are
+    // generated as `null` when they are absent.
+    private boolean isAbsentOptionalField(Field field) {
+        if (!SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.OPTIONAL) || isNilable(field.getFieldType())) {
+            return false;
+        }
+        skipWhitespace();
+        if (!this.json.startsWith("null", this.position)) {
+            return false;
+        }
+        this.position += "null".length();
+        return true;
+    }
+
+    private BMap<BString, Object> bindMap(MapType mapType, String path) {
+        expectValue('{', mapType, path);
+        expect('{');
+        BMap<BString, Object> map = ValueCreator.createMapValue(mapType);
+        if (!consume('}')) {
+            do {
+                String key = parseKey();
+                map.populateInitialValue(StringUtils.fromString(key),
+                        bindValue(mapType.getConstrainedType(), path + "." + key));
+            } while (consume(','));
+            expect('}');
+        }
+        return map;
+    }
+
+    private BArray bindArray(ArrayType arrayType, String path) {
+        expectValue('[', arrayType, path);
+        expect('[');
+        BArray array = ValueCreator.createArrayValue(arrayType);
+        if (!consume(']')) {
+            int index = 0;
+            do {
+                array.append(bindValue(arrayType.getElementType(), path + "[" + index++ + "]"));
+            } while (consume(','));
+            expect(']');
+        }
+        return array;
+    }
+
+    private BArray bindTuple(TupleType tupleType, String path) {
+        expectValue('[', tupleType, path);
+        expect('[');
+        List<Type> memberTypes = tupleType.getTupleTypes();
+        Type restType = tupleType.getRestType();
+        BArray tuple = ValueCreator.createTupleValue(tupleType);
+        int index = 0;
+        if (!consume(']')) {
+            do {
+                Type memberType = index < memberTypes.size() ? memberTypes.get(index) : restType;
+                if (memberType == null) {
+                    throw new BindingException("too many members in '" + path + "' for tuple '" + tupleType + "'");
+                }
+                tuple.add(index, bindValue(memberType, path + "[" + index + "]"));
+                index++;
+            } while (consume(','));
+            expect(']');
+        }
+        if (index < memberTypes.size()) {
+            throw new BindingException("missing member '" + path + "[" + index + "]' of tuple '" + tupleType + "'");
+        }
+        return tuple;
+    }
+
+    // Nilable types are bound directly, as the member to bind to is known from the first character of the value.
+    private Object bindUnion(UnionType unionType, String path) {
+        List<Type> memberTypes = unionType.getMemberTypes();
+        if (memberTypes.size() != 2) {
+            return convert(unionType, path);
+        }
+        Type memberType;
+        if (isNil(memberTypes.get(0))) {
+            memberType = memberTypes.get(1);
+        } else if (isNil(memberTypes.get(1))) {
+            memberType = memberTypes.get(0);
+        } else {
+            return convert(unionType, path);
+        }
+        if (peek() == 'n') {
+            parseLiteral("null");
+            return null;
+        }
+        return bindValue(memberType, path);
+    }
+
+    private Object bindInt(Type type, String path) {
+        String number = parseNumber(type, path);
+        try {
+            return isIntegral(number) ? Long.parseLong(number) : new BigDecimal(number).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new BindingException("incompatible value '" + number + "' at '" + path + "': expected '" +
+                    type + "'");
+        }
+    }
+
+    private Object convert(Type type, String path) {
+        Object value = parseJson();
+        try {
+            Object converted = ValueUtils.convert(value, type);
+            if (converted instanceof BError error) {
+                throw new BindingException(convertErrorMessage(path, error));
+            }
+            return converted;
+        } catch (BError error) {
+            throw new BindingException(convertErrorMessage(path, error));
+        }
+    }
+
+    private static String convertErrorMessage(String path, BError error) {
+        return "incompatible value at '" + path + "': " + error.getErrorMessage().getValue();
+    }
+
+    private Object parseJson() {
+        skipWhitespace();
+        char c = peek();
+        switch (c) {
+            case '{' -> {
+                expect('{');
+                BMap<BString, Object> map = ValueCreator.createMapValue(JSON_MAP_TYPE);
+                if (!consume('}')) {
+                    do {
+                        String key = parseKey();
+                        map.populateInitialValue(StringUtils.fromString(key), parseJson());
+                    } while (consume(','));
+                    expect('}');
+                }
+                return map;
+            }
+            case '[' -> {
+                expect('[');
+                BArray array = ValueCreator.createArrayValue(JSON_ARRAY_TYPE);
+                if (!consume(']')) {
+                    do {
+                        array.append(parseJson());
+                    } while (consume(','));
+                    expect(']');
+                }
+                return array;
+            }
+            case '"' -> {
+                return StringUtils.fromString(parseString());
+            }
+            case 't', 'f' -> {
+                return parseBoolean();
+            }
+            case 'n' -> {
+                parseLiteral("null");
+                return null;
+            }
+            default -> {
+                // Integers are parsed as `int` and other numbers as `decimal`, as with `fromJsonString`.
+                String number = parseNumberToken();
+                if (isIntegral(number)) {
+                    try {
+                        return Long.parseLong(number);
+                    } catch (NumberFormatException e) {
+                        return ValueCreator.createDecimalValue(number);
+                    }
+                }
+                return ValueCreator.createDecimalValue(number);
+            }
+        }
+    }
+
+    private String parseKey() {
+        skipWhitespace();
+        if (peek() != '"') {
+            throw syntaxError("expected a property name");
+        }
+        String key = parseString();
+        expect(':');
+        return key;
+    }
+
+    private String parseString() {
+        int start = ++this.position;
+        // Strings without escape sequences, which are the majority, are sliced from the arguments.
+        while (this.position < this.json.length()) {
+            char c = this.json.charAt(this.position);
+            if (c == '"') {
+                return this.json.substring(start, this.position++);
+            }
+            if (c == '\\') {
+                return parseEscapedString(start);
+            }
+            this.position++;
+        }
+        throw syntaxError("unterminated string");
+    }
+
+    private String parseEscapedString(int start) {
+        StringBuilder builder = new StringBuilder(this.json.length() - start).append(this.json, start, this.position);
+        while (this.position < this.json.length()) {
+            char c = this.json.charAt(this.position++);
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            if (this.position >= this.json.length()) {
+                break;
+            }
+            char escaped = this.json.charAt(this.position++);
+            switch (escaped) {
+                case '"', '\\', '/' -> builder.append(escaped);
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (this.position + 4 > this.json.length()) {
+                        throw syntaxError("invalid unicode escape sequence");
+                    }
+                    try {
+                        builder.append((char) Integer.parseInt(this.json, this.position, this.position + 4, 16));
+                    } catch (NumberFormatException e) {
+                        throw syntaxError("invalid unicode escape sequence");
+                    }
+                    this.position += 4;
+                }
+                default -> throw syntaxError("invalid escape sequence '\\" + escaped + "'");
+            }
+        }
+        throw syntaxError("unterminated string");
+    }
+
+    private String parseNumber(Type type, String path) {
+        char c = peek();
+        if (c != '-' && (c < '0' || c > '9')) {
+            throw incompatibleValue(type, path);
+        }
+        return parseNumberToken();
+    }
+
+    private String parseNumberToken() {
+        int start = this.position;
+        consume('-');
+        int integerStart = this.position;
+        skipDigits();
+        if (this.position == integerStart) {
+            throw syntaxError("unexpected character");
+        }
+        if (consume('.') && skipDigits() == 0) {
+            throw syntaxError("expected a digit");
+        }
+        if (consume('e') || consume('E')) {
+            if (!consume('+')) {
+                consume('-');
+            }
+            if (skipDigits() == 0) {
+                throw syntaxError("expected a digit");
+            }
+        }
+        return this.json.substring(start, this.position);
+    }
+
+    private int skipDigits() {
+        int start = this.position;
+        while (this.position < this.json.length()) {
+            char c = this.json.charAt(this.position);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            this.position++;
+        }
+        return this.position - start;
+    }
+
+    private boolean parseBoolean() {
+        if (peek() == 't') {
+            parseLiteral("true");
+            return true;
+        }
+        parseLiteral("false");
+        return false;
+    }
+
+    private void parseLiteral(String literal) {
+        if (!this.json.startsWith(literal, this.position)) {
+            throw syntaxError("unexpected character");
+        }
+        this.position += literal.length();
+    }
+
+    private void expectValue(char expected, Type type, String path) {
+        if (peek() != expected) {
+            throw incompatibleValue(type, path);
+        }
+    }
+
+    private void expect(char expected) {
+        if (!consume(expected)) {
+            throw syntaxError("expected '" + expected + "'");
+        }
+    }
+
+    private boolean consume(char expected) {
+        skipWhitespace();
+        if (this.position < this.json.length() && this.json.charAt(this.position) == expected) {
+            this.position++;
+            return true;
+        }
+        return false;
+    }
+
+    private char peek() {
+        if (this.position >= this.json.length()) {
+            throw syntaxError("unexpected end of the JSON value");
+        }
+        return this.json.charAt(this.position);
+    }
+
+    private void skipWhitespace() {
+        while (this.position < this.json.length()) {
+            char c = this.json.charAt(this.position);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            this.position++;
+        }
+    }
+
+    private BindingException incompatibleValue(Type type, String path) {
+        return new BindingException("incompatible value at '" + path + "': expected '" + type + "', found " +
+                describeValue());
+    }
+
+    private String describeValue() {
+        return switch (peek()) {
+            case '{' -> "an object";
+            case '[' -> "an array";
+            case '"' -> "a string";
+            case 't', 'f' -> "a boolean";
+            case 'n' -> "null";
+            case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> "a number";
+            default -> throw syntaxError("unexpected character");
+        };
+    }
+
+    private SyntaxException syntaxError(String message) {
+        return new SyntaxException("invalid JSON at position " + this.position + ": " + message);
+    }
+
+    private static boolean isIntegral(String number) {
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNil(Type type) {
+        return TypeUtils.getImpliedType(type).getTag() == TypeTags.NULL_TAG;
+    }
+
+    private static boolean isNilable(Type type) {
+        Type impliedType = TypeUtils.getImpliedType(type);
+        return switch (impliedType.getTag()) {
+            case TypeTags.NULL_TAG, TypeTags.JSON_TAG, TypeTags.ANYDATA_TAG -> true;
+            case TypeTags.UNION_TAG -> ((UnionType) impliedType).getMemberTypes().stream().anyMatch(
+                    ResponseBinder::isNilable);
+            default -> false;
+        };
+    }
+
+    // The exceptions unwind the binding to the entry point, where they are converted to errors. Stack traces are
+    // not filled in, as they are not reported.
+    private static final class SyntaxException extends RuntimeException {
+        SyntaxException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private static final class BindingException extends RuntimeException {
+        BindingException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
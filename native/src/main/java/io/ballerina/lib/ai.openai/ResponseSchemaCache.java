@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.ballerina.lib.ai.openai.Native.AI_OPENAI_MODULE;
+
+/**
+ * Bounded, concurrent caches of the readonly tool parameter schemas generated for the expected
+ * response types of `generate` calls, and of their normalizations for strict structured outputs.
+ * Entries are keyed by the identity of the describing type.
+ *
+ * @since 1.3.4
+ */
+public final class ResponseSchemaCache {
+    private static final int MAX_ENTRIES = 256;
+    private static final String SCHEMA_CACHE_STATS = "SchemaCacheStats";
+
+    private static final Map<TypeKey, BMap<BString, Object>> CACHE = new ConcurrentHashMap<>();
+    private static final Map<TypeKey, BMap<BString, Object>> STRICT_CACHE = new ConcurrentHashMap<>();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private ResponseSchemaCache() {
+    }
+
+    public static Object getCachedToolParameterSchema(BTypedesc td) {
+        BMap<BString, Object> schema = CACHE.get(new TypeKey(td.getDescribingType()));
+        if (schema == null) {
+            MISSES.incrementAndGet();
+            return null;
+        }
+        HITS.incrementAndGet();
+        return schema;
+    }
+
+    public static void cacheToolParameterSchema(BTypedesc td, BMap<BString, Object> schema) {
+        put(CACHE, td, schema);
+    }
+
+    public static Object getCachedStrictResponseSchema(BTypedesc td) {
+        return STRICT_CACHE.get(new TypeKey(td.getDescribingType()));
+    }
+
+    public static void cacheStrictResponseSchema(BTypedesc td, BMap<BString, Object> schema) {
+        put(STRICT_CACHE, td, schema);
+    }
+
+    public static BMap<BString, Object> getSchemaCacheStats() {
+        return ValueCreator.createRecordValue(AI_OPENAI_MODULE, SCHEMA_CACHE_STATS,
+                Map.of("hits", HITS.get(), "misses", MISSES.get(), "size", (long) CACHE.size()));
+    }
+
+    private static void put(Map<TypeKey, BMap<BString, Object>> cache, BTypedesc td, BMap<BString, Object> schema) {
+        if (cache.size() >= MAX_ENTRIES) {
+            Iterator<TypeKey> keys = cache.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        cache.put(new TypeKey(td.getDescribingType()), schema);
+    }
+
+    private record TypeKey(Type type) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TypeKey other && other.type == this.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.type);
+        }
+    }
+}
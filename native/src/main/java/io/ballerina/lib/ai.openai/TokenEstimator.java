@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025, WSO2 LLC. (http://wso2.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.lib.ai.openai;
+
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Estimates the number of tokens the OpenAI byte pair encodings produce for a text, without the vocabularies.
+ * The text is split the way the pre-tokenizers of the `cl100k_base` and `o200k_base` encodings split it, into
+ * letter, digit, punctuation and whitespace runs, and each run is charged the number of tokens such runs are
+ * typically merged into. This is a heuristic rather than an exact count, and it can be lower or higher than
+ * the count of the tokenizer of the model, e.g., for long words made of uncommon letter sequences.
+ *
+ * @since 1.3.4
+ */
+public final class TokenEstimator {
+    private static final int LETTERS_PER_TOKEN = 5;
+    private static final int DIGITS_PER_TOKEN = 3;
+    private static final int SYMBOLS_PER_TOKEN = 2;
+
+    private TokenEstimator() {
+    }
+
+    public static long countTokens(BString text) {
+        return countTokens(text.getValue());
+    }
+
+    static long countTokens(String text) {
+        long tokens = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            int start = i;
+            if (isEncodedPerCharacter(codePoint)) {
+                // Words of ideographic and non-Latin scripts are rarely merged across characters, hence they are
+                // charged a token per character.
+                tokens++;
+                i += Character.charCount(codePoint);
+            } else if (Character.isLetter(codePoint)) {
+                i = skip(text, i, CharacterClass.LETTER);
+                tokens += 1 + (codePointCount(text, start, i) - 1) / LETTERS_PER_TOKEN;
+            } else if (Character.isDigit(codePoint)) {
+                i = skip(text, i, CharacterClass.DIGIT);
+                tokens += (codePointCount(text, start, i) + DIGITS_PER_TOKEN - 1) / DIGITS_PER_TOKEN;
+            } else if (Character.isWhitespace(codePoint)) {
+                i = skip(text, i, CharacterClass.WHITESPACE);
+                // A single space is merged into the token that follows it.
+                if (i - start > 1 || i == length) {
+                    tokens++;
+                }
+            } else if (codePoint > Byte.MAX_VALUE) {
+                // Symbols outside ASCII, such as emoji, span several bytes that are rarely merged.
+                tokens += 2;
+                i += Character.charCount(codePoint);
+            } else {
+                i = skip(text, i, CharacterClass.SYMBOL);
+                tokens += (i - start + SYMBOLS_PER_TOKEN - 1) / SYMBOLS_PER_TOKEN;
+            }
+        }
+        return tokens;
+    }
+
+    private static int skip(String text, int index, CharacterClass characterClass) {
+        int i = index;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            if (!characterClass.matches(codePoint)) {
+                break;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return i;
+    }
+
+    private static int codePointCount(String text, int start, int end) {
+        return text.codePointCount(start, end);
+    }
+
+    private static boolean isEncodedPerCharacter(int codePoint) {
+        return Character.isLetter(codePoint) && Character.UnicodeScript.of(codePoint) != Character.UnicodeScript.LATIN;
+    }
+
+    private enum CharacterClass {
+        LETTER, DIGIT, WHITESPACE, SYMBOL;
+
+        boolean matches(int codePoint) {
+            return switch (this) {
+                case LETTER -> Character.isLetter(codePoint) && !isEncodedPerCharacter(codePoint);
+                case DIGIT -> Character.isDigit(codePoint);
+                case WHITESPACE -> Character.isWhitespace(codePoint);
+                case SYMBOL -> codePoint <= Byte.MAX_VALUE && !Character.isLetterOrDigit(codePoint)
+                        && !Character.isWhitespace(codePoint);
+            };
+        }
+    }
+}